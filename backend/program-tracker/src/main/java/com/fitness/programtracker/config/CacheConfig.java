@@ -0,0 +1,24 @@
+package com.fitness.programtracker.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Uygulama cache'leri (Caffeine)
+ * - Boyut / TTL ayarları application.properties'teki spring.cache.caffeine.spec ile yapılır
+ * - recordStats sayesinde hit/miss/eviction metrikleri /actuator/metrics/cache.* altında görünür
+ * - Geçersiz kılma ProgramCacheInvalidator'da, program değişikliği commit olduktan sonra yapılır
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // GET /api/programs/{id} - key: program id
+    public static final String PROGRAMS_CACHE = "programs";
+
+    // Program versiyonu (last_edit) - ETag kontrolü için, key: program id
+    public static final String PROGRAM_VERSIONS_CACHE = "programVersions";
+
+    // GET /api/programs/{programId}/weekly-plan - key: program id
+    public static final String WEEKLY_PLANS_CACHE = "weeklyPlans";
+}
@@ -2,11 +2,13 @@ package com.fitness.programtracker.config;
 
 import com.fitness.programtracker.service.JwtService;
 import com.fitness.programtracker.service.UserDetailsServiceImpl;
+import com.fitness.programtracker.service.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,6 +26,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
 
+    // true: principal token claim'lerinden kurulur (UserAuthStateCache ile iptal kontrolü), istek başına users sorgusu yok
+    @Value("${app.security.stateless-jwt:true}")
+    private boolean statelessJwt;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -46,17 +52,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            // Token'dan email'i çıkar
-            userEmail = jwtService.extractUsername(jwt);
+            // Token bir kez doğrulanır (imza + süre; yakın zamanda doğrulanmışsa cache'ten), email subject'te
+            VerifiedToken token = jwtService.validate(jwt);
+            userEmail = token.getSubject();
             
             // Email var ve henüz authenticate olmamışsa
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 
-                // User details'i yükle
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                // Stateless mod: principal claim'lerden, DB'ye gidilmez (eski formattaki token'lar DB'den yüklenir)
+                UserDetails userDetails = statelessJwt
+                        ? userDetailsService.loadUserFromToken(token).orElse(null)
+                        : null;
+                if (userDetails == null) {
+                    userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                    if (!jwtService.isTokenValid(jwt, userDetails)) {
+                        userDetails = null;
+                    }
+                }
                 
-                // Token geçerli mi kontrol et
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null) {
                     
                     // Authentication token oluştur
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -78,7 +92,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
         } catch (Exception e) {
-            // JWT parsing hatası - loglayalım ama authentication fail etmesin
+            // JWT parsing hatası veya iptal edilmiş token - loglayalım ama authentication fail etmesin
             logger.debug("JWT token parsing failed: " + e.getMessage());
             // SecurityContext boş kalacak, yani authenticated olmamış olacak
         }
@@ -95,7 +109,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return path.startsWith("/api/auth/") ||                         // Authentication endpoints
                path.startsWith("/api/programs") && 
                ("GET".equals(request.getMethod()) ||                    // GET requests to programs (read-only)
-                path.contains("/search")) ||                           // Search endpoint
+                path.contains("/search") ||                            // Search endpoint
+                path.endsWith("/batch-get")) ||                        // Batch lookup (read-only)
                path.startsWith("/swagger-ui") ||                       // Swagger UI
                path.equals("/swagger-ui.html") ||                      // Swagger UI main page
                path.startsWith("/v3/api-docs") ||                      // OpenAPI docs
@@ -0,0 +1,234 @@
+package com.fitness.programtracker.config;
+
+import com.fitness.programtracker.service.PlanContentCodec;
+import com.fitness.programtracker.service.PlanContentStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hibernate'in ddl-auto=update ile yapamadığı PostgreSQL'e özel şema adımları
+ * - Tüm bean'ler (ve Hibernate şema güncellemesi) hazır olduktan sonra, web server açılmadan önce çalışır
+ * - Her adım idempotent'tir, her açılışta güvenle tekrar çalışabilir
+ * - Veri taşıma adımları küçük parçalar halinde yapılır, tablo uzun süre kilitlenmez
+ * - PostgreSQL dışındaki veritabanlarında (testlerdeki H2 gibi) hiçbir şey yapmaz
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaMigrationRunner implements SmartInitializingSingleton {
+
+    private static final int BACKFILL_CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.migrations.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled || !isPostgres()) {
+            return;
+        }
+        alignIdSequence("fitness_programs", "fitness_programs_seq");
+        alignIdSequence("weekly_plan_entries", "weekly_plan_entries_seq");
+        backfillProgramTagArrays();
+        createProgramTagIndexes();
+        createProgramTextSearch();
+        createForeignKeyIndexes();
+        migrateInlinePlanContent();
+        backfillPlanPositions();
+    }
+
+    /**
+     * Program ve haftalık plan id'leri IDENTITY / serial yerine sequence'tan (50'şer artan) gelir
+     * - Kolonun identity'si / eski default'u kaldırılır; default artık aynı sequence'tır, böylece
+     *   Hibernate dışından nextval ile eklenen satırlar pooled bloklarıyla çakışmaz
+     * - Sequence mevcut en büyük id'nin gerisindeyse ileri alınır (sadece ileri, hiç geri alınmaz)
+     */
+    private void alignIdSequence(String table, String sequence) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " INCREMENT BY 50");
+
+        String identity = jdbcTemplate.queryForObject(
+                "SELECT is_identity FROM information_schema.columns WHERE table_name = ? AND column_name = 'id'",
+                String.class, table);
+        if ("YES".equals(identity)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+
+        Long advancedTo = jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN m.max_id >= s.last_value THEN setval('" + sequence + "', m.max_id) END " +
+                "FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM " + table + ") m, " + sequence + " s",
+                Long.class);
+        if (advancedTo != null) {
+            log.info("Advanced {} to {}", sequence, advancedTo);
+        }
+    }
+
+    /**
+     * Eski "['A', 'B']" (veya db_import.py'nin oluşturduğu {A,B}) level/goal değerlerini
+     * level_tags / goal_tags dizi kolonlarına taşır
+     */
+    private void backfillProgramTagArrays() {
+        if (!columnExists("fitness_programs", "level") || !columnExists("fitness_programs", "goal")) {
+            return;
+        }
+        String sql = "UPDATE fitness_programs SET " +
+                "level_tags = " + parseTagsSql("level") + ", " +
+                "goal_tags = " + parseTagsSql("goal") + " " +
+                "WHERE id IN (SELECT id FROM fitness_programs WHERE level_tags IS NULL OR goal_tags IS NULL " +
+                "ORDER BY id LIMIT " + BACKFILL_CHUNK_SIZE + ")";
+
+        int total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(sql);
+            total += updated;
+        } while (updated > 0);
+
+        if (total > 0) {
+            log.info("Migrated level/goal strings to array columns for {} programs", total);
+        }
+    }
+
+    // Köşeli/süslü parantezleri ve tırnakları temizleyip virgülle böler; boş değer -> '{}'
+    private String parseTagsSql(String column) {
+        return "ARRAY(SELECT btrim(tag, ' ''\"') " +
+                "FROM unnest(string_to_array(btrim(" + column + "::text, '[]{}'), ',')) AS tag " +
+                "WHERE btrim(tag, ' ''\"') <> '')";
+    }
+
+    // CONCURRENTLY: index oluşturulurken tabloya yazma engellenmez
+    private void createProgramTagIndexes() {
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fitness_programs_level_tags " +
+                "ON fitness_programs USING GIN (level_tags)");
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fitness_programs_goal_tags " +
+                "ON fitness_programs USING GIN (goal_tags)");
+    }
+
+    /**
+     * Full-text arama altyapısı
+     * - search_vector: title (A ağırlığı) + description (B ağırlığı), PostgreSQL tarafından otomatik güncellenen generated kolon
+     * - pg_trgm: title üzerinde yazım hatası toleranslı eşleşme ("hypertrophie" ~ "hypertrophy")
+     */
+    private void createProgramTextSearch() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (DataAccessException e) {
+            log.warn("pg_trgm extension could not be created, typo-tolerant search will fail: {}", e.getMessage());
+        }
+        if (!columnExists("fitness_programs", "search_vector")) {
+            log.info("Adding search_vector column to fitness_programs (one-time table rewrite)");
+            jdbcTemplate.execute("ALTER TABLE fitness_programs ADD COLUMN search_vector tsvector " +
+                    "GENERATED ALWAYS AS (" +
+                    "setweight(to_tsvector('english', coalesce(title, '')), 'A') || " +
+                    "setweight(to_tsvector('english', coalesce(description, '')), 'B')) STORED");
+        }
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fitness_programs_search_vector " +
+                "ON fitness_programs USING GIN (search_vector)");
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fitness_programs_title_trgm " +
+                "ON fitness_programs USING GIN (title gin_trgm_ops)");
+    }
+
+    /**
+     * PostgreSQL foreign key kolonlarına otomatik index koymaz
+     * - fitness_programs.user_id: sahip bazlı sorgular (detay sayfasındaki sahip özeti, sahiplik kontrolleri)
+     * - weekly_plan_entries(program_id, position, id): programın planı sırasıyla, sıralama index'ten gelir
+     * - email_verifications.user_id: kullanıcı silinirken token'larının bulunması (MaintenanceScheduler)
+     * - users(id) WHERE is_verified = false: doğrulanmamış kullanıcıların id sırasıyla taranması (kısmi, küçük)
+     */
+    private void createForeignKeyIndexes() {
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fitness_programs_user_id " +
+                "ON fitness_programs (user_id)");
+        jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS idx_weekly_plan_entries_program_id");
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_weekly_plan_entries_program_position " +
+                "ON weekly_plan_entries (program_id, position, id)");
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_email_verifications_user_id " +
+                "ON email_verifications (user_id)");
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_unverified " +
+                "ON users (id) WHERE is_verified = false");
+    }
+
+    /**
+     * Satır içindeki (content) haftalık plan metinlerini içerik adresli blob'lara taşır (PlanContentStore)
+     * Parça başına blob'lar eklenir (varsa atlanır), satırlar hash'e çevrilip metinleri boşaltılır
+     */
+    private void migrateInlinePlanContent() {
+        String select = "SELECT id, content FROM weekly_plan_entries WHERE content IS NOT NULL " +
+                "ORDER BY id LIMIT " + BACKFILL_CHUNK_SIZE;
+        int total = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList(select);
+            Map<String, String> hashes = new HashMap<>();
+            List<Object[]> blobs = new ArrayList<>();
+            List<Object[]> entries = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                String hash = hashes.computeIfAbsent((String) row.get("content"), content -> {
+                    String contentHash = PlanContentCodec.hash(content);
+                    PlanContentCodec.Encoded encoded = PlanContentCodec.encode(content);
+                    blobs.add(new Object[]{contentHash, encoded.getData(), encoded.isCompressed(), encoded.getRawLength()});
+                    return contentHash;
+                });
+                entries.add(new Object[]{hash, row.get("id")});
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(PlanContentStore.INSERT_BLOB_SQL, blobs);
+                jdbcTemplate.batchUpdate("UPDATE weekly_plan_entries SET content_hash = ?, content = NULL WHERE id = ?", entries);
+            }
+            total += rows.size();
+        } while (rows.size() == BACKFILL_CHUNK_SIZE);
+
+        if (total > 0) {
+            log.info("Moved weekly plan text of {} entries to content-addressed blobs", total);
+        }
+    }
+
+    /**
+     * position kolonundan önceki planlar id sırasıyla okunuyordu: boş position'lar aynı sırayla doldurulur
+     * Parça başına 1000 program, programın tüm satırları aynı parçada numaralanır
+     */
+    private void backfillPlanPositions() {
+        String sql = "UPDATE weekly_plan_entries e SET position = r.pos FROM (" +
+                "SELECT id, row_number() OVER (PARTITION BY program_id ORDER BY position NULLS LAST, id) - 1 AS pos " +
+                "FROM weekly_plan_entries WHERE program_id IN (" +
+                "SELECT DISTINCT program_id FROM weekly_plan_entries WHERE position IS NULL " +
+                "ORDER BY program_id LIMIT " + BACKFILL_CHUNK_SIZE + ")) r " +
+                "WHERE e.id = r.id";
+
+        int total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(sql);
+            total += updated;
+        } while (updated > 0);
+
+        if (total > 0) {
+            log.info("Numbered {} weekly plan entries by their id order", total);
+        }
+    }
+
+    private boolean columnExists(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns WHERE table_name = ? AND column_name = ?",
+                Integer.class, table, column);
+        return count != null && count > 0;
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+}
@@ -46,6 +46,7 @@ public class SecurityConfig {
                         // Public endpoints - authentication gerektirmez
                         .requestMatchers("/api/auth/**").permitAll()                      // Register, login, verify
                         .requestMatchers(HttpMethod.GET, "/api/programs/**").permitAll()   // Program okuma herkese açık
+                        .requestMatchers(HttpMethod.POST, "/api/programs/batch-get").permitAll() // Toplu okuma (body ile)
                         
                         // Swagger UI - Tüm path'ler
                         .requestMatchers("/swagger-ui.html").permitAll()
@@ -60,6 +61,7 @@ public class SecurityConfig {
                         
                         // Health check endpoint (ileride kullanabilirsin)
                         .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")                 // Metrikler sadece admin
                         
                         // Protected endpoints - authentication gerektirir
                         .requestMatchers(HttpMethod.POST, "/api/programs").authenticated()     // Program oluşturma
@@ -132,7 +134,7 @@ public class SecurityConfig {
         configuration.setAllowCredentials(true);
         
         // Response header'larını expose et
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Next-Cursor", "Link"));
         
         // Preflight cache süresi
         configuration.setMaxAge(3600L);
@@ -0,0 +1,123 @@
+package com.fitness.programtracker.controller;
+
+import com.fitness.programtracker.service.CatalogSnapshot;
+import com.fitness.programtracker.service.CatalogSnapshotService;
+import com.fitness.programtracker.service.CatalogVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * Tüm katalog tek cevapta: GET /api/programs/catalog
+ * - Body, CatalogSnapshotService'in hazırladığı dosyadır (JSON dizi, ProgramResponseDTO alanları)
+ * - Accept-Encoding gzip ise önceden sıkıştırılmış varyant gönderilir
+ * - Tomcat destekliyorsa dosya sendfile ile kernel üzerinden yollanır, değilse FileChannel.transferTo
+ */
+@CrossOrigin
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/programs")
+public class CatalogController {
+
+    // Tomcat NIO connector'ın sendfile request attribute'ları
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final CatalogVersionService catalogVersionService;
+    private final ConditionalGetSupport conditionalGet;
+
+    @GetMapping("/catalog")
+    public void getCatalog(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        // Snapshot üretilmeden önce versiyonla karşılaştır - değişmediyse 304
+        // Sıkıştırılmış varyant ayrı bir temsil olduğu için ETag'i de farklı
+        String version = catalogVersionService.currentVersion();
+        if (conditionalGet.isNotModified(new ServletWebRequest(request, response),
+                etag(version, gzip), catalogVersionService.lastModified())) {
+            return;
+        }
+
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
+        Path file = gzip ? snapshot.getGzipFile() : snapshot.getJsonFile();
+        long length = gzip ? snapshot.getGzipLength() : snapshot.getJsonLength();
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.ETAG, "\"" + etag(snapshot.getVersion(), gzip) + "\"");
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, snapshot.getLastModified().toEpochMilli());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, conditionalGet.cacheControl().getHeaderValue());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            // Tomcat, servlet döndükten sonra dosyayı doğrudan socket'e yazar
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, 0L);
+            request.setAttribute(SENDFILE_END_ATTR, length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < length) {
+                position += channel.transferTo(position, length - position, out);
+            }
+        }
+    }
+
+    private static String etag(String version, boolean gzip) {
+        return gzip ? version + "-gz" : version;
+    }
+
+    // "gzip" listede ve q=0 ile reddedilmemişse (okunamayan q değeri de kabul edilmez sayılır)
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!tokens[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().replace(" ", "");
+                if (param.startsWith("q=") && !positiveQuality(param.substring(2))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean positiveQuality(String value) {
+        try {
+            return Double.parseDouble(value) > 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fitness.programtracker.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Conditional GET (ETag / Last-Modified / 304) yardımcıları
+ * - Controller'lar önce ucuz versiyon bilgisini alır, isNotModified true ise entity yüklemeden null döner
+ *   (Spring cevabı 304 + ETag + Last-Modified olarak tamamlar)
+ * - 200 cevaplarında Cache-Control: public, max-age ile local reverse proxy tekrar okumaları karşılayabilir
+ */
+@Component
+public class ConditionalGetSupport {
+
+    @Value("${app.http-cache.max-age:60}")
+    private long maxAgeSeconds;
+
+    // If-None-Match / If-Modified-Since kontrolü - eşleşirse cevap 304'e çevrilir
+    public boolean isNotModified(WebRequest request, String etag, Instant lastModified) {
+        return request.checkNotModified(etag, lastModified.toEpochMilli());
+    }
+
+    public ResponseEntity.BodyBuilder ok(String etag, Instant lastModified) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl());
+    }
+
+    public CacheControl cacheControl() {
+        return CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic().mustRevalidate();
+    }
+
+    // Tek bir programın (ve ona bağlı kaynakların) strong ETag'i: prefix + id + son düzenleme zamanı
+    public String resourceEtag(String prefix, Long id, Instant lastModified) {
+        return prefix + id + "-" + Long.toString(lastModified.toEpochMilli(), 36);
+    }
+
+    public Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
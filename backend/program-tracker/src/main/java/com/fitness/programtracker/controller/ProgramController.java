@@ -1,13 +1,38 @@
 package com.fitness.programtracker.controller;
 
+import com.fitness.programtracker.dto.AuthResponseDTO.ApiResponse;
+import com.fitness.programtracker.dto.CursorPageDTO;
+import com.fitness.programtracker.dto.ProgramBatchRequestDTO;
+import com.fitness.programtracker.dto.ProgramBulkDTO;
+import com.fitness.programtracker.dto.ProgramDetailDTO;
+import com.fitness.programtracker.dto.ProgramFacetsDTO;
+import com.fitness.programtracker.dto.ProgramLookupDTO;
 import com.fitness.programtracker.dto.ProgramRequestDTO;
 import com.fitness.programtracker.dto.ProgramResponseDTO;
+import com.fitness.programtracker.dto.ProgramSearchCriteria;
+import com.fitness.programtracker.dto.ProgramSuggestionDTO;
+import com.fitness.programtracker.dto.SimilarProgramDTO;
+import com.fitness.programtracker.search.IndexGeneration;
+import com.fitness.programtracker.search.IndexUnavailableException;
+import com.fitness.programtracker.service.CatalogVersionService;
+import com.fitness.programtracker.service.ProgramBulkService;
+import com.fitness.programtracker.service.ProgramDetailService;
 import com.fitness.programtracker.service.ProgramService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.validation.Valid;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Program API endpoint'leri
@@ -19,25 +44,160 @@ import java.util.List;
 @RequestMapping("/api/programs")
 public class ProgramController {
 
+    // Bir sonraki sayfanın cursor'ı bu header'da döner
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ProgramService programService;
+    private final ProgramBulkService programBulkService;
+    private final ProgramDetailService programDetailService;
+    private final CatalogVersionService catalogVersionService;
+    private final ConditionalGetSupport conditionalGet;
 
     @GetMapping
-    public List<ProgramResponseDTO> getAllPrograms() {
-        return programService.getAllPrograms();
+    public ResponseEntity<List<ProgramResponseDTO>> getAllPrograms(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        // Katalog değişmediyse sorgu ve serialization yapılmadan 304
+        String etag = catalogVersionService.currentVersion();
+        Instant lastModified = catalogVersionService.lastModified();
+        if (conditionalGet.isNotModified(request, etag, lastModified)) {
+            return null;
+        }
+        return toPageResponse(programService.getAllPrograms(cursor, size), conditionalGet.ok(etag, lastModified));
+    }
+
+    // Sparse fieldset: GET /api/programs?fields=title,levels veya ?fields=summary - sadece istenen alanlar okunur ve döner
+    @GetMapping(params = {"fields", "!ids"})
+    public ResponseEntity<List<Map<String, Object>>> getAllProgramFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        String etag = catalogVersionService.currentVersion();
+        Instant lastModified = catalogVersionService.lastModified();
+        if (conditionalGet.isNotModified(request, etag, lastModified)) {
+            return null;
+        }
+        return toPageResponse(programService.getAllPrograms(cursor, size, fields), conditionalGet.ok(etag, lastModified));
+    }
+
+    // Toplu getirme: GET /api/programs?ids=3,7,12 - sonuçlar istenen sırada, bulunamayanlar found=false
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ProgramLookupDTO>> getProgramsByIds(@RequestParam List<Long> ids, WebRequest request) {
+        String etag = catalogVersionService.currentVersion();
+        Instant lastModified = catalogVersionService.lastModified();
+        if (conditionalGet.isNotModified(request, etag, lastModified)) {
+            return null;
+        }
+        return conditionalGet.ok(etag, lastModified).body(programService.getProgramsByIds(ids));
+    }
+
+    // Uzun id listeleri için aynı işlem body ile (URL uzunluğu sınırına takılmaz)
+    @PostMapping("/batch-get")
+    public List<ProgramLookupDTO> batchGetPrograms(@Valid @RequestBody ProgramBatchRequestDTO requestDTO) {
+        return programService.getProgramsByIds(requestDTO.getIds());
     }
 
     @GetMapping("/{id}")
-    public ProgramResponseDTO getProgramById(@PathVariable Long id) {
-        return programService.getProgramById(id);
+    public ResponseEntity<ProgramResponseDTO> getProgramById(@PathVariable Long id, WebRequest request) {
+        Optional<LocalDateTime> version = programService.getProgramLastModified(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.ok(programService.getProgramById(id));
+        }
+        Instant lastModified = conditionalGet.toInstant(version.get());
+        String etag = conditionalGet.resourceEtag("p", id, lastModified);
+        if (conditionalGet.isNotModified(request, etag, lastModified)) {
+            return null;
+        }
+        return conditionalGet.ok(etag, lastModified).body(programService.getProgramById(id));
+    }
+
+    // Program sayfası tek istekte: program + sahip özeti + haftalık plan + benzer programlar
+    // Eksik parça içeren (warnings dolu) cevap cache'lenmez
+    @GetMapping("/{id}/full")
+    public ResponseEntity<ProgramDetailDTO> getProgramDetail(@PathVariable Long id, WebRequest request) {
+        IndexGeneration similar = programService.getSimilarProgramsGeneration();
+        String etag = indexEtag(catalogVersionService.currentVersion(), similar);
+        Instant lastModified = indexLastModified(catalogVersionService.lastModified(), similar);
+        if (conditionalGet.isNotModified(request, etag, lastModified)) {
+            return null;
+        }
+        ProgramDetailDTO detail = programDetailService.getProgramDetail(id);
+        if (!detail.getWarnings().isEmpty()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(detail);
+        }
+        return conditionalGet.ok(etag, lastModified).body(detail);
+    }
+
+    // Benzer programlar: GET /api/programs/{id}/similar?k=10 - skora göre azalan, index güncellenince ETag değişir
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarProgramDTO>> getSimilarPrograms(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer k,
+            WebRequest request) {
+        IndexGeneration generation = programService.getSimilarProgramsGeneration();
+        String etag = indexEtag(catalogVersionService.currentVersion(), generation);
+        Instant lastModified = indexLastModified(catalogVersionService.lastModified(), generation);
+        if (conditionalGet.isNotModified(request, etag, lastModified)) {
+            return null;
+        }
+        return conditionalGet.ok(etag, lastModified).body(programService.getSimilarPrograms(id, k));
+    }
+
+    // Başlık autocomplete: GET /api/programs/suggest?prefix=push&limit=5 - kelime başlarında eşleşir, trie yeniden kurulunca ETag değişir
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProgramSuggestionDTO>> suggestTitles(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        IndexGeneration generation = programService.getTitleSuggestGeneration();
+        String etag = indexEtag(catalogVersionService.currentVersion(), generation);
+        Instant lastModified = indexLastModified(catalogVersionService.lastModified(), generation);
+        if (conditionalGet.isNotModified(request, etag, lastModified)) {
+            return null;
+        }
+        return conditionalGet.ok(etag, lastModified).body(programService.suggestTitles(prefix, limit));
     }
 
     @GetMapping("/search")
-    public List<ProgramResponseDTO> searchPrograms(
-            @RequestParam(required = false) String equipment,
-            @RequestParam(required = false) String level,
-            @RequestParam(required = false) String goal,
-            @RequestParam(required = false) Double maxDuration) {
-        return programService.searchPrograms(equipment, level, goal, maxDuration);
+    public ResponseEntity<List<ProgramResponseDTO>> searchPrograms(
+            ProgramSearchCriteria criteria,   // q, equipment, level, goal, maxDuration, maxLength
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        String etag = catalogVersionService.currentVersion();
+        Instant lastModified = catalogVersionService.lastModified();
+        if (conditionalGet.isNotModified(request, etag, lastModified)) {
+            return null;
+        }
+        return toPageResponse(programService.searchPrograms(criteria, cursor, size), conditionalGet.ok(etag, lastModified));
+    }
+
+    @GetMapping(value = "/search", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> searchProgramFields(
+            ProgramSearchCriteria criteria,
+            @RequestParam String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        String etag = catalogVersionService.currentVersion();
+        Instant lastModified = catalogVersionService.lastModified();
+        if (conditionalGet.isNotModified(request, etag, lastModified)) {
+            return null;
+        }
+        return toPageResponse(programService.searchPrograms(criteria, cursor, size, fields), conditionalGet.ok(etag, lastModified));
+    }
+
+    // Filtrelere uyan programların level / goal / equipment dağılımı - /search ile aynı parametreler
+    @GetMapping("/facets")
+    public ResponseEntity<ProgramFacetsDTO> getFacets(ProgramSearchCriteria criteria, WebRequest request) {
+        String etag = catalogVersionService.currentVersion();
+        Instant lastModified = catalogVersionService.lastModified();
+        if (conditionalGet.isNotModified(request, etag, lastModified)) {
+            return null;
+        }
+        return conditionalGet.ok(etag, lastModified).body(programService.getFacets(criteria));
     }
 
     @PostMapping
@@ -45,6 +205,22 @@ public class ProgramController {
         return programService.createProgram(requestDTO);
     }
 
+    // Toplu işlemler - her öğenin sonucu (CREATED / INVALID / FORBIDDEN ...) istekteki sırasıyla döner
+    @PostMapping("/bulk")
+    public ProgramBulkDTO.Result createPrograms(@RequestBody List<ProgramRequestDTO> requests) {
+        return programBulkService.createPrograms(requests);
+    }
+
+    @PutMapping("/bulk")
+    public ProgramBulkDTO.Result updatePrograms(@RequestBody List<ProgramBulkDTO.UpdateItem> requests) {
+        return programBulkService.updatePrograms(requests);
+    }
+
+    @PostMapping("/bulk-delete")
+    public ProgramBulkDTO.Result deletePrograms(@Valid @RequestBody ProgramBatchRequestDTO requestDTO) {
+        return programBulkService.deletePrograms(requestDTO.getIds());
+    }
+
     @PutMapping("/{id}")
     public ProgramResponseDTO updateProgram(
             @PathVariable Long id,
@@ -57,7 +233,41 @@ public class ProgramController {
         programService.deleteProgram(id);
     }
 
+    // Geçersiz cursor gibi hatalı istek parametreleri - 400 döndür
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+    }
+
+    // Bellek içi index kapalı veya henüz hazır değil (açılış / yeniden kurulum) - 503, istemci tekrar dener
+    @ExceptionHandler(IndexUnavailableException.class)
+    public ResponseEntity<ApiResponse> handleUnavailable(IndexUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResponse.error(e.getMessage()));
+    }
+
+    // Body sadece sayfadaki programlar, devam bilgisi header'larda (X-Next-Cursor + Link rel="next")
+    private <T> ResponseEntity<List<T>> toPageResponse(CursorPageDTO<T> page, ResponseEntity.BodyBuilder response) {
+        if (page.getNextCursor() != null) {
+            String nextUrl = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .build(true)   // request query'si zaten encode'lu, cursor da URL-safe
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            response.header(HttpHeaders.LINK, "<" + nextUrl + ">; rel=\"next\"");
+        }
+        return response.body(page.getItems());
+    }
+
+    // Bellek içi index'ten gelen cevaplar: index katalog versiyonundan sonra güncellenir, ETag ikisine birden bağlı
+    private static String indexEtag(String catalogVersion, IndexGeneration generation) {
+        return catalogVersion + "-g" + Long.toString(generation.getNumber(), 36);
+    }
+
+    private static Instant indexLastModified(Instant catalogLastModified, IndexGeneration generation) {
+        return generation.getUpdatedAt().isAfter(catalogLastModified) ? generation.getUpdatedAt() : catalogLastModified;
+    }
+
     // Equipment ve Level aramaları için /search endpoint'ini kullanın
     // Örnek: /api/programs/search?equipment=dumbell
-    // veya: /api/programs/search?level=beginner
+    // veya: /api/programs/search?level=beginner (level / goal büyük/küçük harf duyarsız)
 }
@@ -1,9 +1,18 @@
 package com.fitness.programtracker.controller;
 
 import com.fitness.programtracker.dto.WeeklyPlanDTO;
+import com.fitness.programtracker.dto.WeeklyPlanRequestDTO;
+import com.fitness.programtracker.service.ProgramService;
 import com.fitness.programtracker.service.WeeklyPlanService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 @CrossOrigin
 @RestController
@@ -12,11 +21,28 @@ import org.springframework.web.bind.annotation.*;
 public class WeeklyPlanController {
 
     private final WeeklyPlanService weeklyPlanService;
+    private final ProgramService programService;
+    private final ConditionalGetSupport conditionalGet;
 
+    // Haftalık planın versiyonu programın versiyonudur (last_edit)
     @GetMapping("/{programId}/weekly-plan")
-    public WeeklyPlanDTO getWeeklyPlan(@PathVariable Long programId) {
-        return weeklyPlanService.getWeeklyPlan(programId);
+    public ResponseEntity<WeeklyPlanDTO> getWeeklyPlan(@PathVariable Long programId, WebRequest request) {
+        Optional<LocalDateTime> version = programService.getProgramLastModified(programId);
+        if (version.isEmpty()) {
+            return ResponseEntity.ok(weeklyPlanService.getWeeklyPlan(programId));
+        }
+        Instant lastModified = conditionalGet.toInstant(version.get());
+        String etag = conditionalGet.resourceEtag("wp", programId, lastModified);
+        if (conditionalGet.isNotModified(request, etag, lastModified)) {
+            return null;
+        }
+        return conditionalGet.ok(etag, lastModified).body(weeklyPlanService.getWeeklyPlan(programId));
     }
-}
-
 
+    // Planın tamamını yazar - SADECE SAHİBİ VEYA ADMIN 🔒 (sadece değişen satırlar yazılır)
+    @PutMapping("/{programId}/weekly-plan")
+    public WeeklyPlanDTO replaceWeeklyPlan(@PathVariable Long programId,
+                                           @Valid @RequestBody WeeklyPlanRequestDTO requestDTO) {
+        return weeklyPlanService.replaceWeeklyPlan(programId, requestDTO);
+    }
+}
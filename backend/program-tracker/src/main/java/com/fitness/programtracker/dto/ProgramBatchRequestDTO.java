@@ -0,0 +1,21 @@
+package com.fitness.programtracker.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * POST /api/programs/batch-get body'si
+ * Üst sınır app.programs.page.max-size (ProgramService kontrol eder)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgramBatchRequestDTO {
+    @NotEmpty(message = "At least one id must be specified")
+    private List<@NotNull Long> ids;
+}
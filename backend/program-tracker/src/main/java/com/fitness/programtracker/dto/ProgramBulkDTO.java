@@ -0,0 +1,63 @@
+package com.fitness.programtracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * /api/programs/bulk istek ve cevap tipleri
+ * Her öğe ayrı doğrulanır; hatalı öğeler diğerlerini engellemez, sonuçta index'iyle raporlanır
+ */
+public class ProgramBulkDTO {
+
+    // Toplu güncelleme öğesi - program alanları + güncellenecek id
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class UpdateItem extends ProgramRequestDTO {
+        @NotNull(message = "Program id is required")
+        private Long id;
+    }
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, INVALID, NOT_FOUND, FORBIDDEN
+    }
+
+    // İstekteki tek bir öğenin sonucu (index: istek listesindeki sıra)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private Long id;
+        private Status status;
+        private List<String> errors;
+
+        public ItemResult(int index, Long id, Status status) {
+            this(index, id, status, List.of());
+        }
+
+        @JsonIgnore
+        public boolean isSuccess() {
+            return status == Status.CREATED || status == Status.UPDATED || status == Status.DELETED;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private int succeeded;
+        private int failed;
+        private List<ItemResult> items;
+
+        public static Result of(List<ItemResult> items) {
+            int succeeded = (int) items.stream().filter(ItemResult::isSuccess).count();
+            return new Result(succeeded, items.size() - succeeded, items);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.fitness.programtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /api/programs/{id}/full cevabı - program sayfasının ihtiyaç duyduğu her şey tek istekte
+ * - program zorunludur; diğer parçalar zaman aşımına uğrar veya hata verirse null döner
+ *   ve hangi parçanın eksik olduğu warnings listesinde belirtilir
+ * - creator null ve warnings boşsa program sahipsizdir
+ */
+@Data
+@NoArgsConstructor
+public class ProgramDetailDTO {
+    private ProgramResponseDTO program;
+    private Creator creator;
+    private WeeklyPlanDTO weeklyPlan;
+    private List<SimilarProgramDTO> similar;
+    private List<String> warnings = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Creator {
+        private Long id;
+        private String username;
+        private String displayName;
+        private long programCount;
+    }
+}
@@ -0,0 +1,23 @@
+package com.fitness.programtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /api/programs/facets cevabı
+ * Filtrelere uyan program sayısı + her level / goal / equipment değeri için kaç program olduğu
+ * Map'ler sayıya göre azalan sıradadır, sayısı 0 olan değerler yer almaz
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgramFacetsDTO {
+    private long total;
+    private Map<String, Long> levels = new LinkedHashMap<>();
+    private Map<String, Long> goals = new LinkedHashMap<>();
+    private Map<String, Long> equipment = new LinkedHashMap<>();
+}
@@ -0,0 +1,80 @@
+package com.fitness.programtracker.dto;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Liste / arama cevaplarında ?fields= ile seçilebilen alanlar (sparse fieldset)
+ * - İsimler ProgramResponseDTO'nun JSON alanlarıyla aynıdır
+ * - Sadece seçilen alanların kolonları SELECT edilir; sahip alanları istenmedikçe users join edilmez
+ * - "summary" kısayolu liste ekranlarının kullandığı alanlardır (description ve sahip bilgisi hariç)
+ * - id her zaman döner (cursor ve istemci tarafı eşleştirme için)
+ */
+public enum ProgramField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    LEVELS("levels"),
+    GOALS("goals"),
+    EQUIPMENT("equipment"),
+    PROGRAM_LENGTH("programLength"),
+    TIME_PER_WORKOUT("timePerWorkout"),
+    TOTAL_EXERCISES("totalExercises"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    CREATED_BY_USER_ID("createdByUserId"),
+    CREATED_BY_USERNAME("createdByUsername"),
+    PUBLIC("public"),
+    CREATOR_DISPLAY_NAME("creatorDisplayName");
+
+    public static final String SUMMARY = "summary";
+
+    private static final Set<ProgramField> SUMMARY_FIELDS = EnumSet.of(ID, TITLE, LEVELS, GOALS, EQUIPMENT,
+            PROGRAM_LENGTH, TIME_PER_WORKOUT, TOTAL_EXERCISES);
+
+    private static final Map<String, ProgramField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toMap(ProgramField::getName, Function.identity()));
+
+    private final String name;
+
+    ProgramField(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Değeri program sahibinden (users tablosundan) gelen alanlar
+    public boolean isOwnerField() {
+        return this == CREATED_BY_USER_ID || this == CREATED_BY_USERNAME || this == PUBLIC || this == CREATOR_DISPLAY_NAME;
+    }
+
+    /**
+     * "title,levels,equipment" veya "summary" gibi bir listeyi çözer
+     * @throws IllegalArgumentException bilinmeyen alan adı varsa
+     */
+    public static Set<ProgramField> parse(String fields) {
+        Set<ProgramField> parsed = EnumSet.of(ID);
+        for (String token : fields.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (SUMMARY.equals(name)) {
+                parsed.addAll(SUMMARY_FIELDS);
+                continue;
+            }
+            ProgramField field = BY_NAME.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            parsed.add(field);
+        }
+        return parsed;
+    }
+}
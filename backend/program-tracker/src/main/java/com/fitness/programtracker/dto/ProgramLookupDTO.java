@@ -0,0 +1,26 @@
+package com.fitness.programtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Toplu program getirmede tek bir id'nin sonucu
+ * İstenen sırayla döner; bulunamayan id'ler found=false ve program=null ile işaretlenir
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgramLookupDTO {
+    private Long id;
+    private boolean found;
+    private ProgramResponseDTO program;
+
+    public static ProgramLookupDTO found(ProgramResponseDTO program) {
+        return new ProgramLookupDTO(program.getId(), true, program);
+    }
+
+    public static ProgramLookupDTO notFound(Long id) {
+        return new ProgramLookupDTO(id, false, null);
+    }
+}
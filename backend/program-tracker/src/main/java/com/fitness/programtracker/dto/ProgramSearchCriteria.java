@@ -0,0 +1,47 @@
+package com.fitness.programtracker.dto;
+
+import com.fitness.programtracker.entity.Program;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * /api/programs/search filtreleri
+ * Query parametrelerinden bind edilir, null alanlar filtre uygulanmaz demektir
+ * level / goal kayıtlı etiketlerle aynı yazıma çevrilir (Program.canonicalTag)
+ */
+@Data
+@NoArgsConstructor
+public class ProgramSearchCriteria {
+    private String q;             // Serbest metin (title + description), doluysa sonuçlar alaka skoruna göre sıralanır
+    private String equipment;
+    private String level;
+    private String goal;
+    private Double maxDuration;   // timePerWorkout üst sınırı (dakika)
+    private Double maxLength;     // programLength üst sınırı (hafta)
+
+    public ProgramSearchCriteria(String q, String equipment, String level, String goal, Double maxDuration,
+                                 Double maxLength) {
+        this.q = q;
+        this.equipment = equipment;
+        setLevel(level);
+        setGoal(goal);
+        this.maxDuration = maxDuration;
+        this.maxLength = maxLength;
+    }
+
+    public ProgramSearchCriteria(String equipment, String level, String goal, Double maxDuration, Double maxLength) {
+        this(null, equipment, level, goal, maxDuration, maxLength);
+    }
+
+    public void setLevel(String level) {
+        this.level = level == null ? null : Program.canonicalTag(level);
+    }
+
+    public void setGoal(String goal) {
+        this.goal = goal == null ? null : Program.canonicalTag(goal);
+    }
+
+    public boolean hasText() {
+        return q != null && !q.isBlank();
+    }
+}
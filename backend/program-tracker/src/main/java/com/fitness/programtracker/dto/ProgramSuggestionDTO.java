@@ -0,0 +1,17 @@
+package com.fitness.programtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * /api/programs/suggest cevabındaki tek bir başlık önerisi
+ * Aynı başlığa sahip programlardan sadece en üst sıradaki önerilir
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgramSuggestionDTO {
+    private Long id;
+    private String title;
+}
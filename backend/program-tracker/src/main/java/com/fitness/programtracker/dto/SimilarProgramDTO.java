@@ -0,0 +1,19 @@
+package com.fitness.programtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * /api/programs/{id}/similar cevabındaki tek bir komşu program
+ * score: 0-1 arası benzerlik (level / goal / equipment örtüşmesi + süre ve egzersiz sayısı yakınlığı)
+ * Detay için /api/programs/{id} veya toplu getirme kullanılır
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarProgramDTO {
+    private Long id;
+    private String title;
+    private double score;
+}
@@ -0,0 +1,31 @@
+package com.fitness.programtracker.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * PUT /api/programs/{id}/weekly-plan - planın tamamı, sıralı (boş liste planı temizler)
+ */
+@Data
+public class WeeklyPlanRequestDTO {
+    @NotNull(message = "Entries are required")
+    @Size(max = 50, message = "A weekly plan can have at most 50 entries")
+    private List<@NotNull @Valid Entry> entries;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        @NotBlank(message = "Day of week is required")
+        @Pattern(regexp = "Mon|Tue|Wed|Thu|Fri|Sat|Sun", message = "Day of week must be one of Mon, Tue, Wed, Thu, Fri, Sat, Sun")
+        private String dayOfWeek;
+
+        @Size(max = 10000, message = "Content cannot exceed 10000 characters")
+        private String content;
+    }
+}
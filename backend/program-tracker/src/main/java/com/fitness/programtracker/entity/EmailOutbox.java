@@ -0,0 +1,80 @@
+package com.fitness.programtracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Gönderilecek email (transactional outbox)
+ * İsteği yapan transaction'da yazılır, EmailOutboxDispatcher arka planda SMTP'ye gönderir
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        // Dispatcher sorgusu: bekleyen ve zamanı gelmiş mesajlar, en eskisinden
+        @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    // HTML gövde
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Dispatcher mesajı en erken bu zamanda alır (claim edilince kısa süre ileri atılır = lease)
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public static EmailOutbox of(String recipient, String subject, String body) {
+        EmailOutbox message = new EmailOutbox();
+        message.setRecipient(recipient);
+        message.setSubject(subject);
+        message.setBody(body);
+        return message;
+    }
+
+    public enum Status {
+        PENDING,
+        SENT,
+        // Deneme hakkı bitti, elle incelenmeli
+        FAILED
+    }
+}
@@ -0,0 +1,32 @@
+package com.fitness.programtracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Haftalık plan metinleri için içerik adresli blob - key metnin SHA-256'sı (hex)
+ * Aynı metin ("Rest day" gibi) tüm programlarda tek satırdır; satırlar değişmez, sadece eklenir
+ */
+@Entity
+@Table(name = "plan_content_blobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanContentBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private byte[] data;
+
+    // Kısa metinlerde deflate kazandırmaz, o zaman UTF-8 olduğu gibi saklanır
+    @Column(nullable = false)
+    private boolean compressed;
+
+    @Column(name = "raw_length", nullable = false)
+    private int rawLength;
+}
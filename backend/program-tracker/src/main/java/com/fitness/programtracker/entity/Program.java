@@ -7,8 +7,12 @@ import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "fitness_programs")
@@ -17,8 +21,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Program {
     
+    // Sequence + pooled optimizer: id'ler 50'lik bloklar halinde alınır, INSERT'ler JDBC batch olarak gidebilir
+    // (IDENTITY'de her INSERT id için ayrı çalışmak zorunda). Mevcut id'lerle hizalama SchemaMigrationRunner'da
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fitness_programs_seq")
+    @SequenceGenerator(name = "fitness_programs_seq", sequenceName = "fitness_programs_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -29,11 +36,15 @@ public class Program {
     @NotBlank(message = "Description is required")
     private String description;
     
-    @Column(name = "level")
-    private String level;
+    // Seviye ve hedefler PostgreSQL dizi kolonları (GIN index'li) - "['A', 'B']" string'i değil
+    // Eski level / goal string kolonları SchemaMigrationRunner tarafından bu kolonlara taşınır
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "level_tags")
+    private List<String> levels = new ArrayList<>();
     
-    @Column(name = "goal")
-    private String goal;
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "goal_tags")
+    private List<String> goals = new ArrayList<>();
     
     private String equipment;
     
@@ -93,4 +104,52 @@ public class Program {
     public String getCreatorUsername() {
         return createdBy != null ? createdBy.getUsername() : "Anonymous";
     }
+
+    /**
+     * Seviye / hedef etiketlerinin tek yazımı: boşluklar sadeleşir, kelime başları büyük, gerisi küçük harf
+     * ("muscle &  SCULPTING" -> "Muscle & Sculpting", "men's physique" -> "Men's Physique")
+     * Hem yazarken hem filtrelerken uygulanır: level=beginner ile Beginner eşleşir
+     */
+    public static String canonicalTag(String tag) {
+        StringBuilder out = new StringBuilder(tag.length());
+        boolean wordStart = true;
+        boolean pendingSpace = false;
+        for (int i = 0; i < tag.length(); i++) {
+            char c = tag.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+                wordStart = true;
+                continue;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                out.append(wordStart ? Character.toUpperCase(c) : Character.toLowerCase(c));
+                wordStart = false;
+            } else {
+                out.append(c);
+                wordStart = c != '\'';   // kesme işareti kelimeyi bölmez
+            }
+        }
+        return out.toString();
+    }
+
+    // Boş etiketler atlanır, aynı etiket bir kez tutulur
+    public static List<String> canonicalTags(List<String> tags) {
+        List<String> canonical = new ArrayList<>();
+        if (tags == null) {
+            return canonical;
+        }
+        for (String tag : tags) {
+            if (tag != null) {
+                String value = canonicalTag(tag);
+                if (!value.isEmpty() && !canonical.contains(value)) {
+                    canonical.add(value);
+                }
+            }
+        }
+        return canonical;
+    }
 }
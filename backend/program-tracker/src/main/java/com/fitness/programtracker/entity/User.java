@@ -52,6 +52,10 @@ public class User {
     @Column(nullable = false)
     private Role role = Role.USER;
     
+    // Rol veya doğrulama durumu değiştiğinde servis tarafından artırılır (revokeTokens); stateless JWT'lerdeki "ver" claim'i bununla karşılaştırılır
+    @Column(name = "auth_version", columnDefinition = "integer not null default 0")
+    private int authVersion;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
@@ -79,8 +83,18 @@ public class User {
         MODERATOR   // Moderatör (ileride kullanılabilir)
     }
     
+    // Rolü değiştiren / kullanıcıyı devre dışı bırakan servis çağırır: eski token'ların "ver" claim'i artık tutmaz
+    public void revokeTokens() {
+        authVersion++;
+    }
+
     // Helper methods
     public String getFullName() {
+        return fullName(firstName, lastName, username);
+    }
+    
+    // Entity yüklenmeden seçilen kolonlardan görünen ad üretmek için (sparse fieldset projeksiyonu)
+    public static String fullName(String firstName, String lastName, String username) {
         if (firstName != null && lastName != null) {
             return firstName + " " + lastName;
         } else if (firstName != null) {
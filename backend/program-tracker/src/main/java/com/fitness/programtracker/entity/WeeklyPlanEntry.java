@@ -12,17 +12,28 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class WeeklyPlanEntry {
 
+    // Sequence (pooled, 50'şer): IDENTITY Hibernate'in INSERT batch'lemesini kapatır
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "weekly_plan_entries_seq")
+    @SequenceGenerator(name = "weekly_plan_entries_seq", sequenceName = "weekly_plan_entries_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "program_id", nullable = false)
     private Program program;
 
+    // Plan içindeki sıra (0'dan): pooled sequence id'leri instance'lar arasında artan sırada gelmez
+    @Column(name = "position")
+    private Integer position;
+
     @Column(name = "day_of_week", nullable = false)
     private String dayOfWeek; // Mon, Tue, Wed, Thu, Fri, Sat, Sun
 
+    // Metnin SHA-256'sı - metin plan_content_blobs'ta (PlanContentStore)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Eski satırlarda metin burada; SchemaMigrationRunner blob'lara taşıyıp boşaltır
     @Column(columnDefinition = "TEXT")
     private String content;
 }
@@ -0,0 +1,51 @@
+package com.fitness.programtracker.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Bir program oluşturulduğunda, güncellendiğinde veya silindiğinde yayınlanan event
+ * - ProgramService yazma işlemlerinden sonra yayınlar
+ * - Dinleyiciler (index, cache vb.) @TransactionalEventListener ile commit sonrası tepki verir
+ * - RELOADED: katalog toplu yüklendi (CSV import), programId null - dinleyiciler her şeyi yeniden kurar
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ProgramChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        RELOADED
+    }
+
+    private final Long programId;
+    private final ChangeType type;
+
+    public static ProgramChangedEvent created(Long programId) {
+        return new ProgramChangedEvent(programId, ChangeType.CREATED);
+    }
+
+    public static ProgramChangedEvent updated(Long programId) {
+        return new ProgramChangedEvent(programId, ChangeType.UPDATED);
+    }
+
+    public static ProgramChangedEvent deleted(Long programId) {
+        return new ProgramChangedEvent(programId, ChangeType.DELETED);
+    }
+
+    public static ProgramChangedEvent reloaded() {
+        return new ProgramChangedEvent(null, ChangeType.RELOADED);
+    }
+
+    public boolean isReload() {
+        return type == ChangeType.RELOADED;
+    }
+
+    public boolean isDeleted() {
+        return type == ChangeType.DELETED;
+    }
+}
@@ -0,0 +1,132 @@
+package com.fitness.programtracker.importer;
+
+import org.postgresql.copy.CopyIn;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * COPY ... FROM STDIN (FORMAT text) satırlarını yazar
+ * - Satırlar bir char buffer'da toplanıp dolunca UTF-8'e çevrilip CopyIn'e gönderilir (sabit bellek)
+ * - Text format kaçışları: \ \t \n \r; null = \N
+ * - List<String> PostgreSQL dizi literal'i olarak yazılır: {"A","B"}
+ */
+class CopyRowWriter {
+
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final StringBuilder line = new StringBuilder(FLUSH_THRESHOLD + 4096);
+    private final ByteBuffer bytes = ByteBuffer.allocate(FLUSH_THRESHOLD * 2);
+    private boolean firstColumn = true;
+
+    CopyRowWriter(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    CopyRowWriter text(String value) {
+        separator();
+        if (value == null) {
+            line.append("\\N");
+        } else {
+            escape(value);
+        }
+        return this;
+    }
+
+    CopyRowWriter number(Number value) {
+        separator();
+        line.append(value == null ? "\\N" : value.toString());
+        return this;
+    }
+
+    // ISO format (T ayraçlı) timestamp kolonuna doğrudan okunur
+    CopyRowWriter timestamp(LocalDateTime value) {
+        separator();
+        line.append(value == null ? "\\N" : value.toString());
+        return this;
+    }
+
+    CopyRowWriter array(List<String> values) {
+        separator();
+        StringBuilder literal = new StringBuilder("{");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append('"');
+            for (int j = 0; j < values.get(i).length(); j++) {
+                char c = values.get(i).charAt(j);
+                if (c == '"' || c == '\\') {
+                    literal.append('\\');
+                }
+                literal.append(c);
+            }
+            literal.append('"');
+        }
+        escape(literal.append('}'));
+        return this;
+    }
+
+    void endRow() throws SQLException {
+        line.append('\n');
+        firstColumn = true;
+        if (line.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (line.length() == 0) {
+            return;
+        }
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+        CoderResult result;
+        do {
+            // Çok uzun bir satır byte buffer'ı taşırırsa parça parça gönderilir
+            result = encoder.encode(chars, bytes, true);
+            if (result.isError()) {
+                throw new SQLException("COPY row could not be encoded as UTF-8: " + result);
+            }
+            writeBytes();
+        } while (result.isOverflow());
+        encoder.flush(bytes);
+        writeBytes();
+        line.setLength(0);
+    }
+
+    private void writeBytes() throws SQLException {
+        if (bytes.position() > 0) {
+            copyIn.writeToCopy(bytes.array(), 0, bytes.position());
+            bytes.clear();
+        }
+    }
+
+    private void separator() {
+        if (!firstColumn) {
+            line.append('\t');
+        }
+        firstColumn = false;
+    }
+
+    private void escape(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> line.append("\\\\");
+                case '\t' -> line.append("\\t");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                default -> line.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.fitness.programtracker.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV okuyucu - dosyayı kayıt kayıt okur, bellekte sadece o anki kayıt tutulur
+ * - Tırnaklı alanlarda virgül, satır sonu ve "" (kaçışlı tırnak) desteklenir
+ * - Satır sonu \n, \r\n veya \r olabilir; baştaki UTF-8 BOM atlanır
+ *
+ * Thread-safe değildir.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int EOF = -1;
+
+    private final Reader in;
+    private final char[] buffer = new char[64 * 1024];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long recordNumber;
+    private boolean started;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Bir sonraki kaydın alanları, dosya sonunda null
+     * @throws IOException kapanmamış tırnak veya kapanış tırnağından sonra beklenmeyen karakter
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        if (c == EOF) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        while (true) {
+            field.setLength(0);
+            if (c == '"') {
+                c = readQuoted();
+            } else {
+                while (c != ',' && c != '\n' && c != '\r' && c != EOF) {
+                    field.append((char) c);
+                    c = read();
+                }
+            }
+            fields.add(field.toString());
+
+            if (c == ',') {
+                c = read();
+                continue;
+            }
+            if (c == '\r' && peek() == '\n') {
+                read();
+            }
+            recordNumber++;
+            return fields;
+        }
+    }
+
+    // Kayıt numarası (1'den başlar, başlık satırı dahil) - hata mesajları için
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Açılış tırnağından sonra çağrılır, kapanış tırnağından sonraki karakteri döndürür
+    private int readQuoted() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                throw new IOException("Unterminated quoted field in record " + (recordNumber + 1));
+            }
+            if (c == '"') {
+                c = read();
+                if (c != '"') {
+                    if (c != ',' && c != '\n' && c != '\r' && c != EOF) {
+                        throw new IOException("Unexpected character after closing quote in record " + (recordNumber + 1));
+                    }
+                    return c;
+                }
+            }
+            field.append((char) c);
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
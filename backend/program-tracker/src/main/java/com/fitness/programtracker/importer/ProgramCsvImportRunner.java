@@ -0,0 +1,35 @@
+package com.fitness.programtracker.importer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * app.import.csv-path verilmişse uygulama açılışında CSV kataloğunu yükler
+ * Örn: ./mvnw spring-boot:run -Dspring-boot.run.arguments=--app.import.csv-path=../../program_summary_102.csv
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.import.csv-path")
+@RequiredArgsConstructor
+public class ProgramCsvImportRunner implements ApplicationRunner {
+
+    private final ProgramCsvImporter importer;
+
+    @Value("${app.import.csv-path}")
+    private String csvPath;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        ProgramCsvImporter.ImportResult result = importer.importFile(Path.of(csvPath));
+        log.info("Imported {}: {} rows read, {} programs inserted, {} updated in {} ms",
+                csvPath, result.getRows(), result.getInserted(), result.getUpdated(), result.getDurationMillis());
+    }
+}
@@ -0,0 +1,154 @@
+package com.fitness.programtracker.importer;
+
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Program kataloğunu CSV'den (program_summary_102.csv formatı) PostgreSQL'e yükler - db_import.py'nin yerini alır
+ * - CSV kayıt kayıt okunur ve COPY ile geçici bir staging tablosuna akıtılır; dosya hiçbir zaman belleğe alınmaz
+ * - Staging'den fitness_programs'a tek transaction içinde merge edilir:
+ *   sahipsiz (user_id IS NULL) programlar title ile eşleşir ve sadece değişmişlerse güncellenir,
+ *   yeni title'lar eklenir. Kullanıcıların programlarına ve mevcut id'lere dokunulmaz
+ * - Yeni id'ler fitness_programs_seq'ten Hibernate'in pooled bloklarıyla aynı şekilde (50'şer) alınır
+ * - Commit sonrası RELOADED event'i ile cache'ler ve index'ler yeniden kurulur
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProgramCsvImporter {
+
+    private static final String STAGING_COLUMNS = "ord, title, description, level_tags, goal_tags, equipment, " +
+            "program_length, time_per_workout, total_exercises, created, last_edit";
+
+    private static final String CREATE_STAGING_SQL = "CREATE TEMP TABLE program_import_staging (" +
+            "ord bigint, title varchar(255), description text, level_tags varchar(255)[], goal_tags varchar(255)[], " +
+            "equipment varchar(255), program_length float8, time_per_workout float8, total_exercises integer, " +
+            "created timestamp, last_edit timestamp) ON COMMIT DROP";
+
+    // Aynı title CSV'de birden fazla varsa son satır geçerlidir
+    private static final String DEDUPLICATE_SQL = "DELETE FROM program_import_staging a " +
+            "USING program_import_staging b WHERE a.title = b.title AND a.ord < b.ord";
+
+    private static final String UPDATE_SQL = "UPDATE fitness_programs p SET " +
+            "description = s.description, level_tags = s.level_tags, goal_tags = s.goal_tags, " +
+            "equipment = s.equipment, program_length = s.program_length, time_per_workout = s.time_per_workout, " +
+            "total_exercises = s.total_exercises, last_edit = LOCALTIMESTAMP " +
+            "FROM program_import_staging s " +
+            "WHERE p.user_id IS NULL AND p.title = s.title " +
+            "AND (p.description, p.level_tags, p.goal_tags, p.equipment, p.program_length, p.time_per_workout, p.total_exercises) " +
+            "IS DISTINCT FROM (s.description, s.level_tags, s.goal_tags, s.equipment, s.program_length, s.time_per_workout, s.total_exercises)";
+
+    // Her nextval 50'lik bir blok ayırır (hi - 49 .. hi); satırlar blok id'leriyle sırayla eşleştirilir
+    // blocks MATERIALIZED: nextval satır başına değil, blok başına bir kez çağrılır
+    private static final String INSERT_SQL = "WITH new_rows AS MATERIALIZED (" +
+            "SELECT s.*, row_number() OVER (ORDER BY s.ord) AS rn FROM program_import_staging s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM fitness_programs p WHERE p.user_id IS NULL AND p.title = s.title)" +
+            "), blocks AS MATERIALIZED (" +
+            "SELECT nextval('fitness_programs_seq') AS hi " +
+            "FROM generate_series(1, (SELECT count(*) FROM new_rows) / 50 + 2)" +
+            "), new_ids AS (" +
+            "SELECT b.hi - 49 + g AS id, row_number() OVER (ORDER BY b.hi, g) AS rn " +
+            "FROM blocks b CROSS JOIN generate_series(0, 49) AS g WHERE b.hi - 49 + g > 0" +
+            ") " +
+            "INSERT INTO fitness_programs (id, title, description, level_tags, goal_tags, equipment, " +
+            "program_length, time_per_workout, total_exercises, created, last_edit) " +
+            "SELECT i.id, r.title, r.description, r.level_tags, r.goal_tags, r.equipment, " +
+            "r.program_length, r.time_per_workout, r.total_exercises, " +
+            "COALESCE(r.created, LOCALTIMESTAMP), COALESCE(r.last_edit, LOCALTIMESTAMP) " +
+            "FROM new_rows r JOIN new_ids i ON i.rn = r.rn";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * CSV'yi tek transaction'da yükler; herhangi bir satır bozuksa hiçbir değişiklik yapılmaz
+     * @throws IOException dosya okunamazsa veya CSV / satır formatı hatalıysa
+     */
+    @Transactional
+    public ImportResult importFile(Path csvFile) throws IOException {
+        long start = System.nanoTime();
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        long rows;
+        try {
+            rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> copyIntoStaging(connection, csvFile));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        jdbcTemplate.execute("ANALYZE program_import_staging");   // temp tablolar otomatik analyze edilmez
+        jdbcTemplate.update(DEDUPLICATE_SQL);
+        int updated = jdbcTemplate.update(UPDATE_SQL);
+        int inserted = jdbcTemplate.update(INSERT_SQL);
+
+        eventPublisher.publishEvent(ProgramChangedEvent.reloaded());
+        return new ImportResult(rows, inserted, updated, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long copyIntoStaging(Connection connection, Path csvFile) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY program_import_staging (" + STAGING_COLUMNS + ") FROM STDIN (FORMAT text)");
+        try (CsvReader reader = new CsvReader(new InputStreamReader(Files.newInputStream(csvFile), StandardCharsets.UTF_8))) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                throw new IOException("CSV file is empty: " + csvFile);
+            }
+            int[] columns = ProgramCsvRecord.resolveColumns(header);
+
+            CopyRowWriter writer = new CopyRowWriter(copyIn);
+            List<String> fields;
+            while ((fields = reader.readRecord()) != null) {
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;   // boş satır
+                }
+                ProgramCsvRecord record = ProgramCsvRecord.parse(fields, columns, reader.getRecordNumber());
+                writer.number(reader.getRecordNumber())
+                        .text(record.getTitle())
+                        .text(record.getDescription())
+                        .array(record.getLevels())
+                        .array(record.getGoals())
+                        .text(record.getEquipment())
+                        .number(record.getProgramLength())
+                        .number(record.getTimePerWorkout())
+                        .number(record.getTotalExercises())
+                        .timestamp(record.getCreated())
+                        .timestamp(record.getLastEdit())
+                        .endRow();
+            }
+            writer.flush();
+            return copyIn.endCopy();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    @Value
+    public static class ImportResult {
+        long rows;
+        int inserted;
+        int updated;
+        long durationMillis;
+    }
+}
@@ -0,0 +1,157 @@
+package com.fitness.programtracker.importer;
+
+import com.fitness.programtracker.entity.Program;
+import lombok.Value;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * program_summary CSV'sinin bir satırı, ProgramMapper'ın kullandığı alan tipleriyle
+ * - level / goal kolonlarındaki "['A', 'B']" (Python liste) yazımı List<String>'e çevrilir
+ * - Sayısal / tarih alanları burada parse edilir; bozuk satır IOException ile reddedilir
+ */
+@Value
+public class ProgramCsvRecord {
+
+    static final List<String> COLUMNS = List.of("title", "description", "level", "goal", "equipment",
+            "program_length", "time_per_workout", "total_exercises", "created", "last_edit");
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]");
+
+    String title;
+    String description;
+    List<String> levels;
+    List<String> goals;
+    String equipment;
+    Double programLength;
+    Double timePerWorkout;
+    Integer totalExercises;
+    LocalDateTime created;
+    LocalDateTime lastEdit;
+
+    /**
+     * Başlık satırından kolon sırasını çıkarır (kolonlar CSV'de herhangi bir sırada olabilir)
+     * @return COLUMNS sırasıyla her kolonun CSV'deki index'i
+     */
+    static int[] resolveColumns(List<String> header) throws IOException {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            positions.put(header.get(i).trim().toLowerCase(), i);
+        }
+        int[] indexes = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            Integer position = positions.get(COLUMNS.get(i));
+            if (position == null) {
+                throw new IOException("CSV header is missing column: " + COLUMNS.get(i));
+            }
+            indexes[i] = position;
+        }
+        return indexes;
+    }
+
+    static ProgramCsvRecord parse(List<String> fields, int[] columns, long recordNumber) throws IOException {
+        try {
+            String title = text(fields, columns[0]);
+            if (title == null) {
+                throw new IllegalArgumentException("title is empty");
+            }
+            return new ProgramCsvRecord(
+                    title,
+                    text(fields, columns[1]),
+                    parseTags(text(fields, columns[2])),
+                    parseTags(text(fields, columns[3])),
+                    text(fields, columns[4]),
+                    number(fields, columns[5]),
+                    number(fields, columns[6]),
+                    integer(fields, columns[7]),
+                    timestamp(fields, columns[8]),
+                    timestamp(fields, columns[9]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException de IllegalArgumentException'dır
+            throw new IOException("Invalid program row in record " + recordNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * "['Muscle & Sculpting', 'Bodybuilding']", "{A,B}" veya "A, B" -> [..]
+     * Tırnaklı değerlerde virgül ve \' kaçışı desteklenir
+     */
+    static List<String> parseTags(String raw) {
+        List<String> tags = new ArrayList<>();
+        if (raw == null) {
+            return tags;
+        }
+        String value = raw.trim();
+        if (value.startsWith("[") || value.startsWith("{")) {
+            value = value.substring(1);
+        }
+        if (value.endsWith("]") || value.endsWith("}")) {
+            value = value.substring(0, value.length() - 1);
+        }
+
+        StringBuilder tag = new StringBuilder();
+        int i = 0;
+        while (i < value.length()) {
+            char c = value.charAt(i);
+            if (c == '\'' || c == '"') {
+                tag.setLength(0);
+                i++;
+                while (i < value.length() && value.charAt(i) != c) {
+                    if (value.charAt(i) == '\\' && i + 1 < value.length()) {
+                        i++;
+                    }
+                    tag.append(value.charAt(i++));
+                }
+                i++;
+                addTag(tags, tag.toString());
+            } else if (c == ',' || Character.isWhitespace(c)) {
+                i++;
+            } else {
+                int end = value.indexOf(',', i);
+                end = end < 0 ? value.length() : end;
+                addTag(tags, value.substring(i, end));
+                i = end;
+            }
+        }
+        return tags;
+    }
+
+    // API ile aynı yazım (Program.canonicalTag) - filtreler büyük/küçük harf duyarsız eşleşir
+    private static void addTag(List<String> tags, String tag) {
+        String canonical = Program.canonicalTag(tag);
+        if (!canonical.isEmpty()) {
+            tags.add(canonical);
+        }
+    }
+
+    private static String text(List<String> fields, int column) {
+        if (column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column);
+        return value.isBlank() ? null : value;
+    }
+
+    private static Double number(List<String> fields, int column) {
+        String value = text(fields, column);
+        return value == null ? null : Double.valueOf(value.trim());
+    }
+
+    // "384" veya "384.0"
+    private static Integer integer(List<String> fields, int column) {
+        Double value = number(fields, column);
+        return value == null ? null : value.intValue();
+    }
+
+    private static LocalDateTime timestamp(List<String> fields, int column) {
+        String value = text(fields, column);
+        return value == null ? null : LocalDateTime.parse(value.trim(), TIMESTAMP);
+    }
+}
@@ -0,0 +1,119 @@
+package com.fitness.programtracker.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bir kez parse edilmiş, değişmez metin şablonu
+ * - Kaynak "sabit metin, değişken, sabit metin, ..." parçalarına bölünür: literals[i] + keys[i] + ... + literals[n]
+ * - {{name}} değeri HTML-escape edilerek, {{{name}}} olduğu gibi (güvenilir, önceden üretilmiş HTML) yazılır
+ * - Render sadece parçaları verilen buffer'a ekler; format string tekrar parse edilmez, ara String üretilmez
+ */
+final class CompiledTemplate {
+
+    private final String[] literals;    // keys.length + 1 adet
+    private final String[] keys;
+    private final boolean[] raw;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] keys, boolean[] raw) {
+        this.literals = literals;
+        this.keys = keys;
+        this.raw = raw;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * @throws IllegalArgumentException kapanmamış veya boş değişken varsa
+     */
+    static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<Boolean> raw = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            boolean triple = source.startsWith("{{{", open);
+            String close = triple ? "}}}" : "}}";
+            int start = open + (triple ? 3 : 2);
+            int end = source.indexOf(close, start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed template variable at offset " + open);
+            }
+            String key = source.substring(start, end).trim();
+            if (key.isEmpty()) {
+                throw new IllegalArgumentException("Empty template variable at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            keys.add(key);
+            raw.add(triple);
+            position = end + close.length();
+        }
+
+        boolean[] rawFlags = new boolean[raw.size()];
+        for (int i = 0; i < rawFlags.length; i++) {
+            rawFlags[i] = raw.get(i);
+        }
+        return new CompiledTemplate(literals.toArray(new String[0]), keys.toArray(new String[0]), rawFlags);
+    }
+
+    /**
+     * Şablonu out'a ekler
+     * @param escape false ise {{name}} değerleri de escape edilmez (düz metin çıktılar, örn. email konusu)
+     * @throws IllegalArgumentException modelde şablonun kullandığı bir değişken yoksa
+     */
+    void renderTo(StringBuilder out, Map<String, String> model, boolean escape) {
+        out.append(literals[0]);
+        for (int i = 0; i < keys.length; i++) {
+            String value = model.get(keys[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing template variable: " + keys[i]);
+            }
+            if (escape && !raw[i]) {
+                escapeHtml(value, out);
+            } else {
+                out.append(value);
+            }
+            out.append(literals[i + 1]);
+        }
+    }
+
+    // Buffer kapasitesi için tahmin: sabit metin + değişken başına pay
+    int sizeHint() {
+        return literalLength + keys.length * 32;
+    }
+
+    /**
+     * HTML metni ve attribute değerleri için escape (& < > " ')
+     * Escape gerektirmeyen aralıklar toplu kopyalanır
+     */
+    static void escapeHtml(String value, StringBuilder out) {
+        int copied = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement;
+            switch (value.charAt(i)) {
+                case '&' -> replacement = "&amp;";
+                case '<' -> replacement = "&lt;";
+                case '>' -> replacement = "&gt;";
+                case '"' -> replacement = "&quot;";
+                case '\'' -> replacement = "&#39;";
+                default -> {
+                    continue;
+                }
+            }
+            out.append(value, copied, i).append(replacement);
+            copied = i + 1;
+        }
+        out.append(value, copied, value.length());
+    }
+}
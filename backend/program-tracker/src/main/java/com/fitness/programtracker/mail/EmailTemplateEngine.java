@@ -0,0 +1,119 @@
+package com.fitness.programtracker.mail;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Email şablonları (classpath:email-templates/{isim}_{dil}.html)
+ * - Dosyanın ilk satırı konu, kalanı HTML gövdedir; değişkenler {{name}} (escape edilir) / {{{name}}} (ham)
+ * - Tüm şablonlar açılışta bir kez CompiledTemplate'e derlenir (hatalı şablon uygulamayı başlatmaz)
+ * - Render thread başına tekrar kullanılan bir buffer'a yapılır; istenen dilde şablon yoksa varsayılan dil
+ */
+@Component
+@Slf4j
+public class EmailTemplateEngine {
+
+    public static final String VERIFICATION = "verification";
+    public static final String PASSWORD_RESET = "password-reset";
+
+    private static final String LOCATION = "classpath:email-templates/*.html";
+
+    // Bundan büyüğe şişen buffer thread'de tutulmaz
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    @Value("${app.mail.default-locale:tr}")
+    private String defaultLanguage;
+
+    // isim -> dil -> şablon
+    private Map<String, Map<String, EmailTemplate>> templates;
+
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(8192));
+
+    @PostConstruct
+    void load() throws IOException {
+        Map<String, Map<String, EmailTemplate>> loaded = new HashMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            String fileName = resource.getFilename();
+            int separator = fileName.lastIndexOf('_');
+            if (separator < 0) {
+                throw new IllegalStateException("Email template name must be <name>_<language>.html: " + fileName);
+            }
+            String name = fileName.substring(0, separator);
+            String language = fileName.substring(separator + 1, fileName.length() - ".html".length());
+            loaded.computeIfAbsent(name, key -> new HashMap<>())
+                    .put(language, parse(fileName, resource.getContentAsString(StandardCharsets.UTF_8)));
+        }
+        loaded.forEach((name, languages) -> {
+            if (!languages.containsKey(defaultLanguage)) {
+                throw new IllegalStateException("Email template '" + name + "' has no '" + defaultLanguage + "' version");
+            }
+        });
+        templates = loaded;
+        log.info("Compiled {} email templates", loaded.values().stream().mapToInt(Map::size).sum());
+    }
+
+    private static EmailTemplate parse(String fileName, String source) {
+        int lineEnd = source.indexOf('\n');
+        if (lineEnd < 0) {
+            throw new IllegalStateException("Email template has no body: " + fileName);
+        }
+        try {
+            return new EmailTemplate(CompiledTemplate.compile(source.substring(0, lineEnd).strip()),
+                    CompiledTemplate.compile(source.substring(lineEnd + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid email template " + fileName + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param locale null ise varsayılan dil
+     * @throws IllegalArgumentException şablon yoksa veya modelde değişken eksikse
+     */
+    public RenderedEmail render(String name, Locale locale, Map<String, String> model) {
+        EmailTemplate template = resolve(name, locale);
+        StringBuilder buffer = buffers.get();
+        try {
+            buffer.setLength(0);
+            template.subject.renderTo(buffer, model, false);
+            String subject = buffer.toString();
+
+            buffer.setLength(0);
+            buffer.ensureCapacity(template.body.sizeHint());
+            template.body.renderTo(buffer, model, true);
+            return new RenderedEmail(subject, buffer.toString());
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                buffers.remove();
+            }
+        }
+    }
+
+    private EmailTemplate resolve(String name, Locale locale) {
+        Map<String, EmailTemplate> languages = templates.get(name);
+        if (languages == null) {
+            throw new IllegalArgumentException("Unknown email template: " + name);
+        }
+        EmailTemplate template = locale == null ? null : languages.get(locale.getLanguage());
+        return template != null ? template : languages.get(defaultLanguage);
+    }
+
+    private static final class EmailTemplate {
+        private final CompiledTemplate subject;
+        private final CompiledTemplate body;
+
+        private EmailTemplate(CompiledTemplate subject, CompiledTemplate body) {
+            this.subject = subject;
+            this.body = body;
+        }
+    }
+}
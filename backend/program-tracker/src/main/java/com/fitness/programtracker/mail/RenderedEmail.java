@@ -0,0 +1,14 @@
+package com.fitness.programtracker.mail;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Render edilmiş email: düz metin konu + HTML gövde
+ */
+@Getter
+@AllArgsConstructor
+public class RenderedEmail {
+    private final String subject;
+    private final String body;
+}
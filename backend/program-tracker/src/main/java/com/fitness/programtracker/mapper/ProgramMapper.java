@@ -5,9 +5,8 @@ import com.fitness.programtracker.dto.ProgramResponseDTO;
 import com.fitness.programtracker.entity.Program;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class ProgramMapper {
@@ -16,8 +15,8 @@ public class ProgramMapper {
         Program program = new Program();
         program.setTitle(dto.getTitle());
         program.setDescription(dto.getDescription());
-        program.setLevel(listToString(dto.getLevels()));
-        program.setGoal(listToString(dto.getGoals()));
+        program.setLevels(Program.canonicalTags(dto.getLevels()));
+        program.setGoals(Program.canonicalTags(dto.getGoals()));
         program.setEquipment(dto.getEquipment());
         program.setProgramLength(dto.getProgramLength());
         program.setTimePerWorkout(dto.getTimePerWorkout());
@@ -30,8 +29,8 @@ public class ProgramMapper {
         dto.setId(entity.getId());
         dto.setTitle(entity.getTitle());
         dto.setDescription(entity.getDescription());
-        dto.setLevels(stringToList(entity.getLevel()));
-        dto.setGoals(stringToList(entity.getGoal()));
+        dto.setLevels(copyOf(entity.getLevels()));
+        dto.setGoals(copyOf(entity.getGoals()));
         dto.setEquipment(entity.getEquipment());
         dto.setProgramLength(entity.getProgramLength());
         dto.setTimePerWorkout(entity.getTimePerWorkout());
@@ -56,33 +55,8 @@ public class ProgramMapper {
         return dto;
     }
     
-    // PostgreSQL array formatından List'e dönüştürme
-    // Örnek: "['Intermediate', 'Advanced']" → ["Intermediate", "Advanced"]
-    private List<String> stringToList(String arrayString) {
-        if (arrayString == null || arrayString.trim().isEmpty()) {
-            return List.of();
-        }
-        
-        // Köşeli parantezleri ve tırnakları temizle
-        String cleaned = arrayString
-            .replace("[", "")
-            .replace("]", "")
-            .replace("'", "")
-            .replace("\"", "");
-            
-        return Arrays.stream(cleaned.split(","))
-            .map(String::trim)
-            .filter(s -> !s.isEmpty())
-            .collect(Collectors.toList());
-    }
-    
-    // List'den PostgreSQL array formatına dönüştürme
-    // Örnek: ["Intermediate", "Advanced"] → "['Intermediate', 'Advanced']"
-    private String listToString(List<String> list) {
-        if (list == null || list.isEmpty()) {
-            return "[]";
-        }
-        
-        return "['" + String.join("', '", list) + "']";
+    // Dizi kolonları doğrudan List olarak gelir, string parse etmeye gerek yok
+    private List<String> copyOf(List<String> list) {
+        return list == null ? new ArrayList<>() : new ArrayList<>(list);
     }
 }
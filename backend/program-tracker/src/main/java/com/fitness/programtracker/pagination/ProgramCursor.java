@@ -0,0 +1,75 @@
+package com.fitness.programtracker.pagination;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset (cursor) pagination için opak devam token'ı
+ * - Token içinde son döndürülen programın id'si taşınır
+ * - İstemci token'ı yorumlamamalı, sadece bir sonraki isteğe aynen geri göndermeli
+ * - Sorgu "id > :afterId ORDER BY id LIMIT :size" şeklinde seek yapar, OFFSET kullanılmaz
+ * - Full-text aramada sıralama (rank DESC, id) olduğundan token rank + id taşır
+ */
+public final class ProgramCursor {
+
+    private static final String PREFIX = "id:";
+    private static final String RANKED_PREFIX = "rk:";
+
+    private ProgramCursor() {
+    }
+
+    // Son id'den opak token üret
+    public static String encode(Long lastId) {
+        String raw = PREFIX + lastId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Token'dan son id'yi çöz - token yoksa null (ilk sayfa)
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException de IllegalArgumentException'dır
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // Alaka sıralı sayfalar için: son satırın rank'i ve id'si
+    public static String encodeRanked(float rank, long lastId) {
+        String raw = RANKED_PREFIX + Float.toString(rank) + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Ranked decodeRanked(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(RANKED_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            String[] parts = raw.substring(RANKED_PREFIX.length()).split(":");
+            return new Ranked(Float.parseFloat(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    @Value
+    public static class Ranked {
+        float rank;
+        long id;
+    }
+}
@@ -0,0 +1,35 @@
+package com.fitness.programtracker.ratelimit;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Bir limit kuralı: name altındaki her key için window içinde en fazla limit istek
+ * Farklı kurallar aynı key'i ayrı sayar (ör. aynı email için verification ve password reset)
+ */
+@Getter
+@ToString
+public final class RateLimitPolicy {
+
+    private final String name;
+    private final int limit;
+    private final long windowMillis;
+
+    private RateLimitPolicy(String name, int limit, long windowMillis) {
+        this.name = name;
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * @throws IllegalArgumentException limit veya window pozitif değilse
+     */
+    public static RateLimitPolicy of(String name, int limit, Duration window) {
+        if (limit <= 0 || window.toMillis() <= 0) {
+            throw new IllegalArgumentException("Rate limit policy '" + name + "' needs a positive limit and window");
+        }
+        return new RateLimitPolicy(name, limit, window.toMillis());
+    }
+}
@@ -0,0 +1,247 @@
+package com.fitness.programtracker.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bellek içi, sabit boyutlu sliding window rate limiter (instance başına sayar)
+ * - Sliding window counter: key başına sadece içinde bulunulan ve önceki pencerenin sayısı tutulur;
+ *   tahmin = ⌈önceki * (pencerenin kalan oranı)⌉ + şimdiki. Key başına bellek sabit, limit büyüklüğünden bağımsız
+ * - Durum stripe'lara bölünmüş primitive dizilerde (open addressing, kısa lineer arama); her stripe kendi kilidi,
+ *   farklı key'ler çoğunlukla birbirini beklemez
+ * - Kapasite sabittir: süresi geçmiş slotlar yeniden kullanılır; arama aralığı canlı key'lerle doluysa yeni key
+ *   reddedilir (false). Mevcut bir key'in sayımı başka key'ler yüzünden asla silinmez - aksi halde çok sayıda
+ *   key üreten biri kurbanın sayacını sıfırlayabilirdi
+ * - Sayım geri alınmaz: çağıranın transaction'ı sonradan rollback olsa da deneme kotadan düşer (bilerek,
+ *   başarısız denemelerin tekrarı da sınırlanır)
+ * - Key'ler 64-bit hash olarak tutulur (email vb. ham haliyle saklanmaz)
+ * - app.rate-limit.state-file verilirse durum kapanışta dosyaya yazılır, açılışta geri okunur
+ */
+@Component
+@Slf4j
+public class SlidingWindowRateLimiter {
+
+    private static final int PROBE_LIMIT = 8;
+    private static final int STATE_FILE_VERSION = 1;
+
+    @Value("${app.rate-limit.capacity:65536}")
+    private int capacity;
+
+    @Value("${app.rate-limit.stripes:64}")
+    private int stripeCount;
+
+    // Boşsa durum kalıcı tutulmaz
+    @Value("${app.rate-limit.state-file:}")
+    private String stateFile;
+
+    private Stripe[] stripes;
+
+    @PostConstruct
+    void init() {
+        int stripesPow2 = Integer.highestOneBit(Math.max(1, stripeCount));
+        int slotsPerStripe = Integer.highestOneBit(Math.max(PROBE_LIMIT, capacity / stripesPow2));
+        stripes = new Stripe[stripesPow2];
+        for (int i = 0; i < stripesPow2; i++) {
+            stripes[i] = new Stripe(slotsPerStripe);
+        }
+        if (!stateFile.isBlank()) {
+            restore(Path.of(stateFile));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (!stateFile.isBlank()) {
+            persist(Path.of(stateFile));
+        }
+    }
+
+    /**
+     * İsteği sayar; limit dolmuşsa (veya yeni key için yer yoksa) sayılmaz ve false döner
+     */
+    public boolean tryAcquire(RateLimitPolicy policy, String key) {
+        return tryAcquire(policy, key, System.currentTimeMillis());
+    }
+
+    boolean tryAcquire(RateLimitPolicy policy, String key, long now) {
+        long hash = hash(policy.getName(), key);
+        Stripe stripe = stripes[(int) (hash >>> 32) & (stripes.length - 1)];
+        long window = policy.getWindowMillis();
+        long windowStart = now - Math.floorMod(now, window);
+
+        stripe.lock.lock();
+        try {
+            int slot = stripe.slotFor(hash, now);
+            if (slot < 0) {
+                log.debug("Rate limiter stripe is full, refusing new key for policy {}", policy.getName());
+                return false;
+            }
+            stripe.roll(slot, windowStart, window);
+            long elapsed = now - windowStart;
+            // Önceki pencerenin payı yukarı yuvarlanır: pencere sınırında limit aşılmaz
+            double estimate = Math.ceil(stripe.previous[slot] * (double) (window - elapsed) / window) + stripe.current[slot];
+            if (estimate >= policy.getLimit()) {
+                return false;
+            }
+            stripe.current[slot]++;
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // FNV-1a (64-bit) - policy adı ve key ayrı alanlar olarak
+    private static long hash(String policy, String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < policy.length(); i++) {
+            hash = (hash ^ policy.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ 0xffff) * 0x100000001b3L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;   // 0 = boş slot
+    }
+
+    private void persist(Path path) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        int written = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(STATE_FILE_VERSION);
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    for (int i = 0; i < stripe.keys.length; i++) {
+                        if (stripe.keys[i] != 0) {
+                            out.writeLong(stripe.keys[i]);
+                            out.writeLong(stripe.windowStarts[i]);
+                            out.writeLong(stripe.windows[i]);
+                            out.writeInt(stripe.current[i]);
+                            out.writeInt(stripe.previous[i]);
+                            written++;
+                        }
+                    }
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            out.writeLong(0);   // bitiş işareti
+        } catch (IOException e) {
+            log.warn("Could not write rate limiter state to {}: {}", path, e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Rate limiter state saved: {} keys", written);
+        } catch (IOException e) {
+            log.warn("Could not write rate limiter state to {}: {}", path, e.getMessage());
+        }
+    }
+
+    // Okunamayan / eski formatlı dosya yok sayılır: en kötü ihtimalle sayımlar sıfırdan başlar
+    private void restore(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != STATE_FILE_VERSION) {
+                log.warn("Ignoring rate limiter state {} with unknown version", path);
+                return;
+            }
+            for (long key = in.readLong(); key != 0; key = in.readLong()) {
+                long windowStart = in.readLong();
+                long window = in.readLong();
+                int current = in.readInt();
+                int previous = in.readInt();
+                if (now - windowStart >= 2 * window) {
+                    continue;   // süresi geçmiş
+                }
+                Stripe stripe = stripes[(int) (key >>> 32) & (stripes.length - 1)];
+                int slot = stripe.slotFor(key, now);
+                if (slot < 0) {
+                    continue;
+                }
+                stripe.windowStarts[slot] = windowStart;
+                stripe.windows[slot] = window;
+                stripe.current[slot] = current;
+                stripe.previous[slot] = previous;
+                restored++;
+            }
+            log.info("Rate limiter state restored: {} keys", restored);
+        } catch (IOException e) {
+            log.warn("Could not read rate limiter state from {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Tek kilitle korunan sabit boyutlu tablo
+     */
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] keys;
+        private final long[] windowStarts;
+        private final long[] windows;
+        private final int[] current;
+        private final int[] previous;
+
+        private Stripe(int slots) {
+            keys = new long[slots];
+            windowStarts = new long[slots];
+            windows = new long[slots];
+            current = new int[slots];
+            previous = new int[slots];
+        }
+
+        // Key'in slotu; yoksa boş / süresi geçmiş slot, o da yoksa -1 (canlı key'ler silinmez)
+        private int slotFor(long key, long now) {
+            int mask = keys.length - 1;
+            int start = (int) key & mask;
+            int free = -1;
+            for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+                int slot = (start + probe) & mask;
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                if (free < 0 && (keys[slot] == 0 || now - windowStarts[slot] >= 2 * windows[slot])) {
+                    free = slot;
+                }
+            }
+            if (free < 0) {
+                return -1;
+            }
+            keys[free] = key;
+            windowStarts[free] = 0;
+            windows[free] = 0;
+            current[free] = 0;
+            previous[free] = 0;
+            return free;
+        }
+
+        // Pencere ilerlediyse sayıları kaydır (bir pencere = şimdiki önceki olur, daha fazlası = sıfır)
+        private void roll(int slot, long windowStart, long window) {
+            if (windowStarts[slot] == windowStart && windows[slot] == window) {
+                return;
+            }
+            boolean adjacent = windows[slot] == window && windowStart - windowStarts[slot] == window;
+            previous[slot] = adjacent ? current[slot] : 0;
+            current[slot] = 0;
+            windowStarts[slot] = windowStart;
+            windows[slot] = window;
+        }
+    }
+}
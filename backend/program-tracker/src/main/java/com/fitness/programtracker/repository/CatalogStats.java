@@ -0,0 +1,11 @@
+package com.fitness.programtracker.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Katalog geneli özet: program sayısı ve en son düzenleme zamanı
+ */
+public interface CatalogStats {
+    long getProgramCount();
+    LocalDateTime getLastModified();
+}
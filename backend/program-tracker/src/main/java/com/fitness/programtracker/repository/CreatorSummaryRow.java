@@ -0,0 +1,13 @@
+package com.fitness.programtracker.repository;
+
+/**
+ * Program sahibinin özet projeksiyonu - şifre vb. kolonlar okunmaz
+ * programCount: sahibin toplam program sayısı
+ */
+public interface CreatorSummaryRow {
+    Long getId();
+    String getUsername();
+    String getFirstName();
+    String getLastName();
+    Long getProgramCount();
+}
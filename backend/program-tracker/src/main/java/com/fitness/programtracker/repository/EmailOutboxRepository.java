@@ -0,0 +1,29 @@
+package com.fitness.programtracker.repository;
+
+import com.fitness.programtracker.entity.EmailOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // Zamanı gelmiş bekleyen mesajlar - FOR UPDATE SKIP LOCKED: başka instance'ın kilitlediği satırlar atlanır
+    // (lock timeout -2 = SKIP LOCKED; desteklemeyen veritabanlarında düz FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailOutbox m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt, m.id")
+    List<EmailOutbox> findDueForUpdate(@Param("status") EmailOutbox.Status status, @Param("now") LocalDateTime now,
+                                       Limit limit);
+
+    long countByStatus(EmailOutbox.Status status);
+}
@@ -2,6 +2,7 @@ package com.fitness.programtracker.repository;
 
 import com.fitness.programtracker.entity.EmailVerification;
 import com.fitness.programtracker.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -14,6 +15,8 @@ import java.util.Optional;
 
 @Repository
 public interface EmailVerificationRepository extends JpaRepository<EmailVerification, Long> {
+
+    int KEEP_PER_USER = 5;
     
     // Token ile verification bulma
     Optional<EmailVerification> findByToken(String token);
@@ -48,15 +51,26 @@ public interface EmailVerificationRepository extends JpaRepository<EmailVerifica
             @Param("tokenType") EmailVerification.TokenType tokenType,
             @Param("after") LocalDateTime after);
     
-    // Süresi dolmuş token'ları silme
+    // Süresi dolmuş token'ları silme - tek seferde; büyük tablolarda MaintenanceScheduler (parça parça) kullanılır
     @Modifying
     @Query("DELETE FROM EmailVerification ev WHERE ev.expiresAt < :dateTime")
     int deleteExpiredTokens(@Param("dateTime") LocalDateTime dateTime);
     
-    // User'ın eski verification'larını silme (sadece son 5'ini sakla)
+    // User'ın eski verification'larını silme (sadece son KEEP_PER_USER tanesini sakla)
+    // NOT IN alt sorgusu yerine: önce saklanacak en eski kaydın zamanı, sonra ondan eskiler tek DELETE ile
+    // (aynı zamanlı kayıtlar sınırda birlikte saklanır)
+    default int deleteOldVerificationsByUser(User user) {
+        List<LocalDateTime> newest = findCreatedAtByUserNewestFirst(user, Limit.of(KEEP_PER_USER));
+        if (newest.size() < KEEP_PER_USER) {
+            return 0;
+        }
+        return deleteByUserAndCreatedAtBefore(user, newest.get(KEEP_PER_USER - 1));
+    }
+
+    @Query("SELECT ev.createdAt FROM EmailVerification ev WHERE ev.user = :user ORDER BY ev.createdAt DESC")
+    List<LocalDateTime> findCreatedAtByUserNewestFirst(@Param("user") User user, Limit limit);
+
     @Modifying
-    @Query("DELETE FROM EmailVerification ev WHERE ev.user = :user AND ev.id NOT IN " +
-           "(SELECT e.id FROM EmailVerification e WHERE e.user = :user " +
-           "ORDER BY e.createdAt DESC LIMIT 5)")
-    int deleteOldVerificationsByUser(@Param("user") User user);
-} 
\ No newline at end of file
+    @Query("DELETE FROM EmailVerification ev WHERE ev.user = :user AND ev.createdAt < :before")
+    int deleteByUserAndCreatedAtBefore(@Param("user") User user, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,18 @@
+package com.fitness.programtracker.repository;
+
+import com.fitness.programtracker.entity.PlanContentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+@Repository
+public interface PlanContentBlobRepository extends JpaRepository<PlanContentBlob, String> {
+
+    // Yazmadan önce hangi blob'ların zaten olduğunu bulur - sadece PK index'i okunur
+    @Query("SELECT b.hash FROM PlanContentBlob b WHERE b.hash IN :hashes")
+    Set<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+}
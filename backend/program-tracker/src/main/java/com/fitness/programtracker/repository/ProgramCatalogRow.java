@@ -0,0 +1,20 @@
+package com.fitness.programtracker.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Program satırının description içermeyen hafif projeksiyonu
+ * Bellek içi index'ler (katalog, öneri, autocomplete) bu alanlarla beslenir
+ */
+public interface ProgramCatalogRow {
+    Long getId();
+    String getTitle();
+    List<String> getLevels();
+    List<String> getGoals();
+    String getEquipment();
+    Double getProgramLength();
+    Double getTimePerWorkout();
+    Integer getTotalExercises();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,16 @@
+package com.fitness.programtracker.repository;
+
+import com.fitness.programtracker.dto.ProgramFacetsDTO;
+import com.fitness.programtracker.dto.ProgramSearchCriteria;
+
+/**
+ * Facet sayımları fragment'ı (ProgramRepository bunu extend eder)
+ * Program entity'si / description yüklenmez, tüm sayımlar tek aggregate sorguda hesaplanır
+ */
+public interface ProgramFacetRepository {
+
+    /**
+     * Kriterlere uyan programlar için toplam + level / goal / equipment değer sayıları
+     */
+    ProgramFacetsDTO countFacets(ProgramSearchCriteria criteria);
+}
@@ -0,0 +1,51 @@
+package com.fitness.programtracker.repository;
+
+import com.fitness.programtracker.dto.ProgramFacetsDTO;
+import com.fitness.programtracker.dto.ProgramSearchCriteria;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * ProgramFacetRepository'nin native SQL implementasyonu
+ * - Filtrelenmiş satırlar bir kez taranır (MATERIALIZED CTE), sadece etiket kolonları okunur
+ * - level_tags / goal_tags unnest ile açılıp gruplanır, dört sayım UNION ALL ile tek cevapta döner
+ */
+@RequiredArgsConstructor
+public class ProgramFacetRepositoryImpl implements ProgramFacetRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public ProgramFacetsDTO countFacets(ProgramSearchCriteria criteria) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder()
+                .append("WITH matched AS MATERIALIZED (")
+                .append("SELECT p.level_tags, p.goal_tags, p.equipment FROM fitness_programs p WHERE TRUE");
+        if (criteria.hasText()) {
+            // Metin araması ProgramTextSearchRepositoryImpl ile aynı eşleşme koşulu
+            sql.append(" AND (p.search_vector @@ websearch_to_tsquery('english', :q) OR :q <% p.title)");
+            params.addValue("q", criteria.getQ().trim());
+        }
+        ProgramSqlFilters.append(sql, params, criteria);
+        sql.append(") ")
+                .append("SELECT 'total' AS facet, NULL AS value, count(*) AS hits FROM matched ")
+                .append("UNION ALL SELECT 'level', t.value, count(*) FROM matched, unnest(matched.level_tags) AS t(value) GROUP BY t.value ")
+                .append("UNION ALL SELECT 'goal', t.value, count(*) FROM matched, unnest(matched.goal_tags) AS t(value) GROUP BY t.value ")
+                .append("UNION ALL SELECT 'equipment', equipment, count(*) FROM matched WHERE equipment IS NOT NULL GROUP BY equipment ")
+                .append("ORDER BY facet, hits DESC, value");
+
+        ProgramFacetsDTO facets = new ProgramFacetsDTO();
+        jdbcTemplate.query(sql.toString(), params, rs -> {
+            String value = rs.getString("value");
+            long hits = rs.getLong("hits");
+            switch (rs.getString("facet")) {
+                case "total" -> facets.setTotal(hits);
+                case "level" -> facets.getLevels().put(value, hits);
+                case "goal" -> facets.getGoals().put(value, hits);
+                default -> facets.getEquipment().put(value, hits);
+            }
+        });
+        return facets;
+    }
+}
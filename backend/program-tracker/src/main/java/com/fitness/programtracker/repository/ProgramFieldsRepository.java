@@ -0,0 +1,28 @@
+package com.fitness.programtracker.repository;
+
+import com.fitness.programtracker.dto.ProgramField;
+import com.fitness.programtracker.entity.Program;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldset fragment'ı (ProgramRepository bunu extend eder)
+ * Sadece istenen alanların kolonları tuple olarak okunur, entity / description yüklenmez
+ * Her satır alan adı -> değer map'i olarak döner (ProgramField sırasıyla)
+ */
+public interface ProgramFieldsRepository {
+
+    /**
+     * Specification'a uyan programlar id sırasıyla, en fazla limit kadar
+     */
+    List<Map<String, Object>> findFields(Specification<Program> spec, Set<ProgramField> fields, int limit);
+
+    /**
+     * Verilen id'lerin alanları (sıralama çağırana ait)
+     */
+    List<Map<String, Object>> findFieldsByIdIn(Collection<Long> ids, Set<ProgramField> fields);
+}
@@ -0,0 +1,124 @@
+package com.fitness.programtracker.repository;
+
+import com.fitness.programtracker.dto.ProgramField;
+import com.fitness.programtracker.entity.Program;
+import com.fitness.programtracker.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ProgramFieldsRepository'nin Criteria API implementasyonu
+ * - Specification'lar (filtreler, keyset) aynen kullanılır, sadece SELECT listesi alanlara göre kurulur
+ * - Sahip alanları istenirse users LEFT JOIN edilir ve sadece gereken kullanıcı kolonları seçilir
+ * - Türetilen alanlar (public, creatorDisplayName) ProgramMapper ile aynı kurallarla hesaplanır
+ */
+public class ProgramFieldsRepositoryImpl implements ProgramFieldsRepository {
+
+    private static final String OWNER_ID = "ownerId";
+    private static final String OWNER_USERNAME = "ownerUsername";
+    private static final String OWNER_FIRST_NAME = "ownerFirstName";
+    private static final String OWNER_LAST_NAME = "ownerLastName";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(Specification<Program> spec, Set<ProgramField> fields, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Program> root = query.from(Program.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+        return fetch(query, root, fields, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdIn(Collection<Long> ids, Set<ProgramField> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Program> root = query.from(Program.class);
+        query.where(root.get("id").in(ids));
+        return fetch(query, root, fields, 0);
+    }
+
+    private List<Map<String, Object>> fetch(CriteriaQuery<Tuple> query, Root<Program> root,
+                                            Set<ProgramField> fields, int limit) {
+        List<Selection<?>> selections = new ArrayList<>();
+        boolean ownerFields = false;
+        boolean ownerNames = false;
+        for (ProgramField field : fields) {
+            if (field.isOwnerField()) {
+                ownerFields = true;
+                ownerNames |= field == ProgramField.CREATED_BY_USERNAME || field == ProgramField.CREATOR_DISPLAY_NAME;
+            } else {
+                selections.add(root.get(field.getName()).alias(field.getName()));
+            }
+        }
+        if (ownerFields) {
+            Join<Program, User> creator = root.join("createdBy", JoinType.LEFT);
+            selections.add(creator.get("id").alias(OWNER_ID));
+            if (ownerNames) {
+                selections.add(creator.get("username").alias(OWNER_USERNAME));
+            }
+            if (fields.contains(ProgramField.CREATOR_DISPLAY_NAME)) {
+                selections.add(creator.get("firstName").alias(OWNER_FIRST_NAME));
+                selections.add(creator.get("lastName").alias(OWNER_LAST_NAME));
+            }
+        }
+        query.multiselect(selections);
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        List<Tuple> tuples = typedQuery.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            rows.add(toRow(tuple, fields));
+        }
+        return rows;
+    }
+
+    private Map<String, Object> toRow(Tuple tuple, Set<ProgramField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (ProgramField field : fields) {
+            Object value = switch (field) {
+                case CREATED_BY_USER_ID -> tuple.get(OWNER_ID);
+                case CREATED_BY_USERNAME -> tuple.get(OWNER_USERNAME);
+                case PUBLIC -> tuple.get(OWNER_ID) == null;
+                case CREATOR_DISPLAY_NAME -> tuple.get(OWNER_ID) == null
+                        ? "Anonymous"
+                        : User.fullName((String) tuple.get(OWNER_FIRST_NAME), (String) tuple.get(OWNER_LAST_NAME),
+                                (String) tuple.get(OWNER_USERNAME));
+                // Dizi kolonları null ise mapper gibi boş liste döndür
+                case LEVELS, GOALS -> tuple.get(field.getName()) == null ? List.of() : tuple.get(field.getName());
+                default -> tuple.get(field.getName());
+            };
+            row.put(field.getName(), value);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,9 @@
+package com.fitness.programtracker.repository;
+
+/**
+ * Sahiplik kontrolü için minimal projeksiyon (id + sahibin id'si, sahipsizse null)
+ */
+public interface ProgramOwnerRow {
+    Long getId();
+    Long getOwnerId();
+}
@@ -1,11 +1,21 @@
 package com.fitness.programtracker.repository;
 
 import com.fitness.programtracker.entity.Program;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /*
 Modern yaklaşım: Specification Pattern kullanımı
@@ -15,15 +25,75 @@ Modern yaklaşım: Specification Pattern kullanımı
 - Daha okunabilir: Karmaşık JPQL yerine açık kod
 
 JpaSpecificationExecutor sayesinde dinamik sorgular service katmanında oluşturulur
+Full-text arama (tsvector + pg_trgm) ProgramTextSearchRepository fragment'ında native SQL ile yapılır
+Facet sayımları (level / goal / equipment) ProgramFacetRepository fragment'ında tek aggregate sorgudur
+?fields= ile istenen kolonlar ProgramFieldsRepository fragment'ında tuple projeksiyonu olarak okunur
+Tekil güncelleme / silme ProgramWriteRepository fragment'ında sahiplik koşullu tek ifadedir
 */
 
 @Repository
-public interface ProgramRepository extends JpaRepository<Program, Long>, JpaSpecificationExecutor<Program> {
+public interface ProgramRepository extends JpaRepository<Program, Long>, JpaSpecificationExecutor<Program>,
+        ProgramTextSearchRepository, ProgramFacetRepository, ProgramFieldsRepository,
+        ProgramWriteRepository {
+    
+    // Katalog projeksiyonu - description TEXT kolonu okunmaz
+    String CATALOG_ROW_SELECT = "SELECT p.id AS id, p.title AS title, p.levels AS levels, p.goals AS goals, " +
+            "p.equipment AS equipment, p.programLength AS programLength, p.timePerWorkout AS timePerWorkout, " +
+            "p.totalExercises AS totalExercises, p.updatedAt AS updatedAt FROM Program p ";
     
     // Basit, method-name based sorgular - güncel field isimleriyle
     List<Program> findByEquipment(String equipment);
     List<Program> findByTitleContainingIgnoreCase(String title);
-    List<Program> findByLevelContaining(String level);
-    List<Program> findByGoalContaining(String goal);
     List<Program> findByTimePerWorkoutLessThanEqual(Double maxDuration);
+    
+    // Program + sahibi tek sorguda (LEFT JOIN) - mapper'daki lazy creator yüklemesini önler
+    @EntityGraph(attributePaths = "createdBy")
+    Optional<Program> findWithCreatorById(Long id);
+    
+    // Birden çok program + sahipleri tek sorguda (sıralama çağırana ait)
+    @EntityGraph(attributePaths = "createdBy")
+    List<Program> findAllWithCreatorByIdIn(Collection<Long> ids);
+
+    // Toplu işlemlerde sahiplik kontrolü - sadece id ve user_id okunur
+    @Query("SELECT p.id AS id, p.createdBy.id AS ownerId FROM Program p WHERE p.id IN :ids")
+    List<ProgramOwnerRow> findOwnersByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id AS id, p.createdBy.id AS ownerId FROM Program p WHERE p.id = :id")
+    Optional<ProgramOwnerRow> findOwnerById(@Param("id") Long id);
+
+    // Program satırını transaction sonuna kadar kilitler (SELECT ... FOR UPDATE): aynı programın planına
+    // eş zamanlı yazmalar sırayla diff'lenir
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id AS id, p.createdBy.id AS ownerId FROM Program p WHERE p.id = :id")
+    Optional<ProgramOwnerRow> findOwnerByIdForUpdate(@Param("id") Long id);
+
+    // Bağlı veri (haftalık plan) değiştiğinde programın versiyonunu (last_edit) ilerletir - entity yüklenmez
+    @Modifying
+    @Query("UPDATE Program p SET p.updatedAt = :now WHERE p.id = :id")
+    int touch(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Toplu silme - tek DELETE ifadesi (sahiplik kontrolü çağıranda yapılmış olmalı)
+    @Modifying
+    @Query("DELETE FROM Program p WHERE p.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Katalog satırlarını id sırasıyla parça parça oku (index yükleme için)
+    @Query(CATALOG_ROW_SELECT + "WHERE p.id > :afterId ORDER BY p.id")
+    List<ProgramCatalogRow> findCatalogRowsAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    @Query(CATALOG_ROW_SELECT + "WHERE p.id = :id")
+    Optional<ProgramCatalogRow> findCatalogRowById(@Param("id") Long id);
+    
+    // Program sahibinin özeti + sahibin program sayısı tek sorguda (sahipsiz programda boş)
+    @Query("SELECT u.id AS id, u.username AS username, u.firstName AS firstName, u.lastName AS lastName, " +
+            "(SELECT COUNT(p2) FROM Program p2 WHERE p2.createdBy = u) AS programCount " +
+            "FROM Program p JOIN p.createdBy u WHERE p.id = :programId")
+    Optional<CreatorSummaryRow> findCreatorSummaryByProgramId(@Param("programId") Long programId);
+    
+    // Conditional GET için sadece versiyon (son düzenleme zamanı) - entity yüklenmez
+    @Query("SELECT COALESCE(p.updatedAt, p.createdAt) FROM Program p WHERE p.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+    
+    @Query("SELECT COUNT(p) AS programCount, MAX(p.updatedAt) AS lastModified FROM Program p")
+    CatalogStats findCatalogStats();
 }
@@ -0,0 +1,37 @@
+package com.fitness.programtracker.repository;
+
+import com.fitness.programtracker.dto.ProgramSearchCriteria;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+/**
+ * Native sorgularda ProgramSearchCriteria filtreleri ("p" alias'lı fitness_programs üzerinde)
+ * Specification / bitmap index ile aynı anlam: equipment birebir, level / goal dizi containment
+ */
+final class ProgramSqlFilters {
+
+    private ProgramSqlFilters() {
+    }
+
+    static void append(StringBuilder sql, MapSqlParameterSource params, ProgramSearchCriteria criteria) {
+        if (criteria.getEquipment() != null) {
+            sql.append(" AND p.equipment = :equipment");
+            params.addValue("equipment", criteria.getEquipment());
+        }
+        if (criteria.getLevel() != null) {
+            sql.append(" AND p.level_tags @> ARRAY[CAST(:level AS varchar)]");
+            params.addValue("level", criteria.getLevel());
+        }
+        if (criteria.getGoal() != null) {
+            sql.append(" AND p.goal_tags @> ARRAY[CAST(:goal AS varchar)]");
+            params.addValue("goal", criteria.getGoal());
+        }
+        if (criteria.getMaxDuration() != null) {
+            sql.append(" AND p.time_per_workout <= :maxDuration");
+            params.addValue("maxDuration", criteria.getMaxDuration());
+        }
+        if (criteria.getMaxLength() != null) {
+            sql.append(" AND p.program_length <= :maxLength");
+            params.addValue("maxLength", criteria.getMaxLength());
+        }
+    }
+}
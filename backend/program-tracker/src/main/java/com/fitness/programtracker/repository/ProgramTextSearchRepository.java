@@ -0,0 +1,27 @@
+package com.fitness.programtracker.repository;
+
+import com.fitness.programtracker.dto.ProgramSearchCriteria;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * PostgreSQL full-text arama fragment'ı (ProgramRepository bunu extend eder)
+ * - title + description üzerinde bakımı otomatik yapılan search_vector (tsvector, GIN) kolonu
+ * - Yazım hatası toleransı için title üzerinde pg_trgm (word_similarity) eşleşmesi
+ * - equipment / level / goal / maxDuration / maxLength filtreleriyle aynı sorguda birleşir
+ */
+public interface ProgramTextSearchRepository {
+
+    /**
+     * Sorguyla eşleşen program id'leri, alaka skoruna göre azalan sırada
+     * @param afterRank / afterId önceki sayfanın son satırı (ilk sayfa için null)
+     */
+    List<RankedId> searchByText(ProgramSearchCriteria criteria, Float afterRank, Long afterId, int limit);
+
+    @Value
+    class RankedId {
+        long id;
+        float rank;
+    }
+}
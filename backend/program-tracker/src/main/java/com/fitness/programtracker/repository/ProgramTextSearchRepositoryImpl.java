@@ -0,0 +1,44 @@
+package com.fitness.programtracker.repository;
+
+import com.fitness.programtracker.dto.ProgramSearchCriteria;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+/**
+ * ProgramTextSearchRepository'nin native SQL implementasyonu
+ * search_vector kolonu ve index'leri SchemaMigrationRunner tarafından oluşturulur
+ */
+@RequiredArgsConstructor
+public class ProgramTextSearchRepositoryImpl implements ProgramTextSearchRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<RankedId> searchByText(ProgramSearchCriteria criteria, Float afterRank, Long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("q", criteria.getQ().trim())
+                .addValue("limit", limit);
+
+        // ts_rank_cd: tam metin skoru, word_similarity: title'daki yazım hatalı eşleşmeler için bonus
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT id, rank FROM (")
+                .append("SELECT p.id, CAST(ts_rank_cd(p.search_vector, query) + word_similarity(:q, p.title) AS real) AS rank ")
+                .append("FROM fitness_programs p, websearch_to_tsquery('english', :q) AS query ")
+                .append("WHERE (p.search_vector @@ query OR :q <% p.title)");
+        ProgramSqlFilters.append(sql, params, criteria);
+        sql.append(") ranked ");
+
+        // Keyset: (rank DESC, id ASC) sırasında önceki sayfanın son satırından sonrası
+        if (afterRank != null && afterId != null) {
+            sql.append("WHERE rank < :afterRank OR (rank = :afterRank AND id > :afterId) ");
+            params.addValue("afterRank", afterRank).addValue("afterId", afterId);
+        }
+        sql.append("ORDER BY rank DESC, id ASC LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params,
+                (rs, rowNum) -> new RankedId(rs.getLong("id"), rs.getFloat("rank")));
+    }
+}
@@ -0,0 +1,26 @@
+package com.fitness.programtracker.repository;
+
+import com.fitness.programtracker.entity.Program;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Tek ifadelik koşullu yazma fragment'ı (ProgramRepository bunu extend eder)
+ * - Sahiplik kontrolü WHERE koşulundadır (id + user_id, admin için sadece id): önce program okunmaz
+ * - Etkilenen satır yoksa program ya yoktur ya da çağıranın yetkisi yoktur; ayrımı çağıran yapar
+ */
+public interface ProgramWriteRepository {
+
+    /**
+     * Programın düzenlenebilir alanlarını ve last_edit'i günceller
+     * @return güncellenmiş satır + sahibi (UPDATE ... RETURNING), etkilenen satır yoksa boş
+     */
+    Optional<Program> updateIfPermitted(Long id, Program values, LocalDateTime now, Long userId, boolean admin);
+
+    /**
+     * Programı haftalık planıyla birlikte siler
+     * @return silindiyse true
+     */
+    boolean deleteIfPermitted(Long id, Long userId, boolean admin);
+}
@@ -0,0 +1,110 @@
+package com.fitness.programtracker.repository;
+
+import com.fitness.programtracker.entity.Program;
+import com.fitness.programtracker.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ProgramWriteRepository'nin native SQL implementasyonu (PostgreSQL data-modifying CTE'leri)
+ * Cevap için gereken sahip bilgisi aynı ifadede users tablosundan okunur
+ */
+@RequiredArgsConstructor
+public class ProgramWriteRepositoryImpl implements ProgramWriteRepository {
+
+    private static final String UPDATE_SQL =
+            "WITH updated AS (" +
+            "UPDATE fitness_programs SET title = :title, description = :description, " +
+            "level_tags = CAST(:levels AS varchar[]), goal_tags = CAST(:goals AS varchar[]), equipment = :equipment, " +
+            "program_length = :programLength, time_per_workout = :timePerWorkout, total_exercises = :totalExercises, " +
+            "last_edit = :now " +
+            "WHERE id = :id AND (:admin OR user_id = :userId) " +
+            "RETURNING id, title, description, level_tags, goal_tags, equipment, program_length, time_per_workout, " +
+            "total_exercises, user_id, created, last_edit) " +
+            "SELECT p.*, u.username, u.first_name, u.last_name FROM updated p LEFT JOIN users u ON u.id = p.user_id";
+
+    // Plan satırları programla aynı ifadede silinir (FK kontrolü ifade sonunda yapılır)
+    private static final String DELETE_SQL =
+            "WITH deleted AS (" +
+            "DELETE FROM fitness_programs WHERE id = :id AND (:admin OR user_id = :userId) RETURNING id), " +
+            "plan AS (DELETE FROM weekly_plan_entries WHERE program_id IN (SELECT id FROM deleted)) " +
+            "SELECT COUNT(*) FROM deleted";
+
+    private static final RowMapper<Program> PROGRAM_ROW = (rs, rowNum) -> {
+        Program program = new Program();
+        program.setId(rs.getLong("id"));
+        program.setTitle(rs.getString("title"));
+        program.setDescription(rs.getString("description"));
+        program.setLevels(stringList(rs.getArray("level_tags")));
+        program.setGoals(stringList(rs.getArray("goal_tags")));
+        program.setEquipment(rs.getString("equipment"));
+        program.setProgramLength(rs.getObject("program_length", Double.class));
+        program.setTimePerWorkout(rs.getObject("time_per_workout", Double.class));
+        program.setTotalExercises(rs.getObject("total_exercises", Integer.class));
+        program.setCreatedAt(localDateTime(rs, "created"));
+        program.setUpdatedAt(localDateTime(rs, "last_edit"));
+
+        long ownerId = rs.getLong("user_id");
+        if (!rs.wasNull()) {
+            User owner = new User();
+            owner.setId(ownerId);
+            owner.setUsername(rs.getString("username"));
+            owner.setFirstName(rs.getString("first_name"));
+            owner.setLastName(rs.getString("last_name"));
+            program.setCreatedBy(owner);
+        }
+        return program;
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<Program> updateIfPermitted(Long id, Program values, LocalDateTime now, Long userId, boolean admin) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("userId", userId)
+                .addValue("admin", admin)
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("title", values.getTitle())
+                .addValue("description", values.getDescription())
+                // String[] olarak bağlanır - Collection verilirse NamedParameterJdbcTemplate IN listesine açar
+                .addValue("levels", values.getLevels().toArray(new String[0]))
+                .addValue("goals", values.getGoals().toArray(new String[0]))
+                .addValue("equipment", values.getEquipment())
+                .addValue("programLength", values.getProgramLength())
+                .addValue("timePerWorkout", values.getTimePerWorkout())
+                .addValue("totalExercises", values.getTotalExercises());
+        return jdbcTemplate.query(UPDATE_SQL, params, PROGRAM_ROW).stream().findFirst();
+    }
+
+    @Override
+    public boolean deleteIfPermitted(Long id, Long userId, boolean admin) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("userId", userId)
+                .addValue("admin", admin);
+        Long deleted = jdbcTemplate.queryForObject(DELETE_SQL, params, Long.class);
+        return deleted != null && deleted > 0;
+    }
+
+    private static List<String> stringList(Array array) throws SQLException {
+        return array == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList((String[]) array.getArray()));
+    }
+
+    private static LocalDateTime localDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,9 @@
+package com.fitness.programtracker.repository;
+
+/**
+ * Stateless JWT kontrolü için kullanıcının auth durumu (sadece iki kolon okunur)
+ */
+public interface UserAuthStateRow {
+    int getAuthVersion();
+    Boolean getVerified();
+}
@@ -22,6 +22,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.email = :emailOrUsername OR u.username = :emailOrUsername")
     Optional<User> findByEmailOrUsername(@Param("emailOrUsername") String emailOrUsername);
     
+    // Stateless JWT: token'ın hâlâ geçerli olup olmadığı (UserAuthStateCache) - PK ile tek satır
+    @Query("SELECT u.authVersion AS authVersion, u.isVerified AS verified FROM User u WHERE u.id = :id")
+    Optional<UserAuthStateRow> findAuthStateById(@Param("id") Long id);
+    
     // Email var mı kontrol et
     boolean existsByEmail(String email);
     
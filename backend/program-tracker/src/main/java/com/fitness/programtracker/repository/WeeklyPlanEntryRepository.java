@@ -2,13 +2,23 @@ package com.fitness.programtracker.repository;
 
 import com.fitness.programtracker.entity.WeeklyPlanEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface WeeklyPlanEntryRepository extends JpaRepository<WeeklyPlanEntry, Long> {
-    List<WeeklyPlanEntry> findByProgram_IdOrderByIdAsc(Long programId);
+    // position'ı olmayan (taşınmamış) eski satırlar sona, kendi aralarında id sırasıyla
+    List<WeeklyPlanEntry> findByProgram_IdOrderByPositionAscIdAsc(Long programId);
+
+    // Toplu program silmede önce bağlı plan satırları silinir (FK)
+    @Modifying
+    @Query("DELETE FROM WeeklyPlanEntry e WHERE e.program.id IN :programIds")
+    int deleteAllByProgramIdIn(@Param("programIds") Collection<Long> programIds);
 }
 
 
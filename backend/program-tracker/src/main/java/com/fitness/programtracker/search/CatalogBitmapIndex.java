@@ -0,0 +1,206 @@
+package com.fitness.programtracker.search;
+
+import com.fitness.programtracker.dto.ProgramFacetsDTO;
+import com.fitness.programtracker.dto.ProgramSearchCriteria;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Program kataloğu için bellek içi bitmap index
+ * - Her program bir slot'a yerleşir; slot'lar id sırasıyla eklenir (sıralı bölüm)
+ * - Sıradan küçük id ile gelen yeni program (eş zamanlı create, pooled sequence) sona, sırasız bölüme eklenir;
+ *   o andan sonraki tüm yeni slot'lar da bu bölüme düşer. Sırasız bölüm aramada ayrıca taranıp birleştirilir,
+ *   büyüdüğünde ProgramCatalogIndex arka planda rebuild ile sıkıştırır
+ * - level / goal / equipment sözlükle kodlanıp değer başına BitSet'te tutulur
+ * - timePerWorkout / programLength sıralı primitive dizilerde tutulur
+ * - level / goal filtreleri dizi kolonlarındaki containment (@>) ile aynı şekilde birebir eşleşir
+ * - Arama = filtre bitmap'lerinin AND'i + id > afterId olan ilk slot'tan itibaren limit kadar tarama
+ * - Facet sayımı = değer bitmap'leri ile filtre sonucunun kesişim cardinality'si
+ *
+ * Thread-safe değildir; kilitleme ProgramCatalogIndex tarafından yapılır.
+ */
+class CatalogBitmapIndex {
+
+    private long[] ids = new long[0];
+    private int size;
+    private int orderedSize;   // [0, orderedSize) id sırasıyla, [orderedSize, size) sırasız
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    private final TagDictionary levels = new TagDictionary();
+    private final TagDictionary goals = new TagDictionary();
+    private final TagDictionary equipment = new TagDictionary();
+    private final RangeColumn timePerWorkout = new RangeColumn();
+    private final RangeColumn programLength = new RangeColumn();
+
+    /**
+     * Programı ekle veya güncelle
+     */
+    void upsert(long id, List<String> levelTags, List<String> goalTags, String equipmentValue,
+                   Double timePerWorkoutValue, Double programLengthValue) {
+        Integer slot = slotById.get(id);
+        if (slot == null) {
+            boolean inOrder = orderedSize == size && (size == 0 || id > ids[size - 1]);
+            slot = appendSlot(id);
+            if (inOrder) {
+                orderedSize = size;
+            }
+        }
+
+        levels.assign(slot, levelTags);
+        goals.assign(slot, goalTags);
+        equipment.assign(slot, equipmentValue == null ? List.of() : List.of(equipmentValue));
+        timePerWorkout.set(slot, timePerWorkoutValue);
+        programLength.set(slot, programLengthValue);
+        live.set(slot);
+    }
+
+    void remove(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        live.clear(slot);
+        levels.clear(slot);
+        goals.clear(slot);
+        equipment.clear(slot);
+        timePerWorkout.clear(slot);
+        programLength.clear(slot);
+    }
+
+    boolean needsSort() {
+        return timePerWorkout.isDirty() || programLength.isDirty();
+    }
+
+    // Yazmalardan sonra aralık kolonlarını yeniden sırala
+    void sort() {
+        timePerWorkout.sort();
+        programLength.sort();
+    }
+
+    int liveCount() {
+        return live.cardinality();
+    }
+
+    // Sırasız bölümdeki slot sayısı (silinenler dahil) - rebuild gerekip gerekmediğine karar için
+    int unorderedCount() {
+        return size - orderedSize;
+    }
+
+    /**
+     * Kriterlere uyan program id'lerini id sırasıyla döndürür
+     * @param afterId keyset pagination - bu id'den büyük olanlar (null = baştan)
+     * @param limit en fazla kaç id döneceği
+     */
+    List<Long> search(ProgramSearchCriteria criteria, Long afterId, int limit) {
+        BitSet matches = filter(criteria);
+
+        List<Long> result = new ArrayList<>(Math.min(limit, 256));
+        int slot = matches.nextSetBit(firstSlotAfter(afterId));
+        while (slot >= 0 && slot < orderedSize && result.size() < limit) {
+            result.add(ids[slot]);
+            slot = matches.nextSetBit(slot + 1);
+        }
+        if (orderedSize == size) {
+            return result;
+        }
+
+        // Sırasız bölüm küçük: uyanların hepsi toplanır, sıralı sonuçla birleştirilip ilk limit kadarı alınır
+        int ordered = result.size();
+        for (slot = matches.nextSetBit(orderedSize); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            if (afterId == null || ids[slot] > afterId) {
+                result.add(ids[slot]);
+            }
+        }
+        if (result.size() == ordered) {
+            return result;
+        }
+        result.sort(null);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Kriterlere uyan programlar için facet sayımları (metin sorgusu q desteklenmez)
+     * Filtre yoksa sadece değer bitmap'lerinin cardinality'si, varsa filtreyle kesişimleri sayılır
+     */
+    ProgramFacetsDTO facets(ProgramSearchCriteria criteria) {
+        BitSet matches = hasFilters(criteria) ? filter(criteria) : null;
+        ProgramFacetsDTO facets = new ProgramFacetsDTO();
+        facets.setTotal(matches == null ? live.cardinality() : matches.cardinality());
+        facets.setLevels(countWithin(levels, matches));
+        facets.setGoals(countWithin(goals, matches));
+        facets.setEquipment(countWithin(equipment, matches));
+        return facets;
+    }
+
+    private BitSet filter(ProgramSearchCriteria criteria) {
+        BitSet matches = (BitSet) live.clone();
+        if (criteria.getEquipment() != null) {
+            matches.and(equipment.matchExact(criteria.getEquipment()));
+        }
+        if (criteria.getLevel() != null) {
+            matches.and(levels.matchExact(criteria.getLevel()));
+        }
+        if (criteria.getGoal() != null) {
+            matches.and(goals.matchExact(criteria.getGoal()));
+        }
+        if (criteria.getMaxDuration() != null) {
+            matches.and(timePerWorkout.atMost(criteria.getMaxDuration()));
+        }
+        if (criteria.getMaxLength() != null) {
+            matches.and(programLength.atMost(criteria.getMaxLength()));
+        }
+        return matches;
+    }
+
+    private static boolean hasFilters(ProgramSearchCriteria criteria) {
+        return criteria.getEquipment() != null || criteria.getLevel() != null || criteria.getGoal() != null
+                || criteria.getMaxDuration() != null || criteria.getMaxLength() != null;
+    }
+
+    // Sayıya göre azalan, eşitlikte değere göre sıralı
+    private static Map<String, Long> countWithin(TagDictionary dictionary, BitSet matches) {
+        Map<String, Long> counts = new HashMap<>();
+        dictionary.countWithin(matches, counts);
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private int appendSlot(long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(1024, ids.length * 2));
+        }
+        int slot = size++;
+        ids[slot] = id;
+        slotById.put(id, slot);
+        return slot;
+    }
+
+    // Sıralı bölümde afterId'den büyük ilk slot'u binary search ile bul
+    private int firstSlotAfter(Long afterId) {
+        if (afterId == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = orderedSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
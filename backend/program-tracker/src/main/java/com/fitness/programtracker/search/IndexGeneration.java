@@ -0,0 +1,22 @@
+package com.fitness.programtracker.search;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Bellek içi bir index'in kaçıncı hali yayında (her kurulum / uygulanan değişiklikte artar)
+ * Index'ler katalog versiyonundan sonra güncellendiği için, index'ten dönen cevapların ETag'i buna da bağlıdır
+ */
+@Value
+public class IndexGeneration {
+
+    public static final IndexGeneration NONE = new IndexGeneration(0, Instant.EPOCH);
+
+    long number;
+    Instant updatedAt;
+
+    public IndexGeneration next() {
+        return new IndexGeneration(number + 1, Instant.now());
+    }
+}
@@ -0,0 +1,12 @@
+package com.fitness.programtracker.search;
+
+/**
+ * Bellek içi index kapalı veya henüz kurulmadı (açılış / yeniden kurulum)
+ * Controller'da 503'e çevrilir; diğer IllegalStateException'lar sunucu hatası olarak kalır
+ */
+public class IndexUnavailableException extends RuntimeException {
+
+    public IndexUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,182 @@
+package com.fitness.programtracker.search;
+
+import java.util.Arrays;
+
+/**
+ * Autocomplete için sıkıştırılmış, değişmez prefix ağacı
+ * - Düğümler primitive dizilerde: karakter, ilk çocuk, sonraki kardeş (first-child / next-sibling)
+ * - Her metin kelime başlarından itibaren eklenir ("cbum ppl" hem "cb" hem "pp" ile bulunur)
+ * - Her düğüm altındaki en iyi maxPerNode kaydı kurulumda hesaplanıp düz bir int dizisinde tutulur
+ * - Arama sadece dizilerde yürür, nesne oluşturmaz; eşleşme büyük/küçük harf duyarsızdır
+ *
+ * Kayıtlar (entry) sıra numarası olarak tutulur, küçük numara = daha iyi sıralama.
+ * Çağıran kayıtları en iyiden kötüye doğru ekler; numara -> id / başlık eşlemesini kendisi tutar.
+ */
+final class PrefixTrie {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] topOffsets;     // düğüm i'nin kayıtları: topEntries[topOffsets[i] .. topOffsets[i + 1])
+    private final int[] topEntries;
+
+    private PrefixTrie(char[] labels, int[] firstChild, int[] nextSibling, int[] topOffsets, int[] topEntries) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.nextSibling = nextSibling;
+        this.topOffsets = topOffsets;
+        this.topEntries = topEntries;
+    }
+
+    static Builder builder(int maxPerNode) {
+        return new Builder(maxPerNode);
+    }
+
+    /**
+     * Prefix'in vardığı düğüm; eşleşme yoksa veya prefix boşsa -1
+     */
+    int find(CharSequence prefix) {
+        if (prefix.length() == 0) {
+            return NONE;
+        }
+        int node = ROOT;
+        for (int i = 0; i < prefix.length() && node != NONE; i++) {
+            node = child(firstChild, nextSibling, labels, node, normalize(prefix.charAt(i)));
+        }
+        return node;
+    }
+
+    int topStart(int node) {
+        return topOffsets[node];
+    }
+
+    int topEnd(int node) {
+        return topOffsets[node + 1];
+    }
+
+    int topEntry(int index) {
+        return topEntries[index];
+    }
+
+    int nodeCount() {
+        return labels.length;
+    }
+
+    private static int child(int[] firstChild, int[] nextSibling, char[] labels, int node, char label) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (labels[child] == label) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    private static char normalize(char c) {
+        return Character.toLowerCase(c);
+    }
+
+    private static boolean isWordStart(String text, int index) {
+        return Character.isLetterOrDigit(text.charAt(index))
+                && (index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1)));
+    }
+
+    /**
+     * Kurulum sırasında düğüm başına sabit maxPerNode yuva kullanılır, build() bunları sıkıştırır
+     */
+    static final class Builder {
+
+        private final int maxPerNode;
+        private char[] labels = new char[1024];
+        private int[] firstChild = new int[1024];
+        private int[] nextSibling = new int[1024];
+        private int[] topSlots;
+        private int[] topCounts = new int[1024];
+        private int size;
+        private int lastEntry = NONE;
+
+        private Builder(int maxPerNode) {
+            if (maxPerNode < 1) {
+                throw new IllegalArgumentException("maxPerNode must be positive");
+            }
+            this.maxPerNode = maxPerNode;
+            topSlots = new int[labels.length * maxPerNode];
+            newNode('\0');
+        }
+
+        /**
+         * Kaydı metninin her kelime başından itibaren ekle
+         * @param entry sıra numarası - önceki add çağrılarından büyük olmalı
+         */
+        Builder add(int entry, String text) {
+            if (entry <= lastEntry) {
+                throw new IllegalArgumentException("Entries must be added in rank order");
+            }
+            lastEntry = entry;
+            for (int start = 0; start < text.length(); start++) {
+                if (isWordStart(text, start)) {
+                    insert(entry, text, start);
+                }
+            }
+            return this;
+        }
+
+        PrefixTrie build() {
+            int[] offsets = new int[size + 1];
+            for (int node = 0; node < size; node++) {
+                offsets[node + 1] = offsets[node] + topCounts[node];
+            }
+            int[] entries = new int[offsets[size]];
+            for (int node = 0; node < size; node++) {
+                System.arraycopy(topSlots, node * maxPerNode, entries, offsets[node], topCounts[node]);
+            }
+            return new PrefixTrie(Arrays.copyOf(labels, size), Arrays.copyOf(firstChild, size),
+                    Arrays.copyOf(nextSibling, size), offsets, entries);
+        }
+
+        private void insert(int entry, String text, int start) {
+            int node = ROOT;
+            for (int i = start; i < text.length(); i++) {
+                char label = normalize(text.charAt(i));
+                int next = child(firstChild, nextSibling, labels, node, label);
+                if (next == NONE) {
+                    next = newNode(label);
+                    nextSibling[next] = firstChild[node];
+                    firstChild[node] = next;
+                }
+                node = next;
+                offer(node, entry);
+            }
+        }
+
+        // Kayıtlar sırayla geldiği için düğüm dolduğunda daha iyisi gelmez; aynı kayıt ikinci kez eklenmez
+        private void offer(int node, int entry) {
+            int count = topCounts[node];
+            int base = node * maxPerNode;
+            if (count == maxPerNode || (count > 0 && topSlots[base + count - 1] == entry)) {
+                return;
+            }
+            topSlots[base + count] = entry;
+            topCounts[node] = count + 1;
+        }
+
+        private int newNode(char label) {
+            if (size == labels.length) {
+                int capacity = labels.length * 2;
+                labels = Arrays.copyOf(labels, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                topCounts = Arrays.copyOf(topCounts, capacity);
+                topSlots = Arrays.copyOf(topSlots, capacity * maxPerNode);
+            }
+            int node = size++;
+            labels[node] = label;
+            firstChild[node] = NONE;
+            nextSibling[node] = NONE;
+            topCounts[node] = 0;
+            return node;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.fitness.programtracker.search;
+
+import com.fitness.programtracker.dto.ProgramFacetsDTO;
+import com.fitness.programtracker.dto.ProgramSearchCriteria;
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import com.fitness.programtracker.repository.ProgramCatalogRow;
+import com.fitness.programtracker.repository.ProgramRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Opsiyonel bellek içi katalog index'i (app.catalog-index.enabled=true ile açılır)
+ * - Uygulama hazır olduğunda tüm katalog arka planda parça parça okunup CatalogBitmapIndex'e yüklenir
+ * - ProgramChangedEvent'ler commit sonrası index'e tek tek uygulanır (artımlı güncelleme); sıra dışı id'ler
+ *   index'in sırasız bölümüne girer, bölüm büyüyünce / RELOADED'da index arka planda yeniden kurulur
+ * - Kurulumlar tek thread'de, art arda gelen istekler tek kuruluma birleşir; kurulum sırasında gelen
+ *   değişiklikler kuyruğa alınır ve yeni index'e geçişle aynı kilit altında uygulanır
+ * - ProgramService aramaları index hazırsa buradan id listesi alır, sadece o sayfayı DB'den yükler
+ */
+@Component
+@ConditionalOnProperty(name = "app.catalog-index.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ProgramCatalogIndex {
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    // Sırasız bölüm bu boyutu aşınca index yeniden kurulur (arama bu bölümü her seferinde tarar)
+    private static final int MAX_UNORDERED = 1024;
+
+    private final ProgramRepository programRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // rebuilding bayrağı ve pendingChanges bu kilitle birlikte değişir
+    private final Object changeLock = new Object();
+    private final Queue<ProgramChangedEvent> pendingChanges = new ArrayDeque<>();
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private CatalogBitmapIndex index = new CatalogBitmapIndex();
+    private volatile boolean ready;
+    private boolean rebuilding;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProgramChanged(ProgramChangedEvent event) {
+        if (event.isReload()) {
+            scheduleRebuild();
+            return;
+        }
+        synchronized (changeLock) {
+            if (rebuilding) {
+                pendingChanges.add(event);
+                return;
+            }
+        }
+
+        ProgramCatalogRow row = event.isDeleted()
+                ? null
+                : programRepository.findCatalogRowById(event.getProgramId()).orElse(null);
+        boolean compact;
+        synchronized (changeLock) {
+            // Satır okunurken kurulum başladıysa yeni index'e de kuyruktan uygulanır
+            if (rebuilding) {
+                pendingChanges.add(event);
+                return;
+            }
+            compact = applyChange(index, event, row);
+        }
+        if (compact) {
+            log.info("Catalog index has more than {} out-of-order programs, rebuilding", MAX_UNORDERED);
+            scheduleRebuild();
+        }
+    }
+
+    // Kuyrukta bekleyen kurulum varsa yenisi eklenmez; çalışan kurulum sırasında gelen istek yeni kurulum açar
+    private void scheduleRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Catalog index could not be rebuilt: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Index'i sıfırdan kur - eski index kurulum bitene kadar hizmet vermeye devam eder
+     * Kurulum hata verse de kuyruktaki değişiklikler (mevcut index'e) uygulanır
+     */
+    void rebuild() {
+        synchronized (changeLock) {
+            rebuilding = true;
+        }
+        CatalogBitmapIndex fresh = null;
+        try {
+            long start = System.nanoTime();
+            CatalogBitmapIndex loading = new CatalogBitmapIndex();
+            Long afterId = 0L;
+            List<ProgramCatalogRow> chunk;
+            do {
+                chunk = programRepository.findCatalogRowsAfter(afterId, Limit.of(LOAD_CHUNK_SIZE));
+                for (ProgramCatalogRow row : chunk) {
+                    apply(loading, row);
+                    afterId = row.getId();
+                }
+            } while (chunk.size() == LOAD_CHUNK_SIZE);
+            loading.sort();
+            fresh = loading;
+            log.info("Catalog index built with {} programs in {} ms",
+                    fresh.liveCount(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            finishRebuild(fresh);
+        }
+    }
+
+    // Kuyruk, bayrağın kapandığı kilit altında boşaltılır: arada gelen değişiklik kuyruğu atlayamaz
+    private void finishRebuild(CatalogBitmapIndex fresh) {
+        boolean compact = false;
+        synchronized (changeLock) {
+            try {
+                CatalogBitmapIndex target = fresh != null ? fresh : index;
+                ProgramChangedEvent pending;
+                while ((pending = pendingChanges.poll()) != null) {
+                    ProgramCatalogRow row = pending.isDeleted()
+                            ? null
+                            : programRepository.findCatalogRowById(pending.getProgramId()).orElse(null);
+                    compact = applyChange(target, pending, row);
+                }
+                if (fresh != null) {
+                    lock.writeLock().lock();
+                    try {
+                        index = fresh;
+                        ready = true;
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            } finally {
+                pendingChanges.clear();
+                rebuilding = false;
+            }
+        }
+        if (compact) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * @return sırasız bölüm sınırı aştı, yeniden kurulum gerekli
+     */
+    private boolean applyChange(CatalogBitmapIndex target, ProgramChangedEvent event, ProgramCatalogRow row) {
+        lock.writeLock().lock();
+        try {
+            if (row == null) {
+                target.remove(event.getProgramId());
+            } else {
+                apply(target, row);
+            }
+            return target.unorderedCount() > MAX_UNORDERED;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        builder.shutdownNow();
+    }
+
+    /**
+     * Kriterlere uyan program id'leri (id sırasıyla)
+     */
+    public List<Long> search(ProgramSearchCriteria criteria, Long afterId, int limit) {
+        return read(current -> current.search(criteria, afterId, limit));
+    }
+
+    /**
+     * Kriterlere uyan programlar için facet sayımları (q desteklenmez, çağıran metin sorgusunda DB'ye gider)
+     */
+    public ProgramFacetsDTO facets(ProgramSearchCriteria criteria) {
+        return read(current -> current.facets(criteria));
+    }
+
+    // Yazmalardan sonra aralık kolonları ilk okumada write lock altında yeniden sıralanır
+    private <T> T read(Function<CatalogBitmapIndex, T> query) {
+        while (true) {
+            lock.readLock().lock();
+            try {
+                if (!index.needsSort()) {
+                    return query.apply(index);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            lock.writeLock().lock();
+            try {
+                index.sort();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void apply(CatalogBitmapIndex target, ProgramCatalogRow row) {
+        target.upsert(
+                row.getId(),
+                row.getLevels() == null ? List.of() : row.getLevels(),
+                row.getGoals() == null ? List.of() : row.getGoals(),
+                row.getEquipment(),
+                row.getTimePerWorkout(),
+                row.getProgramLength());
+    }
+}
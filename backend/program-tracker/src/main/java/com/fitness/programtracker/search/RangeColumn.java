@@ -0,0 +1,99 @@
+package com.fitness.programtracker.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+
+/**
+ * Sayısal bir alan için aralık index'i
+ * - Değerler slot sırasıyla primitive double[] içinde tutulur (NaN = değer yok / silinmiş)
+ * - Sorgular için değere göre sıralı kopya (sortedValues + sortedSlots) tutulur
+ * - Yazmalar sadece "dirty" işaretler, sıralı kopya bir sonraki sorgudan önce yeniden kurulur
+ */
+class RangeColumn {
+
+    private double[] values = new double[0];
+    private double[] sortedValues = new double[0];
+    private int[] sortedSlots = new int[0];
+    private int size;
+    private boolean dirty;
+
+    void set(int slot, Double value) {
+        ensureCapacity(slot + 1);
+        values[slot] = value == null ? Double.NaN : value;
+        size = Math.max(size, slot + 1);
+        dirty = true;
+    }
+
+    void clear(int slot) {
+        if (slot < size) {
+            values[slot] = Double.NaN;
+            dirty = true;
+        }
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    // value <= max olan slot'lar - binary search + sıralı slot dizisinden bitleri set et
+    BitSet atMost(double max) {
+        if (dirty) {
+            throw new IllegalStateException("Range column must be re-sorted before querying");
+        }
+        int end = upperBound(max);
+        BitSet result = new BitSet(size);
+        for (int i = 0; i < end; i++) {
+            result.set(sortedSlots[i]);
+        }
+        return result;
+    }
+
+    // Sıralı kopyayı yeniden kur (sadece yazmalardan sonra, write lock altında çağrılır)
+    void sort() {
+        if (!dirty) {
+            return;
+        }
+        int count = 0;
+        Integer[] order = new Integer[size];
+        for (int slot = 0; slot < size; slot++) {
+            if (!Double.isNaN(values[slot])) {
+                order[count++] = slot;
+            }
+        }
+        Arrays.sort(order, 0, count, Comparator.comparingDouble(slot -> values[slot]));
+
+        double[] newValues = new double[count];
+        int[] newSlots = new int[count];
+        for (int i = 0; i < count; i++) {
+            newSlots[i] = order[i];
+            newValues[i] = values[order[i]];
+        }
+        sortedValues = newValues;
+        sortedSlots = newSlots;
+        dirty = false;
+    }
+
+    // max'tan büyük ilk elemanın pozisyonu
+    private int upperBound(double max) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues[mid] <= max) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int required) {
+        if (values.length < required) {
+            int oldLength = values.length;
+            values = Arrays.copyOf(values, Math.max(required, Math.max(16, oldLength * 2)));
+            Arrays.fill(values, oldLength, values.length, Double.NaN);
+        }
+    }
+}
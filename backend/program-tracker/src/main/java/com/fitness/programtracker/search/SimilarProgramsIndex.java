@@ -0,0 +1,252 @@
+package com.fitness.programtracker.search;
+
+import com.fitness.programtracker.dto.SimilarProgramDTO;
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import com.fitness.programtracker.repository.ProgramCatalogRow;
+import com.fitness.programtracker.repository.ProgramRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "Benzer programlar" için önceden hesaplanmış komşu listeleri (app.similar-programs.enabled=true ile açılır)
+ * - Uygulama hazır olduğunda katalog arka planda parça parça okunur, tüm komşu listeleri paralel hesaplanır - O(n²)
+ * - Katalog app.similar-programs.max-programs'tan büyükse index kurulmaz, uç nokta 503 döner
+ * - ProgramChangedEvent'ler commit sonrası sadece id olarak kuyruğa alınır; kurulum ve artımlı güncellemeler
+ *   (her biri O(n)) tek arka plan thread'inde sırayla uygulanır, istek thread'i beklemez
+ * - Kuyruk sınırlıdır: taşarsa bekleyen id'ler bırakılıp index sıfırdan kurulur (RELOADED ile aynı)
+ * - /api/programs/{id}/similar sorguları DB'ye gitmeden bellekten cevaplanır; index'in her hali yeni bir
+ *   IndexGeneration'dır, cevapların ETag'i katalog versiyonu + generation
+ */
+@Component
+@ConditionalOnProperty(name = "app.similar-programs.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SimilarProgramsIndex {
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    // Bu kadar değişiklik birikirse tek tek uygulamak yerine index yeniden kurulur
+    private static final int MAX_PENDING_CHANGES = 10_000;
+
+    private final ProgramRepository programRepository;
+
+    // Program başına saklanan komşu sayısı - istenebilecek en büyük k
+    @Value("${app.similar-programs.max-k:20}")
+    private int maxK;
+
+    // Kurulum O(n²) - bu sayının üstündeki kataloglar için index kurulmaz
+    @Value("${app.similar-programs.max-programs:20000}")
+    private int maxPrograms;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Bekleyen id'ler, reloadRequested ve drainQueued bu kilitle birlikte değişir
+    private final Object changeLock = new Object();
+    private final Set<Long> pendingIds = new LinkedHashSet<>();
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "similar-programs");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private boolean reloadRequested;
+    private boolean drainQueued;
+
+    private SimilarityIndex index;
+    private volatile boolean ready;
+    private volatile IndexGeneration generation = IndexGeneration.NONE;   // sadece builder thread'i değiştirir
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public IndexGeneration getGeneration() {
+        return generation;
+    }
+
+    public int getMaxK() {
+        return maxK;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProgramChanged(ProgramChangedEvent event) {
+        if (event.isReload()) {
+            requestRebuild();
+            return;
+        }
+        synchronized (changeLock) {
+            // Kurulum bekliyorsa bu değişikliği de okuyacak, id tutmaya gerek yok
+            if (!reloadRequested) {
+                pendingIds.add(event.getProgramId());
+            }
+            if (pendingIds.size() > MAX_PENDING_CHANGES) {
+                log.info("More than {} pending similar programs changes, rebuilding", MAX_PENDING_CHANGES);
+                pendingIds.clear();
+                reloadRequested = true;
+            }
+            scheduleDrain();
+        }
+    }
+
+    private void requestRebuild() {
+        synchronized (changeLock) {
+            pendingIds.clear();
+            reloadRequested = true;
+            scheduleDrain();
+        }
+    }
+
+    // changeLock altında çağrılır - kuyrukta veya çalışmakta olan boşaltma varsa yenisi eklenmez
+    private void scheduleDrain() {
+        if (!drainQueued) {
+            drainQueued = true;
+            builder.execute(this::drain);
+        }
+    }
+
+    /**
+     * Bekleyen işleri sırayla uygula: kurulum istendiyse index'i sıfırdan kur, değilse değişen id'leri
+     * tek tek yeniden oku. Kurulum sürerken gelen değişiklikler bir sonraki turda uygulanır
+     */
+    void drain() {
+        try {
+            while (true) {
+                boolean reload;
+                List<Long> ids;
+                synchronized (changeLock) {
+                    reload = reloadRequested;
+                    ids = new ArrayList<>(pendingIds);
+                    reloadRequested = false;
+                    pendingIds.clear();
+                    if (!reload && ids.isEmpty()) {
+                        drainQueued = false;
+                        return;
+                    }
+                }
+                if (reload) {
+                    rebuild();
+                } else if (ready) {
+                    ids.forEach(this::applyChange);
+                }
+                // Hazır değilse (kurulamadı / katalog çok büyük) değişiklikler bırakılır, sonraki kurulum hepsini okur
+            }
+        } catch (RuntimeException e) {
+            log.warn("Similar programs index could not be updated: {}", e.getMessage());
+            synchronized (changeLock) {
+                // Kaybolan değişiklikler yüzünden index eskimiş olabilir: sonraki değişiklikte sıfırdan kurulur
+                pendingIds.clear();
+                reloadRequested = true;
+                drainQueued = false;
+            }
+        }
+    }
+
+    /**
+     * Index'i sıfırdan kur - eski index kurulum bitene kadar hizmet vermeye devam eder
+     */
+    private void rebuild() {
+        long start = System.nanoTime();
+        SimilarityIndex fresh = new SimilarityIndex(maxK);
+        Long afterId = 0L;
+        List<ProgramCatalogRow> chunk;
+        do {
+            chunk = programRepository.findCatalogRowsAfter(afterId, Limit.of(LOAD_CHUNK_SIZE));
+            for (ProgramCatalogRow row : chunk) {
+                fresh.put(row.getId(), row.getTitle(), row.getLevels(), row.getGoals(), row.getEquipment(),
+                        row.getProgramLength(), row.getTimePerWorkout(), row.getTotalExercises());
+                afterId = row.getId();
+            }
+            if (fresh.liveCount() > maxPrograms) {
+                disable();
+                return;
+            }
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+        fresh.computeAll();
+
+        lock.writeLock().lock();
+        try {
+            index = fresh;
+            ready = true;
+            generation = generation.next();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Similar programs index built with {} programs in {} ms",
+                fresh.liveCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void applyChange(Long programId) {
+        ProgramCatalogRow row = programRepository.findCatalogRowById(programId).orElse(null);
+        lock.writeLock().lock();
+        try {
+            if (row == null) {
+                index.remove(programId);
+            } else {
+                index.upsert(row.getId(), row.getTitle(), row.getLevels(), row.getGoals(), row.getEquipment(),
+                        row.getProgramLength(), row.getTimePerWorkout(), row.getTotalExercises());
+            }
+            generation = generation.next();
+            if (index.liveCount() <= maxPrograms) {
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        disable();
+    }
+
+    private void disable() {
+        lock.writeLock().lock();
+        try {
+            index = null;
+            ready = false;
+            generation = generation.next();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.warn("Similar programs index disabled: catalog has more than {} programs (app.similar-programs.max-programs)",
+                maxPrograms);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        builder.shutdownNow();
+    }
+
+    /**
+     * Programa en benzer k program (skora göre azalan), program bulunamazsa boş
+     * @throws IndexUnavailableException index henüz kurulmadıysa veya katalog sınırı aşıldıysa
+     */
+    public Optional<List<SimilarProgramDTO>> findSimilar(Long programId, int k) {
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                throw new IndexUnavailableException("Similar programs index is not available");
+            }
+            return Optional.ofNullable(index.neighbours(programId, k));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
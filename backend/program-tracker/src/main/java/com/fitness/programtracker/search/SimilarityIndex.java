@@ -0,0 +1,349 @@
+package com.fitness.programtracker.search;
+
+import com.fitness.programtracker.dto.SimilarProgramDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Program benzerliği için bellek içi en yakın komşu index'i
+ * - Özellikler slot başına primitive dizilerde tutulur:
+ *   level / goal -> sözlük kodlarının 64 bit'lik maskesi, equipment -> int kod,
+ *   programLength / timePerWorkout / totalExercises -> log1p değerleri (yoksa NaN)
+ * - Skor = level ve goal Jaccard + aynı equipment + sayısal alanların min-max normalize yakınlığı (toplam 0-1)
+ * - Her program için en benzer maxNeighbours program önceden hesaplanır (fork/join ile paralel)
+ * - Yazmalarda sadece değişen programın ve onu listesinde tutan / tutması gereken programların listeleri güncellenir
+ *
+ * Sayısal aralıklar tam hesaplamada sabitlenir; sonradan gelen aralık dışı değerler kırpılır.
+ * Thread-safe değildir; kilitleme SimilarProgramsIndex tarafından yapılır.
+ */
+class SimilarityIndex {
+
+    // Ağırlıkların toplamı 1
+    private static final float LEVEL_WEIGHT = 0.25f;
+    private static final float GOAL_WEIGHT = 0.30f;
+    private static final float EQUIPMENT_WEIGHT = 0.15f;
+    private static final float NUMERIC_WEIGHT = 0.10f;   // her sayısal alan için
+
+    private static final int NUMERIC_FEATURES = 3;
+    // Fork/join görevinin daha fazla bölünmeden sırayla hesapladığı slot sayısı
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private final int maxNeighbours;
+
+    private long[] ids = new long[0];
+    private String[] titles = new String[0];
+    private long[] levelBits = new long[0];
+    private long[] goalBits = new long[0];
+    private int[] equipmentCodes = new int[0];
+    private float[] numeric = new float[0];             // slot * NUMERIC_FEATURES + alan
+    private int size;
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    private final Map<String, Integer> levelCodes = new HashMap<>();
+    private final Map<String, Integer> goalCodes = new HashMap<>();
+    private final Map<String, Integer> equipmentCodeByValue = new HashMap<>();
+    private final float[] numericScale = new float[NUMERIC_FEATURES];   // 1 / (max - min)
+
+    // Komşu listeleri: slot * maxNeighbours + sıra, skora göre azalan (eşitlikte küçük id önce)
+    private int[] neighbourSlots = new int[0];
+    private float[] neighbourScores = new float[0];
+    private int[] neighbourCounts = new int[0];
+
+    SimilarityIndex(int maxNeighbours) {
+        if (maxNeighbours < 1) {
+            throw new IllegalArgumentException("maxNeighbours must be positive");
+        }
+        this.maxNeighbours = maxNeighbours;
+    }
+
+    int maxNeighbours() {
+        return maxNeighbours;
+    }
+
+    int liveCount() {
+        return live.cardinality();
+    }
+
+    /**
+     * Programın özelliklerini yaz (komşu listelerine dokunmaz - toplu yüklemede kullanılır)
+     */
+    void put(long id, String title, List<String> levels, List<String> goals, String equipment,
+             Double programLength, Double timePerWorkout, Integer totalExercises) {
+        Integer slot = slotById.get(id);
+        if (slot == null) {
+            ensureCapacity(size + 1);
+            slot = size++;
+            ids[slot] = id;
+            slotById.put(id, slot);
+        }
+        titles[slot] = title;
+        levelBits[slot] = mask(levelCodes, levels);
+        goalBits[slot] = mask(goalCodes, goals);
+        equipmentCodes[slot] = equipment == null ? -1 : code(equipmentCodeByValue, equipment);
+        numeric[slot * NUMERIC_FEATURES] = feature(programLength);
+        numeric[slot * NUMERIC_FEATURES + 1] = feature(timePerWorkout);
+        numeric[slot * NUMERIC_FEATURES + 2] = feature(totalExercises == null ? null : totalExercises.doubleValue());
+        live.set(slot);
+    }
+
+    /**
+     * Sayısal aralıkları sabitle ve tüm komşu listelerini paralel olarak sıfırdan hesapla - O(n²)
+     */
+    void computeAll() {
+        computeNumericScales();
+        Arrays.fill(neighbourCounts, 0);
+        int[] slots = live.stream().toArray();
+        ForkJoinPool.commonPool().invoke(new RefillTask(slots, 0, slots.length));
+    }
+
+    /**
+     * Yazma sonrası artımlı güncelleme: programı yaz, kendi listesini ve etkilenen listeleri düzelt
+     */
+    void upsert(long id, String title, List<String> levels, List<String> goals, String equipment,
+                Double programLength, Double timePerWorkout, Integer totalExercises) {
+        put(id, title, levels, goals, equipment, programLength, timePerWorkout, totalExercises);
+        propagate(slotById.get(id), false);
+    }
+
+    void remove(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        live.clear(slot);
+        neighbourCounts[slot] = 0;
+        propagate(slot, true);
+    }
+
+    /**
+     * En benzer k program (k en fazla maxNeighbours), program index'te yoksa null
+     */
+    List<SimilarProgramDTO> neighbours(long id, int k) {
+        Integer slot = slotById.get(id);
+        if (slot == null) {
+            return null;
+        }
+        int base = slot * maxNeighbours;
+        int count = Math.min(k, neighbourCounts[slot]);
+        List<SimilarProgramDTO> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int other = neighbourSlots[base + i];
+            double score = Math.round(neighbourScores[base + i] * 10_000) / 10_000.0;
+            result.add(new SimilarProgramDTO(ids[other], titles[other], score));
+        }
+        return result;
+    }
+
+    float score(int a, int b) {
+        float score = LEVEL_WEIGHT * jaccard(levelBits[a], levelBits[b])
+                + GOAL_WEIGHT * jaccard(goalBits[a], goalBits[b]);
+        if (equipmentCodes[a] >= 0 && equipmentCodes[a] == equipmentCodes[b]) {
+            score += EQUIPMENT_WEIGHT;
+        }
+        int offsetA = a * NUMERIC_FEATURES;
+        int offsetB = b * NUMERIC_FEATURES;
+        for (int feature = 0; feature < NUMERIC_FEATURES; feature++) {
+            float x = numeric[offsetA + feature];
+            float y = numeric[offsetB + feature];
+            if (!Float.isNaN(x) && !Float.isNaN(y)) {
+                score += NUMERIC_WEIGHT * (1f - Math.min(1f, Math.abs(x - y) * numericScale[feature]));
+            }
+        }
+        return score;
+    }
+
+    // Değişen (veya silinen) slot'u diğer listelere yansıt, kesilmiş listeleri tam tara
+    private void propagate(int changed, boolean removed) {
+        int[] stale = new int[16];
+        int staleCount = 0;
+        for (int other = live.nextSetBit(0); other >= 0; other = live.nextSetBit(other + 1)) {
+            if (other == changed) {
+                continue;
+            }
+            int base = other * maxNeighbours;
+            int count = neighbourCounts[other];
+            boolean full = count == maxNeighbours;
+            float lastScore = count == 0 ? 0f : neighbourScores[base + count - 1];
+            int position = indexOf(base, count, changed);
+            if (position >= 0) {
+                System.arraycopy(neighbourSlots, base + position + 1, neighbourSlots, base + position, count - position - 1);
+                System.arraycopy(neighbourScores, base + position + 1, neighbourScores, base + position, count - position - 1);
+                count--;
+            }
+
+            if (removed) {
+                // Dolu listeden eleman çıktı - yerine girecek aday bilinmiyor
+                if (position >= 0 && full) {
+                    stale = add(stale, staleCount++, other);
+                }
+            } else {
+                float score = score(other, changed);
+                if (position >= 0 && full && score <= lastScore) {
+                    // Skoru düştü: listede olmayan bir aday artık önüne geçmiş olabilir
+                    stale = add(stale, staleCount++, other);
+                } else {
+                    count = offer(base, count, changed, score);
+                }
+            }
+            neighbourCounts[other] = count;
+        }
+
+        if (!removed) {
+            refill(changed);
+        }
+        if (staleCount > 0) {
+            ForkJoinPool.commonPool().invoke(new RefillTask(stale, 0, staleCount));
+        }
+    }
+
+    // Slot'un listesini tüm canlı programları tarayarak yeniden doldur
+    private void refill(int slot) {
+        int base = slot * maxNeighbours;
+        int last = base + maxNeighbours - 1;
+        int count = 0;
+        for (int other = live.nextSetBit(0); other >= 0; other = live.nextSetBit(other + 1)) {
+            if (other == slot) {
+                continue;
+            }
+            float score = score(slot, other);
+            // Liste doluyken adayların çoğu sonuncudan düşük skorlu - offer'a girmeden ele
+            if (count < maxNeighbours || score >= neighbourScores[last]) {
+                count = offer(base, count, other, score);
+            }
+        }
+        neighbourCounts[slot] = count;
+    }
+
+    // Sıralı listeye aday ekle (liste doluysa ve aday sonuncudan iyi değilse eklenmez), yeni uzunluğu döndürür
+    private int offer(int base, int count, int candidate, float score) {
+        if (count == maxNeighbours
+                && !ranksBefore(score, candidate, neighbourScores[base + count - 1], neighbourSlots[base + count - 1])) {
+            return count;
+        }
+        int position = count == maxNeighbours ? count - 1 : count;
+        while (position > 0
+                && ranksBefore(score, candidate, neighbourScores[base + position - 1], neighbourSlots[base + position - 1])) {
+            neighbourSlots[base + position] = neighbourSlots[base + position - 1];
+            neighbourScores[base + position] = neighbourScores[base + position - 1];
+            position--;
+        }
+        neighbourSlots[base + position] = candidate;
+        neighbourScores[base + position] = score;
+        return count == maxNeighbours ? count : count + 1;
+    }
+
+    private boolean ranksBefore(float score, int slot, float otherScore, int otherSlot) {
+        return score > otherScore || (score == otherScore && ids[slot] < ids[otherSlot]);
+    }
+
+    private int indexOf(int base, int count, int slot) {
+        for (int i = 0; i < count; i++) {
+            if (neighbourSlots[base + i] == slot) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void computeNumericScales() {
+        for (int feature = 0; feature < NUMERIC_FEATURES; feature++) {
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                float value = numeric[slot * NUMERIC_FEATURES + feature];
+                if (!Float.isNaN(value)) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+            // Tek değer (veya hiç değer) varsa tüm programlar bu alanda birebir yakın sayılır
+            numericScale[feature] = max > min ? 1f / (max - min) : 0f;
+        }
+    }
+
+    // 64'ten fazla farklı değer olursa kodlar bit paylaşır - Jaccard yaklaşık olur, sonuç yine 0-1 arasıdır
+    private static long mask(Map<String, Integer> codes, List<String> tags) {
+        long bits = 0L;
+        if (tags != null) {
+            for (String tag : tags) {
+                bits |= 1L << (code(codes, tag) & 63);
+            }
+        }
+        return bits;
+    }
+
+    private static int code(Map<String, Integer> codes, String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = codes.size();
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    // Süre / egzersiz sayısı dağılımları sağa çarpık - farklar log ölçeğinde karşılaştırılır
+    private static float feature(Double value) {
+        return value == null || value < 0 ? Float.NaN : (float) Math.log1p(value);
+    }
+
+    private static float jaccard(long x, long y) {
+        long union = x | y;
+        return union == 0 ? 0f : (float) Long.bitCount(x & y) / Long.bitCount(union);
+    }
+
+    private static int[] add(int[] values, int index, int value) {
+        int[] target = index == values.length ? Arrays.copyOf(values, values.length * 2) : values;
+        target[index] = value;
+        return target;
+    }
+
+    private void ensureCapacity(int required) {
+        if (ids.length >= required) {
+            return;
+        }
+        int capacity = Math.max(required, Math.max(1024, ids.length * 2));
+        ids = Arrays.copyOf(ids, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        levelBits = Arrays.copyOf(levelBits, capacity);
+        goalBits = Arrays.copyOf(goalBits, capacity);
+        equipmentCodes = Arrays.copyOf(equipmentCodes, capacity);
+        numeric = Arrays.copyOf(numeric, capacity * NUMERIC_FEATURES);
+        neighbourSlots = Arrays.copyOf(neighbourSlots, capacity * maxNeighbours);
+        neighbourScores = Arrays.copyOf(neighbourScores, capacity * maxNeighbours);
+        neighbourCounts = Arrays.copyOf(neighbourCounts, capacity);
+    }
+
+    // Slot aralığını ikiye bölerek paralel doldurur; her görev sadece kendi slot'larının listelerine yazar
+    private final class RefillTask extends RecursiveAction {
+
+        private final int[] slots;
+        private final int from;
+        private final int to;
+
+        RefillTask(int[] slots, int from, int to) {
+            this.slots = slots;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    refill(slots[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RefillTask(slots, from, middle), new RefillTask(slots, middle, to));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.fitness.programtracker.search;
+
+import com.fitness.programtracker.repository.ProgramCatalogRow;
+
+import java.util.Comparator;
+
+/**
+ * Autocomplete önerilerinin sıralama ağırlığı (app.suggest.ranking)
+ * Eşitlikte id sırası kullanılır, sonuçlar kararlıdır
+ */
+public enum SuggestionRanking {
+
+    // En son güncellenen programlar önce
+    RECENT(Comparator.comparing(ProgramCatalogRow::getUpdatedAt, Comparator.nullsLast(Comparator.reverseOrder()))),
+    // Kısa başlıklar önce - yazılan prefix'e en yakın tam eşleşmeler üste çıkar
+    SHORTEST(Comparator.comparingInt(row -> row.getTitle().length())),
+    ALPHABETICAL(Comparator.comparing(ProgramCatalogRow::getTitle, String.CASE_INSENSITIVE_ORDER));
+
+    private final Comparator<ProgramCatalogRow> order;
+
+    SuggestionRanking(Comparator<ProgramCatalogRow> order) {
+        this.order = order.thenComparing(ProgramCatalogRow::getId);
+    }
+
+    Comparator<ProgramCatalogRow> order() {
+        return order;
+    }
+}
@@ -0,0 +1,100 @@
+package com.fitness.programtracker.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tek bir kategorik alan için sözlük kodlaması
+ * - Her farklı değer bir int koda, her kod da bir BitSet'e (o değere sahip slot'lar) karşılık gelir
+ * - Slot başına atanmış kodlar tutulur, güncelleme/silmede eski bitler temizlenir
+ */
+class TagDictionary {
+
+    private static final int[] NO_CODES = new int[0];
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<BitSet> bitmaps = new ArrayList<>();
+    private final List<String> values = new ArrayList<>();   // kod -> değer
+    private int[][] slotCodes = new int[0][];
+
+    // Slot'a verilen değerleri ata (önceki değerlerin bitleri temizlenir)
+    void assign(int slot, List<String> tags) {
+        clear(slot);
+        ensureCapacity(slot + 1);
+        if (tags.isEmpty()) {
+            return;
+        }
+        int[] assigned = new int[tags.size()];
+        int count = 0;
+        for (String tag : tags) {
+            int code = codeFor(tag);
+            bitmaps.get(code).set(slot);
+            assigned[count++] = code;
+        }
+        slotCodes[slot] = assigned;
+    }
+
+    void clear(int slot) {
+        if (slot >= slotCodes.length || slotCodes[slot] == null) {
+            return;
+        }
+        for (int code : slotCodes[slot]) {
+            bitmaps.get(code).clear(slot);
+        }
+        slotCodes[slot] = NO_CODES;
+    }
+
+    // Birebir eşleşme - Specification'daki equal / dizi containment ile aynı davranış
+    BitSet matchExact(String value) {
+        Integer code = codes.get(value);
+        return code == null ? new BitSet() : (BitSet) bitmaps.get(code).clone();
+    }
+
+    /**
+     * Değer başına slot sayısı - bitmap cardinality ile, slot'lar tek tek gezilmez
+     * @param within sadece bu slot'lar sayılır (null = tüm canlı slot'lar)
+     * @param counts sayısı 0 olmayan değerler buraya eklenir
+     */
+    void countWithin(BitSet within, Map<String, Long> counts) {
+        for (int code = 0; code < bitmaps.size(); code++) {
+            BitSet bitmap = bitmaps.get(code);
+            int hits;
+            if (within == null) {
+                hits = bitmap.cardinality();
+            } else if (bitmap.intersects(within)) {
+                BitSet intersection = (BitSet) bitmap.clone();
+                intersection.and(within);
+                hits = intersection.cardinality();
+            } else {
+                hits = 0;
+            }
+            if (hits > 0) {
+                counts.put(values.get(code), (long) hits);
+            }
+        }
+    }
+
+    private int codeFor(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        int newCode = bitmaps.size();
+        codes.put(value, newCode);
+        bitmaps.add(new BitSet());
+        values.add(value);
+        return newCode;
+    }
+
+    private void ensureCapacity(int required) {
+        if (slotCodes.length < required) {
+            int newLength = Math.max(required, Math.max(16, slotCodes.length * 2));
+            int[][] grown = new int[newLength][];
+            System.arraycopy(slotCodes, 0, grown, 0, slotCodes.length);
+            slotCodes = grown;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.fitness.programtracker.search;
+
+import com.fitness.programtracker.dto.ProgramSuggestionDTO;
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import com.fitness.programtracker.repository.ProgramCatalogRow;
+import com.fitness.programtracker.repository.ProgramRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Program başlıkları için bellek içi autocomplete index'i (GET /api/programs/suggest)
+ * - Başlıklar app.suggest.ranking sırasına dizilip PrefixTrie'ye yüklenir, aynı başlık bir kez önerilir
+ * - Her prefix düğümünün en iyi max-results başlığı kurulumda hazırlanır, arama DB'ye gitmez
+ * - Yazmalardan sonra index arka planda yeniden kurulur; art arda gelen değişiklikler tek kuruluma birleşir
+ *   Kurulum bitene kadar önceki index hizmet verir
+ * - Her kurulum yeni bir IndexGeneration'dır: öneri cevaplarının ETag'i katalog versiyonu + generation
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TitleSuggestIndex {
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final ProgramRepository programRepository;
+
+    // Prefix başına saklanan öneri sayısı - istenebilecek en büyük limit
+    @Value("${app.suggest.max-results:10}")
+    private int maxResults;
+
+    @Value("${app.suggest.ranking:RECENT}")
+    private SuggestionRanking ranking;
+
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "title-suggest");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private volatile Snapshot current;
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public IndexGeneration getGeneration() {
+        Snapshot snapshot = current;
+        return snapshot == null ? IndexGeneration.NONE : snapshot.generation;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    // Tüm değişiklik türleri (RELOADED dahil) için aynı işlem: başlıklar ve sıralama yeniden kurulur
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProgramChanged(ProgramChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    /**
+     * Prefix ile başlayan kelime içeren başlıklar (sıralamaya göre en fazla limit kadar)
+     * @throws IndexUnavailableException index henüz kurulmadıysa
+     */
+    public List<ProgramSuggestionDTO> suggest(String prefix, int limit) {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            throw new IndexUnavailableException("Title suggestions are still being built");
+        }
+        int node = snapshot.trie.find(prefix);
+        if (node < 0) {
+            return List.of();
+        }
+        int start = snapshot.trie.topStart(node);
+        int end = Math.min(snapshot.trie.topEnd(node), start + limit);
+        List<ProgramSuggestionDTO> suggestions = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            int entry = snapshot.trie.topEntry(i);
+            suggestions.add(new ProgramSuggestionDTO(snapshot.ids[entry], snapshot.titles[entry]));
+        }
+        return suggestions;
+    }
+
+    // Kuyrukta bekleyen kurulum varsa yenisi eklenmez; çalışan kurulum sırasında gelen değişiklik yeni kurulum açar
+    private void scheduleRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Title suggest index could not be rebuilt: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    void rebuild() {
+        long start = System.nanoTime();
+        List<ProgramCatalogRow> rows = new ArrayList<>();
+        Long afterId = 0L;
+        List<ProgramCatalogRow> chunk;
+        do {
+            chunk = programRepository.findCatalogRowsAfter(afterId, Limit.of(LOAD_CHUNK_SIZE));
+            for (ProgramCatalogRow row : chunk) {
+                if (row.getTitle() != null && !row.getTitle().isBlank()) {
+                    rows.add(row);
+                }
+                afterId = row.getId();
+            }
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+        rows.sort(ranking.order());
+
+        PrefixTrie.Builder trie = PrefixTrie.builder(maxResults);
+        long[] ids = new long[rows.size()];
+        String[] titles = new String[rows.size()];
+        Set<String> seenTitles = new HashSet<>();
+        int entries = 0;
+        for (ProgramCatalogRow row : rows) {
+            String title = row.getTitle().strip();
+            if (seenTitles.add(title.toLowerCase(Locale.ROOT))) {
+                ids[entries] = row.getId();
+                titles[entries] = title;
+                trie.add(entries++, title);
+            }
+        }
+
+        Snapshot snapshot = new Snapshot(trie.build(), ids, titles, getGeneration().next());
+        current = snapshot;
+        log.info("Title suggest index built with {} titles, {} nodes in {} ms",
+                entries, snapshot.trie.nodeCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        builder.shutdownNow();
+    }
+
+    // Trie, kayıt numarası -> program eşlemesi ve generation birlikte değiştirilir
+    private static final class Snapshot {
+        private final PrefixTrie trie;
+        private final long[] ids;
+        private final String[] titles;
+        private final IndexGeneration generation;
+
+        private Snapshot(PrefixTrie trie, long[] ids, String[] titles, IndexGeneration generation) {
+            this.trie = trie;
+            this.ids = ids;
+            this.titles = titles;
+            this.generation = generation;
+        }
+    }
+}
@@ -45,23 +45,17 @@ public class AuthService {
         user.setIsVerified(false); // Email doğrulanmamış
         user.setRole(User.Role.USER);
         
-        // Önce user'ı kaydet
         User savedUser = userRepository.save(user);
         
-        try {
-            // Real email verification gönder
-            emailService.sendEmailVerification(savedUser);
-            
-            return new RegisterResponse(
-                    "Registration successful! Please check your email for verification.",
-                    savedUser.getEmail(),
-                    true
-            );
-        } catch (Exception e) {
-            // Email gönderiminde hata olursa user'ı sil
-            userRepository.delete(savedUser);
-            throw new RuntimeException("Registration failed: " + e.getMessage());
-        }
+        // Doğrulama email'i aynı transaction'da outbox'a yazılır, gönderim arka planda (SMTP beklenmez)
+        // Bir şey başarısız olursa transaction geri alınır, user da kaydedilmemiş olur
+        emailService.sendEmailVerification(savedUser);
+        
+        return new RegisterResponse(
+                "Registration successful! Please check your email for verification.",
+                savedUser.getEmail(),
+                true
+        );
     }
 
     public LoginResponse login(LoginRequest request) {
@@ -82,9 +76,8 @@ public class AuthService {
             throw new RuntimeException("Please verify your email before logging in");
         }
         
-        // JWT token oluştur
-        UserDetailsServiceImpl.UserPrincipal userPrincipal = new UserDetailsServiceImpl.UserPrincipal(user);
-        String token = jwtService.generateTokenWithRole(userPrincipal, user.getId(), user.getRole().name());
+        // JWT token oluştur (stateless doğrulama için gerekli claim'lerle)
+        String token = jwtService.generateTokenForUser(user);
         
         // Response oluştur
         UserInfo userInfo = UserInfo.fromUser(user);
@@ -0,0 +1,21 @@
+package com.fitness.programtracker.service;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Yayındaki katalog snapshot'ı (CatalogSnapshotService)
+ * Dosyalar üretildikten sonra değişmez, yeni versiyon yeni dosya adıyla yazılır
+ */
+@Value
+public class CatalogSnapshot {
+    String version;
+    Instant lastModified;
+    int programCount;
+    Path jsonFile;
+    long jsonLength;
+    Path gzipFile;
+    long gzipLength;
+}
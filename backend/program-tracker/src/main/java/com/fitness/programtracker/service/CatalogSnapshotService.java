@@ -0,0 +1,203 @@
+package com.fitness.programtracker.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitness.programtracker.dto.ProgramResponseDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tüm kataloğun önceden serialize + sıkıştırılmış hali (GET /api/programs/catalog)
+ * - CatalogSnapshot, katalog versiyonu (CatalogVersionService) değiştiğinde ilk istekte yeniden üretilir;
+ *   versiyon aynı kaldıkça istekler sadece hazır dosyayı gönderir (sorgu, mapping, serialization yok)
+ * - JSON ve gzip varyantı disk'te tutulur, controller bunları sendfile ile kopyalamadan yollar
+ * - Üretim tek thread'li ayrı bir executor'da yapılır: aynı anda gelen istekler aynı üretimi bekler
+ *   ve request'in açık EntityManager'ı (open-in-view) 10k entity ile şişmez
+ * - Eski snapshot'ın dosyaları hemen silinmez: sendfile dosyayı servlet döndükten sonra açtığı için
+ *   yavaş istemcilere giden cevaplar app.catalog-snapshot.retire-delay boyunca tamamlanabilir
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogSnapshotService {
+
+    private final ProgramService programService;
+    private final CatalogVersionService catalogVersionService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.catalog-snapshot.dir:}")
+    private String configuredDirectory;
+
+    @Value("${app.catalog-snapshot.chunk-size:500}")
+    private int chunkSize;
+
+    // Yerini yeni snapshot'a bırakan dosyalar bu süre sonra silinir (gönderimi süren cevaplar için)
+    @Value("${app.catalog-snapshot.retire-delay:10m}")
+    private Duration retireDelay;
+
+    // Üretim ve gecikmeli silme aynı thread'de sırayla çalışır
+    private final ScheduledExecutorService builder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile CatalogSnapshot current;
+    private String pendingVersion;                   // guarded by this
+    private CompletableFuture<CatalogSnapshot> pendingBuild;
+    private Path directory;
+
+    /**
+     * Güncel katalog versiyonunun snapshot'ı; gerekirse üretilmesini bekler
+     */
+    public CatalogSnapshot getSnapshot() {
+        String version = catalogVersionService.currentVersion();
+        CatalogSnapshot snapshot = current;
+        if (snapshot != null && snapshot.getVersion().equals(version)) {
+            return snapshot;
+        }
+        try {
+            return scheduleBuild(version).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private synchronized CompletableFuture<CatalogSnapshot> scheduleBuild(String version) {
+        if (pendingBuild == null || !version.equals(pendingVersion)) {
+            pendingVersion = version;
+            pendingBuild = CompletableFuture.supplyAsync(() -> build(version), builder);
+        }
+        return pendingBuild;
+    }
+
+    // Sadece builder thread'inde çalışır
+    private CatalogSnapshot build(String version) {
+        CatalogSnapshot existing = current;
+        if (existing != null && existing.getVersion().equals(version)) {
+            return existing;
+        }
+        long start = System.nanoTime();
+        // Versiyon üretimden ÖNCE okundu: arada gelen değişiklik en kötü bir sonraki istekte yeni üretim tetikler
+        Instant lastModified = catalogVersionService.lastModified();
+        try {
+            Path dir = resolveDirectory();
+            Path json = dir.resolve("catalog-" + version + ".json");
+            Path gzip = dir.resolve("catalog-" + version + ".json.gz");
+            int count = writeJson(json);
+            writeGzip(json, gzip);
+
+            CatalogSnapshot snapshot = new CatalogSnapshot(version, lastModified, count,
+                    json, Files.size(json), gzip, Files.size(gzip));
+            publish(snapshot);
+            log.info("Catalog snapshot {} built: {} programs, {} bytes json, {} bytes gzip in {} ms",
+                    version, count, snapshot.getJsonLength(), snapshot.getGzipLength(),
+                    (System.nanoTime() - start) / 1_000_000);
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Catalog snapshot could not be written", e);
+        }
+    }
+
+    // JSON dizisini chunk chunk stream'le - tüm katalog bellekte DTO listesi olarak tutulmaz
+    private int writeJson(Path target) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), "catalog-", ".tmp");
+        AtomicInteger count = new AtomicInteger();
+        try (OutputStream out = Files.newOutputStream(tmp);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            programService.forEachCatalogChunk(chunkSize, chunk -> {
+                try {
+                    for (ProgramResponseDTO program : chunk) {
+                        objectMapper.writeValue(generator, program);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count.addAndGet(chunk.size());
+            });
+            generator.writeEndArray();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count.get();
+    }
+
+    private void writeGzip(Path source, Path target) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), "catalog-", ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+            Files.copy(source, out);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Yeni snapshot yayına girer; eskisinin dosyaları retireDelay sonra silinir
+    private void publish(CatalogSnapshot snapshot) {
+        CatalogSnapshot retired = current;
+        current = snapshot;
+        if (retired != null && !retired.getVersion().equals(snapshot.getVersion())) {
+            builder.schedule(() -> delete(retired), retireDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void delete(CatalogSnapshot retired) {
+        try {
+            Files.deleteIfExists(retired.getJsonFile());
+            Files.deleteIfExists(retired.getGzipFile());
+        } catch (IOException e) {
+            log.warn("Retired catalog snapshot {} could not be deleted: {}", retired.getVersion(), e.getMessage());
+        }
+    }
+
+    private Path resolveDirectory() throws IOException {
+        if (directory == null) {
+            directory = configuredDirectory.isBlank()
+                    ? Files.createTempDirectory("program-catalog")
+                    : Files.createDirectories(Path.of(configuredDirectory));
+        }
+        return directory;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        builder.shutdownNow();
+        if (directory == null) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "catalog-*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Catalog snapshot files could not be cleaned up: {}", e.getMessage());
+        }
+    }
+}
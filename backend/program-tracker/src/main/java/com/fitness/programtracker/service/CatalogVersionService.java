@@ -0,0 +1,68 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import com.fitness.programtracker.repository.CatalogStats;
+import com.fitness.programtracker.repository.ProgramRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Katalog geneli versiyon damgası (liste ve arama cevaplarının ETag / Last-Modified değeri)
+ * - İlk kullanımda DB'deki program sayısı + son düzenleme zamanından türetilir;
+ *   yeniden başlatmada katalog değişmediyse damga da değişmez
+ * - Sonrasında her commit edilmiş program değişikliği damgayı ilerletir, istek başına DB'ye gidilmez
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionService {
+
+    private final ProgramRepository programRepository;
+
+    private final AtomicLong changeCount = new AtomicLong();
+    private volatile String baseStamp;
+    private volatile Instant lastModified;
+
+    // Örn: "c-2bm-lx3k9a1c-0" (sayı-zaman-değişiklik, base36)
+    public String currentVersion() {
+        ensureInitialized();
+        return "c-" + baseStamp + "-" + changeCount.get();
+    }
+
+    public Instant lastModified() {
+        ensureInitialized();
+        return lastModified;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProgramChanged(ProgramChangedEvent event) {
+        ensureInitialized();
+        changeCount.incrementAndGet();
+        lastModified = Instant.now();
+    }
+
+    private void ensureInitialized() {
+        if (baseStamp != null) {
+            return;
+        }
+        synchronized (this) {
+            if (baseStamp == null) {
+                CatalogStats stats = programRepository.findCatalogStats();
+                Instant modified = toInstant(stats.getLastModified());
+                lastModified = modified;
+                baseStamp = Long.toString(stats.getProgramCount(), 36) + "-"
+                        + Long.toString(modified.toEpochMilli(), 36);
+            }
+        }
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime == null ? Instant.EPOCH : dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,239 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.entity.EmailOutbox;
+import com.fitness.programtracker.repository.EmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * email_outbox tablosundaki mesajları arka planda SMTP'ye gönderir
+ * - Zamanı gelmiş mesajlar kısa bir transaction'da FOR UPDATE SKIP LOCKED ile alınır ve next_attempt_at
+ *   lease süresi kadar ileri atılır (birden çok instance aynı mesajı almaz, çöken instance'ın mesajları
+ *   lease bitince tekrar alınır); SMTP konuşması transaction dışında yapılır
+ * - Batch en fazla app.mail.outbox.concurrency parçaya bölünür, her parça tek SMTP bağlantısında
+ *   send(MimeMessage[]) ile gider (mesaj başına bağlantı açılmaz)
+ * - Başarısız mesaj üstel bekleme ile tekrar denenir; deneme hakkı bitince FAILED olur
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${app.name:Fitness Program Hub}")
+    private String appName;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    // Aynı anda açık SMTP bağlantısı sayısı
+    @Value("${app.mail.outbox.concurrency:2}")
+    private int concurrency;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${app.mail.outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    // Alınan mesaj bu süre içinde sonuçlanmazsa (instance çöktü) tekrar alınabilir
+    @Value("${app.mail.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    private TransactionTemplate transactionTemplate;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(concurrency),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "email-outbox-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Bekleyen mesajlar bitene kadar batch batch gönderir (fixed delay: çalışmalar üst üste binmez)
+     * @return gönderilen mesaj sayısı
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:1000}")
+    public int dispatch() {
+        int sent = 0;
+        while (true) {
+            List<EmailOutbox> batch = claim();
+            if (batch.isEmpty()) {
+                return sent;
+            }
+            sent += deliver(batch);
+            if (batch.size() < batchSize) {
+                return sent;
+            }
+        }
+    }
+
+    private List<EmailOutbox> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = outboxRepository.findDueForUpdate(EmailOutbox.Status.PENDING, now, Limit.of(batchSize));
+            due.forEach(message -> message.setNextAttemptAt(now.plusSeconds(leaseSeconds)));
+            return due;
+        });
+    }
+
+    private int deliver(List<EmailOutbox> batch) {
+        int parts = Math.min(concurrency, batch.size());
+        List<List<EmailOutbox>> chunks = new ArrayList<>(parts);
+        for (int i = 0; i < parts; i++) {
+            chunks.add(new ArrayList<>());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            chunks.get(i % parts).add(batch.get(i));
+        }
+
+        List<Future<Map<Long, String>>> futures = new ArrayList<>(parts);
+        for (List<EmailOutbox> chunk : chunks) {
+            futures.add(executor.submit(() -> send(chunk)));
+        }
+        Map<Long, String> failures = new HashMap<>();
+        for (int i = 0; i < parts; i++) {
+            try {
+                failures.putAll(futures.get(i).get());
+            } catch (ExecutionException e) {
+                chunks.get(i).forEach(message -> failures.put(message.getId(), String.valueOf(e.getCause())));
+            } catch (InterruptedException e) {
+                // Sonuçlanmayan mesajlar lease bitince tekrar alınır
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+        }
+
+        List<Long> ids = batch.stream().map(EmailOutbox::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> record(ids, failures));
+        return batch.size() - failures.size();
+    }
+
+    /**
+     * Parçayı tek bağlantıda gönderir
+     * @return başarısız mesajlar: id -> hata
+     */
+    private Map<Long, String> send(List<EmailOutbox> chunk) {
+        Map<Long, String> failures = new HashMap<>();
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        for (EmailOutbox outbox : chunk) {
+            try {
+                messages.put(toMimeMessage(outbox), outbox);
+            } catch (Exception e) {
+                failures.put(outbox.getId(), e.toString());
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(outbox -> failures.put(outbox.getId(), e.toString()));
+            } else {
+                e.getFailedMessages().forEach((message, error) -> {
+                    EmailOutbox outbox = messages.get(message);
+                    if (outbox != null) {
+                        failures.put(outbox.getId(), error.toString());
+                    }
+                });
+            }
+        } catch (MailException e) {
+            // Bağlantı / kimlik doğrulama hatası: parçadaki mesajların hiçbiri gitmedi
+            messages.values().forEach(outbox -> failures.put(outbox.getId(), e.toString()));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox outbox) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail, appName);
+        helper.setTo(outbox.getRecipient());
+        helper.setSubject(outbox.getSubject());
+        helper.setText(outbox.getBody(), true);
+        return message;
+    }
+
+    private void record(List<Long> ids, Map<Long, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutbox message : outboxRepository.findAllById(ids)) {
+            message.setAttempts(message.getAttempts() + 1);
+            String error = failures.get(message.getId());
+            if (error == null) {
+                message.setStatus(EmailOutbox.Status.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+                continue;
+            }
+
+            message.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(EmailOutbox.Status.FAILED);
+                log.error("Email {} to {} failed permanently after {} attempts: {}",
+                        message.getId(), message.getRecipient(), message.getAttempts(), error);
+            } else {
+                message.setNextAttemptAt(now.plusSeconds(backoffSeconds(message.getAttempts())));
+                log.warn("Email {} to {} failed (attempt {}), retrying later: {}",
+                        message.getId(), message.getRecipient(), message.getAttempts(), error);
+            }
+        }
+    }
+
+    // 30s, 60s, 120s, ... en fazla backoff-max-seconds
+    private long backoffSeconds(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        return Math.min(backoffBaseSeconds << shift, backoffMaxSeconds);
+    }
+}
@@ -1,22 +1,30 @@
 package com.fitness.programtracker.service;
 
+import com.fitness.programtracker.entity.EmailOutbox;
 import com.fitness.programtracker.entity.EmailVerification;
 import com.fitness.programtracker.entity.User;
+import com.fitness.programtracker.mail.EmailTemplateEngine;
+import com.fitness.programtracker.mail.RenderedEmail;
+import com.fitness.programtracker.ratelimit.RateLimitPolicy;
+import com.fitness.programtracker.ratelimit.SlidingWindowRateLimiter;
+import com.fitness.programtracker.repository.EmailOutboxRepository;
 import com.fitness.programtracker.repository.EmailVerificationRepository;
+import com.fitness.programtracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -24,8 +32,15 @@ import java.util.Base64;
 @Transactional
 public class EmailService {
     
-    private final JavaMailSender mailSender;
+    private static final int VERIFICATION_EXPIRY_HOURS = 24;
+    private static final int PASSWORD_RESET_EXPIRY_HOURS = 1;
+    
     private final EmailVerificationRepository verificationRepository;
+    private final EmailOutboxRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final EmailTemplateEngine templateEngine;
+    private final SlidingWindowRateLimiter rateLimiter;
+    private final UserAuthStateCache authStateCache;
     
     // Application properties'den alacağız
     @Value("${app.frontend.url:http://localhost:4200}")
@@ -37,6 +52,13 @@ public class EmailService {
     @Value("${spring.mail.username}")
     private String fromEmail;
     
+    // Email + token tipi başına gönderim limiti
+    @Value("${app.rate-limit.email.max-attempts:3}")
+    private int rateLimitMaxAttempts;
+    
+    @Value("${app.rate-limit.email.window:1h}")
+    private Duration rateLimitWindow;
+    
     // Security için
     private final SecureRandom secureRandom = new SecureRandom();
     
@@ -44,10 +66,14 @@ public class EmailService {
      * Email verification token oluştur ve email gönder
      */
     public void sendEmailVerification(User user) {
+        // Rate limiting kontrolü (varsayılan: saatte max 3 email)
+        checkRateLimit(user.getEmail(), EmailVerification.TokenType.EMAIL_VERIFICATION);
+        issueVerification(user);
+    }
+    
+    // Token'ı yenile ve email'i outbox'a yaz - limit çağıran tarafından kontrol edilmiş olmalı
+    private void issueVerification(User user) {
         try {
-            // Rate limiting kontrolü (saatte max 3 email)
-            checkRateLimit(user.getEmail(), EmailVerification.TokenType.EMAIL_VERIFICATION, 3, 1);
-            
             // Eski aktif verification varsa sil
             verificationRepository.findByUserAndTokenTypeAndVerifiedAtIsNull(
                     user, EmailVerification.TokenType.EMAIL_VERIFICATION)
@@ -62,16 +88,14 @@ public class EmailService {
             verification.setToken(token);
             verification.setTokenType(EmailVerification.TokenType.EMAIL_VERIFICATION);
             verification.setEmail(user.getEmail());
-            verification.setExpiresAt(LocalDateTime.now().plusHours(24)); // 24 saat geçerli
+            verification.setExpiresAt(LocalDateTime.now().plusHours(VERIFICATION_EXPIRY_HOURS));
             
             // Veritabanına kaydet
             verificationRepository.save(verification);
             
-            // Email gönder
+            // Email'i outbox'a yaz (aynı transaction'da)
             sendVerificationEmail(user, token);
             
-            log.info("Email verification sent to user: {}", user.getEmail());
-            
         } catch (Exception e) {
             log.error("Failed to send email verification to user: {}", user.getEmail(), e);
             throw new RuntimeException("Failed to send verification email: " + e.getMessage());
@@ -83,7 +107,9 @@ public class EmailService {
      */
     public boolean verifyEmail(String token) {
         try {
+            // Password reset token'ı email doğrulamada kullanılamaz
             EmailVerification verification = verificationRepository.findByToken(token)
+                    .filter(v -> v.getTokenType() == EmailVerification.TokenType.EMAIL_VERIFICATION)
                     .orElseThrow(() -> new RuntimeException("Invalid verification token"));
             
             // Token geçerli mi kontrol et
@@ -98,6 +124,7 @@ public class EmailService {
             // User'ı verified olarak işaretle
             User user = verification.getUser();
             user.setIsVerified(true);
+            authStateCache.evictAfterCommit(user.getId());
             
             // Verification'ı verified olarak işaretle
             verification.markAsVerified();
@@ -113,23 +140,52 @@ public class EmailService {
     }
     
     /**
-     * Password reset email gönder
+     * Password reset token oluştur ve email'i outbox'a yaz
+     * Kayıtlı olmayan email için sessizce döner (hangi adreslerin kayıtlı olduğu sızdırılmaz);
+     * limit aramadan önce sayılır, kayıtlı olan / olmayan adres aynı limite takılır
      */
     public void sendPasswordResetEmail(String email) {
-        // TODO: Implement password reset
-        log.info("Password reset email requested for: {}", email);
+        checkRateLimit(email, EmailVerification.TokenType.PASSWORD_RESET);
+        Optional<User> found = userRepository.findByEmail(email);
+        if (found.isEmpty()) {
+            log.info("Password reset requested for unknown email: {}", email);
+            return;
+        }
+        User user = found.get();
+        
+        // Önceki kullanılmamış reset token'ı geçersiz olur
+        verificationRepository.findByUserAndTokenTypeAndVerifiedAtIsNull(
+                user, EmailVerification.TokenType.PASSWORD_RESET)
+                .ifPresent(verificationRepository::delete);
+        
+        String token = generateSecureToken();
+        EmailVerification reset = new EmailVerification();
+        reset.setUser(user);
+        reset.setToken(token);
+        reset.setTokenType(EmailVerification.TokenType.PASSWORD_RESET);
+        reset.setEmail(email);
+        reset.setExpiresAt(LocalDateTime.now().plusHours(PASSWORD_RESET_EXPIRY_HOURS));
+        verificationRepository.save(reset);
+        
+        Map<String, String> model = baseModel(user);
+        model.put("resetUrl", frontendUrl + "/auth/reset-password?token=" + token);
+        model.put("expiryHours", String.valueOf(PASSWORD_RESET_EXPIRY_HOURS));
+        queue(email, templateEngine.render(EmailTemplateEngine.PASSWORD_RESET, LocaleContextHolder.getLocale(), model));
+        log.info("Password reset email queued for: {}", email);
     }
     
     /**
      * Verification email'ini yeniden gönder
      */
     public void resendVerificationEmail(String email) {
+        // Limit aramadan önce: kayıtlı olan / olmayan adresler için aynı sayım ve aynı hata
+        checkRateLimit(email, EmailVerification.TokenType.EMAIL_VERIFICATION);
         User user = verificationRepository.findByEmailAndTokenTypeAndVerifiedAtIsNull(
                 email, EmailVerification.TokenType.EMAIL_VERIFICATION)
                 .map(EmailVerification::getUser)
                 .orElseThrow(() -> new RuntimeException("No pending verification found for this email"));
         
-        sendEmailVerification(user);
+        issueVerification(user);
     }
     
     /**
@@ -142,113 +198,42 @@ public class EmailService {
     }
     
     /**
-     * Rate limiting kontrolü
+     * Rate limiting kontrolü - email + token tipi başına, bellek içi sliding window (veritabanı sorgusu yok)
+     * Email büyük/küçük harf duyarsız sayılır; sayım transaction'a bağlı değildir (rollback'te geri alınmaz)
      */
-    private void checkRateLimit(String email, EmailVerification.TokenType tokenType, 
-                               int maxAttempts, int hoursWindow) {
-        LocalDateTime after = LocalDateTime.now().minusHours(hoursWindow);
-        int attempts = verificationRepository.countByEmailAndTokenTypeAndCreatedAtAfter(
-                email, tokenType, after);
-        
-        if (attempts >= maxAttempts) {
+    private void checkRateLimit(String email, EmailVerification.TokenType tokenType) {
+        RateLimitPolicy policy = RateLimitPolicy.of("email-" + tokenType.name(), rateLimitMaxAttempts, rateLimitWindow);
+        if (!rateLimiter.tryAcquire(policy, email.toLowerCase(Locale.ROOT))) {
+            String action = tokenType == EmailVerification.TokenType.PASSWORD_RESET ? "password reset" : "verification";
             throw new RuntimeException(String.format(
-                    "Too many verification attempts. Please wait %d hour(s) before requesting again.", 
-                    hoursWindow));
+                    "Too many %s email requests. Please wait %d hour(s) before requesting again.", 
+                    action, Math.max(1, rateLimitWindow.toHours())));
         }
     }
     
     /**
-     * HTML verification email gönder
+     * Verification email'ini outbox'a yazar - çağıranın transaction'ında, SMTP beklenmez
+     * Gönderim EmailOutboxDispatcher'da (arka planda, tekrar denemeli)
      */
     private void sendVerificationEmail(User user, String token) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail, appName);
-            helper.setTo(user.getEmail());
-            helper.setSubject("🏋️ Email Adresinizi Doğrulayın - " + appName);
-            
-            String verificationUrl = frontendUrl + "/auth/verify?token=" + token;
-            String htmlContent = createVerificationEmailTemplate(user, verificationUrl, token);
-            
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            log.info("Verification email sent successfully to: {}", user.getEmail());
-            
-        } catch (Exception e) {
-            log.error("Failed to send verification email to: {}", user.getEmail(), e);
-            throw new RuntimeException("Failed to send email: " + e.getMessage());
-        }
+        Map<String, String> model = baseModel(user);
+        model.put("verificationUrl", frontendUrl + "/auth/verify?token=" + token);
+        model.put("expiryHours", String.valueOf(VERIFICATION_EXPIRY_HOURS));
+        
+        queue(user.getEmail(), templateEngine.render(EmailTemplateEngine.VERIFICATION, LocaleContextHolder.getLocale(), model));
+        log.info("Verification email queued for: {}", user.getEmail());
     }
     
-    /**
-     * HTML email template
-     */
-    private String createVerificationEmailTemplate(User user, String verificationUrl, String token) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <title>Email Verification</title>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%); color: white; text-align: center; padding: 30px; border-radius: 10px 10px 0 0; }
-                    .content { background: white; padding: 30px; border: 1px solid #ddd; border-top: none; }
-                    .button { display: inline-block; background: #667eea; color: white; padding: 15px 30px; text-decoration: none; border-radius: 5px; margin: 20px 0; }
-                    .footer { background: #f8f9fa; padding: 20px; text-align: center; border-radius: 0 0 10px 10px; color: #666; }
-                    .token-box { background: #f8f9fa; padding: 15px; border-radius: 5px; margin: 15px 0; font-family: monospace; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>🏋️ %s</h1>
-                        <p>Email Adresinizi Doğrulayın</p>
-                    </div>
-                    
-                    <div class="content">
-                        <h2>Merhaba %s! 👋</h2>
-                        
-                        <p><strong>%s</strong> platformuna hoş geldiniz! Hesabınızı aktifleştirmek için email adresinizi doğrulamanız gerekiyor.</p>
-                        
-                        <p>Aşağıdaki butona tıklayarak email adresinizi doğrulayın:</p>
-                        
-                        <div style="text-align: center;">
-                            <a href="%s" class="button">✅ Email Adresimi Doğrula</a>
-                        </div>
-                        
-                        <p>Eğer buton çalışmıyorsa, aşağıdaki linki tarayıcınıza kopyalayın:</p>
-                        <div class="token-box">%s</div>
-                        
-                        <p><strong>⚠️ Önemli:</strong></p>
-                        <ul>
-                            <li>Bu link 24 saat boyunca geçerlidir</li>
-                            <li>Güvenlik için bu emaili kimseyle paylaşmayın</li>
-                            <li>Bu hesabı siz oluşturmadıysanız, bu emaili görmezden gelin</li>
-                        </ul>
-                    </div>
-                    
-                    <div class="footer">
-                        <p>Bu email otomatik olarak gönderilmiştir.</p>
-                        <p><strong>%s</strong> | Fitness Program Hub</p>
-                        <p>Sorularınız için: <a href="mailto:%s">%s</a></p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, 
-            appName,
-            user.getUsername(),
-            appName,
-            verificationUrl,
-            verificationUrl,
-            appName,
-            fromEmail,
-            fromEmail
-        );
+    // Şablonların ortak değişkenleri
+    private Map<String, String> baseModel(User user) {
+        Map<String, String> model = new HashMap<>();
+        model.put("appName", appName);
+        model.put("username", user.getUsername());
+        model.put("supportEmail", fromEmail);
+        return model;
+    }
+    
+    private void queue(String recipient, RenderedEmail email) {
+        outboxRepository.save(EmailOutbox.of(recipient, email.getSubject(), email.getBody()));
     }
 } 
\ No newline at end of file
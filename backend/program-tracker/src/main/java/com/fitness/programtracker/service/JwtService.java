@@ -1,24 +1,50 @@
 package com.fitness.programtracker.service;
 
+import com.fitness.programtracker.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * JWT üretimi ve doğrulaması
+ * - İmza anahtarı ve parser açılışta bir kez kurulur (JwtParser thread-safe)
+ * - validate(): token bir kez parse + doğrulanır, sonuç değişmez VerifiedToken olarak döner
+ * - Doğrulanmış token'lar süreleri dolana kadar sınırlı bir cache'te tutulur (key: token'ın SHA-256'sı,
+ *   ham token bellekte saklanmaz); aynı token'la gelen sonraki isteklerde imza/JSON işi yapılmaz
+ */
 @Service
 public class JwtService {
+
+    // Stateless doğrulamada principal'ı kuran claim'ler (VerifiedToken, UserDetailsServiceImpl.loadUserFromToken)
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USERNAME = "username";
+    public static final String CLAIM_FIRST_NAME = "firstName";
+    public static final String CLAIM_LAST_NAME = "lastName";
+    public static final String CLAIM_AUTH_VERSION = "ver";
     
     // JWT secret key - production'da environment variable olmalı
     @Value("${jwt.secret:myDefaultSecretKeyForDevelopmentOnlyThatIsLongEnoughForHS256Algorithm}")
@@ -27,11 +53,63 @@ public class JwtService {
     // Token geçerlilik süresi - 24 saat (milliseconds)
     @Value("${jwt.expiration:86400000}")
     private long jwtExpiration;
-    
-    // Secret key oluştur
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+
+    // Doğrulanmış token cache'inin boyutu (0 = kapalı)
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheSize;
+
+    private Key signingKey;
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return token.getExpiresAt() == null ? Long.MAX_VALUE
+                                : Math.max(0, Duration.between(Instant.now(), token.getExpiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Token'ı doğrular (imza + süre) ve claim'lerini döner - istek başına tek çağrı yeterli
+     * @throws JwtException token geçersiz veya süresi dolmuşsa (geçersiz token'lar cache'lenmez)
+     */
+    public VerifiedToken validate(String token) {
+        String key = cacheKey(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return cached;
+        }
+        VerifiedToken verified = VerifiedToken.of(extractAllClaims(token));
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
+    private static String cacheKey(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
     
     // Token'dan username çıkar
@@ -50,18 +128,9 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
     
-    // Token'dan tüm claims çıkar
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-    
-    // Token süresi dolmuş mu kontrol et
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // Token'dan tüm claims çıkar - imza ve süre doğrulanır, geçersizse JwtException
+    public Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
     
     // Kullanıcı için token oluştur
@@ -88,14 +157,17 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(now)
                 .setExpiration(expirationDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
     // Token geçerli mi kontrol et
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        try {
+            return userDetails.getUsername().equals(validate(token).getSubject());
+        } catch (JwtException e) {
+            return false;
+        }
     }
     
     // Token'dan user ID çıkar (custom claim)
@@ -123,6 +195,18 @@ public class JwtService {
         return generateToken(extraClaims, userDetails);
     }
     
+    // Stateless doğrulama için kullanıcı bilgileri ve auth versiyonu claim olarak eklenir
+    public String generateTokenForUser(User user) {
+        Map<String, Object> extraClaims = new HashMap<>();
+        extraClaims.put(CLAIM_USER_ID, user.getId());
+        extraClaims.put(CLAIM_ROLE, user.getRole().name());
+        extraClaims.put(CLAIM_USERNAME, user.getUsername());
+        extraClaims.put(CLAIM_FIRST_NAME, user.getFirstName());
+        extraClaims.put(CLAIM_LAST_NAME, user.getLastName());
+        extraClaims.put(CLAIM_AUTH_VERSION, user.getAuthVersion());
+        return generateToken(extraClaims, new UserDetailsServiceImpl.UserPrincipal(user));
+    }
+    
     // Base64 encoded secret key oluştur (development için)
     public static String generateBase64SecretKey() {
         return java.util.Base64.getEncoder()
@@ -0,0 +1,219 @@
+package com.fitness.programtracker.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Arka plan temizlik işleri (app.maintenance.*)
+ * - expired-tokens: süresi retention'dan uzun zaman önce dolmuş email_verifications satırları
+ * - unverified-users: max-age'den eski, doğrulanmamış ve programı olmayan kullanıcılar (token'larıyla birlikte)
+ * - email-outbox: retention'dan eski gönderilmiş / başarısız outbox mesajları
+ * Her iş id sırasında (keyset) küçük parçalarla ilerler: parça başına ayrı kısa transaction, satırlar
+ * FOR UPDATE ile kilitlenip aynı transaction'da silinir; parçalar arasında kısa bekleme (pause-ms) yapılır
+ * Metrikler: maintenance.purge.deleted (silinen satır), maintenance.purge.chunk (parça süreleri), tag: job
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MaintenanceScheduler {
+
+    public static final String EXPIRED_TOKENS = "expired-tokens";
+    public static final String UNVERIFIED_USERS = "unverified-users";
+    public static final String EMAIL_OUTBOX = "email-outbox";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.maintenance.enabled:true}")
+    private boolean enabled;
+
+    // Parçalar arası bekleme - veritabanına nefes aldırır
+    @Value("${app.maintenance.pause-ms:50}")
+    private long pauseMillis;
+
+    @Value("${app.maintenance.expired-tokens.enabled:true}")
+    private boolean expiredTokensEnabled;
+
+    @Value("${app.maintenance.expired-tokens.retention:7d}")
+    private Duration expiredTokensRetention;
+
+    @Value("${app.maintenance.expired-tokens.chunk-size:500}")
+    private int expiredTokensChunkSize;
+
+    @Value("${app.maintenance.unverified-users.enabled:true}")
+    private boolean unverifiedUsersEnabled;
+
+    @Value("${app.maintenance.unverified-users.max-age:7d}")
+    private Duration unverifiedUsersMaxAge;
+
+    @Value("${app.maintenance.unverified-users.chunk-size:200}")
+    private int unverifiedUsersChunkSize;
+
+    @Value("${app.maintenance.email-outbox.enabled:true}")
+    private boolean emailOutboxEnabled;
+
+    @Value("${app.maintenance.email-outbox.retention:30d}")
+    private Duration emailOutboxRetention;
+
+    @Value("${app.maintenance.email-outbox.chunk-size:500}")
+    private int emailOutboxChunkSize;
+
+    private TransactionTemplate transactionTemplate;
+    private List<PurgeJob> jobs;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jobs = List.of(
+                new PurgeJob(EXPIRED_TOKENS, expiredTokensEnabled, expiredTokensRetention, expiredTokensChunkSize,
+                        "SELECT id FROM email_verifications WHERE id > :afterId AND expires_at < :cutoff " +
+                        "ORDER BY id LIMIT :limit FOR UPDATE",
+                        List.of("DELETE FROM email_verifications WHERE id IN (:ids)")),
+                // Doğrulanmamış kullanıcı giriş yapamaz; yine de programı olan (admin atamış olabilir) silinmez
+                new PurgeJob(UNVERIFIED_USERS, unverifiedUsersEnabled, unverifiedUsersMaxAge, unverifiedUsersChunkSize,
+                        "SELECT u.id FROM users u WHERE u.id > :afterId AND u.is_verified = false " +
+                        "AND u.created_at < :cutoff " +
+                        "AND NOT EXISTS (SELECT 1 FROM fitness_programs p WHERE p.user_id = u.id) " +
+                        "ORDER BY u.id LIMIT :limit FOR UPDATE",
+                        List.of("DELETE FROM email_verifications WHERE user_id IN (:ids)",
+                                "DELETE FROM users WHERE id IN (:ids)")),
+                new PurgeJob(EMAIL_OUTBOX, emailOutboxEnabled, emailOutboxRetention, emailOutboxChunkSize,
+                        "SELECT id FROM email_outbox WHERE id > :afterId AND status <> 'PENDING' " +
+                        "AND created_at < :cutoff ORDER BY id LIMIT :limit FOR UPDATE",
+                        List.of("DELETE FROM email_outbox WHERE id IN (:ids)")));
+    }
+
+    @Scheduled(cron = "${app.maintenance.cron:0 30 3 * * *}")
+    public void runAll() {
+        if (!enabled) {
+            return;
+        }
+        for (PurgeJob job : jobs) {
+            if (!job.enabled) {
+                continue;
+            }
+            try {
+                purge(job.name);
+            } catch (RuntimeException e) {
+                // Bir işin hatası diğerlerini durdurmaz, bir sonraki çalışmada kaldığı yerden devam eder
+                log.error("Maintenance job '{}' failed", job.name, e);
+            }
+        }
+    }
+
+    /**
+     * İşi parça parça sonuna kadar çalıştırır
+     * @return silinen satır sayısı (son DELETE'in etkilediği, ör. kullanıcılar)
+     * @throws IllegalArgumentException iş adı bilinmiyorsa
+     */
+    public long purge(String jobName) {
+        PurgeJob job = jobs.stream().filter(j -> j.name.equals(jobName)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown maintenance job: " + jobName));
+        Counter deletedCounter = meterRegistry.counter("maintenance.purge.deleted", "job", job.name);
+        Timer chunkTimer = meterRegistry.timer("maintenance.purge.chunk", "job", job.name);
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(job.age));
+
+        long started = System.nanoTime();
+        long afterId = 0;
+        long deleted = 0;
+        int chunks = 0;
+        while (true) {
+            long chunkStarted = System.nanoTime();
+            long lastId = afterId;
+            ChunkResult result = transactionTemplate.execute(status -> deleteChunk(job, lastId, cutoff));
+            chunkTimer.record(Duration.ofNanos(System.nanoTime() - chunkStarted));
+            if (result.ids.isEmpty()) {
+                break;
+            }
+            chunks++;
+            deleted += result.deleted;
+            deletedCounter.increment(result.deleted);
+            afterId = result.ids.get(result.ids.size() - 1);
+            log.debug("Maintenance job '{}': {} rows deleted so far (last id {})", job.name, deleted, afterId);
+            if (result.ids.size() < job.chunkSize || !pause()) {
+                break;
+            }
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        if (deleted > 0) {
+            log.info("Maintenance job '{}' deleted {} rows in {} chunks, {} ms ({} rows/s)",
+                    job.name, deleted, chunks, millis, deleted * 1000 / millis);
+        }
+        return deleted;
+    }
+
+    private ChunkResult deleteChunk(PurgeJob job, long afterId, Timestamp cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(job.selectSql, new MapSqlParameterSource()
+                .addValue("afterId", afterId)
+                .addValue("cutoff", cutoff)
+                .addValue("limit", job.chunkSize), Long.class);
+        int deleted = 0;
+        if (!ids.isEmpty()) {
+            for (String sql : job.deleteSqls) {
+                deleted = jdbcTemplate.update(sql, new MapSqlParameterSource("ids", ids));
+            }
+        }
+        return new ChunkResult(ids, deleted);
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            // Kapanış: iş bir sonraki çalışmada devam eder
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class PurgeJob {
+        private final String name;
+        private final boolean enabled;
+        private final Duration age;
+        private final int chunkSize;
+        private final String selectSql;       // :afterId, :cutoff, :limit -> id'ler (artan sırada)
+        private final List<String> deleteSqls; // :ids, sırayla (bağımlı tablolar önce)
+
+        private PurgeJob(String name, boolean enabled, Duration age, int chunkSize, String selectSql,
+                         List<String> deleteSqls) {
+            this.name = name;
+            this.enabled = enabled;
+            this.age = age;
+            this.chunkSize = chunkSize;
+            this.selectSql = selectSql;
+            this.deleteSqls = deleteSqls;
+        }
+    }
+
+    private static final class ChunkResult {
+        private final List<Long> ids;
+        private final int deleted;
+
+        private ChunkResult(List<Long> ids, int deleted) {
+            this.ids = ids;
+            this.deleted = deleted;
+        }
+    }
+}
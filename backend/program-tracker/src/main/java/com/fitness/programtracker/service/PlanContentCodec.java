@@ -0,0 +1,89 @@
+package com.fitness.programtracker.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Plan metni <-> blob dönüşümü: SHA-256 key ve deflate sıkıştırma
+ * Sıkıştırılmış hali ham UTF-8'den küçük değilse ham hali saklanır
+ * (PlanContentStore ve SchemaMigrationRunner'daki taşıma kullanır)
+ */
+public final class PlanContentCodec {
+
+    private PlanContentCodec() {
+    }
+
+    public static String hash(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static Encoded encode(String content) {
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length);
+            byte[] buffer = new byte[Math.max(64, raw.length)];
+            while (!deflater.finished() && out.size() < raw.length) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            if (deflater.finished() && out.size() < raw.length) {
+                return new Encoded(out.toByteArray(), true, raw.length);
+            }
+            return new Encoded(raw, false, raw.length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decode(byte[] data, boolean compressed, int rawLength) {
+        if (!compressed) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new IllegalStateException("Plan content blob is truncated");
+            }
+            return new String(raw, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Plan content blob is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Encoded {
+        private final byte[] data;
+        private final boolean compressed;
+        private final int rawLength;
+    }
+}
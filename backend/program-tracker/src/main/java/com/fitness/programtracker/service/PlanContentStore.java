@@ -0,0 +1,104 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.entity.PlanContentBlob;
+import com.fitness.programtracker.repository.PlanContentBlobRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Haftalık plan metinleri için içerik adresli depo (plan_content_blobs)
+ * - Plan satırları metni değil, metnin SHA-256'sını (content_hash) tutar; aynı metin bir kez saklanır
+ * - Blob'lar deflate ile sıkıştırılır ve hiç değişmez, bu yüzden çözülmüş metinler bellekte
+ *   sınırlı bir LRU'da (app.plan-content.cache-size) invalidation gerekmeden tutulur
+ * - Eşzamanlı iki yazma aynı blob'u eklerse ON CONFLICT DO NOTHING ile biri sessizce atlanır
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlanContentStore {
+
+    public static final String INSERT_BLOB_SQL =
+            "INSERT INTO plan_content_blobs (hash, data, compressed, raw_length) VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private final PlanContentBlobRepository blobRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.plan-content.cache-size:10000}")
+    private long cacheSize;
+
+    private Cache<String, String> contents;
+
+    @PostConstruct
+    void createCache() {
+        contents = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    /**
+     * Metinlerin blob'larını (yoksa) yazar
+     * @return metin -> hash (null metinler dahil edilmez)
+     */
+    public Map<String, String> store(Collection<String> texts) {
+        Map<String, String> hashes = new HashMap<>();
+        for (String text : texts) {
+            if (text != null) {
+                hashes.computeIfAbsent(text, PlanContentCodec::hash);
+            }
+        }
+        if (hashes.isEmpty()) {
+            return hashes;
+        }
+
+        Set<String> existing = blobRepository.findExistingHashes(hashes.values());
+        List<Object[]> missing = new ArrayList<>();
+        hashes.forEach((text, hash) -> {
+            if (!existing.contains(hash)) {
+                PlanContentCodec.Encoded encoded = PlanContentCodec.encode(text);
+                missing.add(new Object[]{hash, encoded.getData(), encoded.isCompressed(), encoded.getRawLength()});
+            }
+            contents.put(hash, text);
+        });
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BLOB_SQL, missing);
+        }
+        return hashes;
+    }
+
+    /**
+     * Hash'lerin metinlerini döner - LRU'da olmayanlar tek sorguda yüklenir
+     * Blob'u bulunamayan hash sonuçta yer almaz
+     */
+    public Map<String, String> resolve(Collection<String> hashes) {
+        Set<String> keys = hashes.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> resolved = contents.getAll(keys, this::load);
+        if (resolved.size() < keys.size()) {
+            log.warn("{} plan content blobs are missing", keys.size() - resolved.size());
+        }
+        return resolved;
+    }
+
+    private Map<String, String> load(Set<? extends String> hashes) {
+        Map<String, String> loaded = new HashMap<>();
+        for (PlanContentBlob blob : blobRepository.findAllById(List.copyOf(hashes))) {
+            loaded.put(blob.getHash(), PlanContentCodec.decode(blob.getData(), blob.isCompressed(), blob.getRawLength()));
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,219 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.dto.ProgramBulkDTO;
+import com.fitness.programtracker.dto.ProgramRequestDTO;
+import com.fitness.programtracker.entity.Program;
+import com.fitness.programtracker.entity.User;
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import com.fitness.programtracker.mapper.ProgramMapper;
+import com.fitness.programtracker.repository.ProgramOwnerRow;
+import com.fitness.programtracker.repository.ProgramRepository;
+import com.fitness.programtracker.repository.WeeklyPlanEntryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Toplu program oluşturma / güncelleme / silme - SADECE AUTHENTICATED USER'LAR 🔒
+ * - Tüm istek tek transaction; current user bir kez, sahiplik kontrolü küme halinde yapılır
+ * - Id'ler sequence'tan pooled optimizer ile bloklar halinde alınır, INSERT/UPDATE'ler JDBC batch olarak gider
+ * - Persistence context CHUNK_SIZE öğede bir flush + clear edilir, binlerce öğede bellek büyümez
+ * - Her öğe Bean Validation ile ayrı doğrulanır, sonuç istekteki index'iyle raporlanır
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ProgramBulkService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final ProgramRepository programRepository;
+    private final WeeklyPlanEntryRepository weeklyPlanEntryRepository;
+    private final ProgramMapper programMapper;
+    private final ProgramService programService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    @Value("${app.programs.bulk.max-items:10000}")
+    private int maxItems;
+
+    /**
+     * Programları current user adına oluşturur
+     */
+    public ProgramBulkDTO.Result createPrograms(List<ProgramRequestDTO> requests) {
+        checkSize(requests.size());
+        User currentUser = programService.getCurrentUser();
+
+        List<ProgramBulkDTO.ItemResult> results = new ArrayList<>(requests.size());
+        int pending = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            ProgramRequestDTO request = requests.get(i);
+            List<String> errors = validate(request);
+            if (!errors.isEmpty()) {
+                results.add(new ProgramBulkDTO.ItemResult(i, null, ProgramBulkDTO.Status.INVALID, errors));
+                continue;
+            }
+            Program program = programMapper.toEntity(request);
+            program.setCreatedBy(currentUser);
+            Program saved = programRepository.save(program);   // id sequence bloğundan, INSERT flush'ta
+            eventPublisher.publishEvent(ProgramChangedEvent.created(saved.getId()));
+            results.add(new ProgramBulkDTO.ItemResult(i, saved.getId(), ProgramBulkDTO.Status.CREATED));
+            if (++pending == CHUNK_SIZE) {
+                flushAndClear();
+                pending = 0;
+            }
+        }
+        return ProgramBulkDTO.Result.of(results);
+    }
+
+    /**
+     * Programları günceller - öğe başına SADECE SAHİBİ VEYA ADMIN 🔒
+     */
+    public ProgramBulkDTO.Result updatePrograms(List<ProgramBulkDTO.UpdateItem> requests) {
+        checkSize(requests.size());
+        User currentUser = programService.getCurrentUser();
+
+        ProgramBulkDTO.ItemResult[] results = new ProgramBulkDTO.ItemResult[requests.size()];
+        List<Integer> valid = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            ProgramBulkDTO.UpdateItem request = requests.get(i);
+            List<String> errors = validate(request);
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                Long id = request == null ? null : request.getId();
+                results[i] = new ProgramBulkDTO.ItemResult(i, id, ProgramBulkDTO.Status.INVALID, errors);
+            }
+        }
+
+        // Geçerli öğeler chunk chunk: programlar tek sorguda yüklenir, değişiklikler batch UPDATE ile yazılır
+        for (int from = 0; from < valid.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + CHUNK_SIZE, valid.size()));
+            Set<Long> ids = chunk.stream().map(i -> requests.get(i).getId()).collect(Collectors.toSet());
+            Map<Long, Program> programs = programRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Program::getId, Function.identity()));
+            Set<Long> updated = new LinkedHashSet<>();
+
+            for (int i : chunk) {
+                ProgramBulkDTO.UpdateItem request = requests.get(i);
+                Program program = programs.get(request.getId());
+                if (program == null) {
+                    results[i] = new ProgramBulkDTO.ItemResult(i, request.getId(), ProgramBulkDTO.Status.NOT_FOUND);
+                } else if (!ProgramService.canModify(ownerIdOf(program), currentUser)) {
+                    results[i] = new ProgramBulkDTO.ItemResult(i, request.getId(), ProgramBulkDTO.Status.FORBIDDEN);
+                } else {
+                    applyChanges(program, request);
+                    updated.add(program.getId());
+                    results[i] = new ProgramBulkDTO.ItemResult(i, request.getId(), ProgramBulkDTO.Status.UPDATED);
+                }
+            }
+            flushAndClear();
+            updated.forEach(id -> eventPublisher.publishEvent(ProgramChangedEvent.updated(id)));
+        }
+        return ProgramBulkDTO.Result.of(List.of(results));
+    }
+
+    /**
+     * Programları siler - öğe başına SADECE SAHİBİ VEYA ADMIN 🔒
+     * Sahiplik sadece (id, user_id) okunarak kontrol edilir; izinli programlar ve
+     * haftalık plan satırları chunk başına tek DELETE ile silinir
+     */
+    public ProgramBulkDTO.Result deletePrograms(List<Long> ids) {
+        checkSize(ids.size());
+        User currentUser = programService.getCurrentUser();
+
+        ProgramBulkDTO.ItemResult[] results = new ProgramBulkDTO.ItemResult[ids.size()];
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, ids.size());
+            Set<Long> chunkIds = ids.subList(from, to).stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            Map<Long, ProgramOwnerRow> owners = new HashMap<>();
+            if (!chunkIds.isEmpty()) {
+                programRepository.findOwnersByIdIn(chunkIds).forEach(row -> owners.put(row.getId(), row));
+            }
+
+            Set<Long> deletable = new LinkedHashSet<>();
+            for (int i = from; i < to; i++) {
+                Long id = ids.get(i);
+                ProgramOwnerRow owner = id == null ? null : owners.get(id);
+                if (id == null) {
+                    results[i] = new ProgramBulkDTO.ItemResult(i, null, ProgramBulkDTO.Status.INVALID,
+                            List.of("Program id is required"));
+                } else if (owner == null) {
+                    results[i] = new ProgramBulkDTO.ItemResult(i, id, ProgramBulkDTO.Status.NOT_FOUND);
+                } else if (!ProgramService.canModify(owner.getOwnerId(), currentUser)) {
+                    results[i] = new ProgramBulkDTO.ItemResult(i, id, ProgramBulkDTO.Status.FORBIDDEN);
+                } else {
+                    deletable.add(id);
+                    results[i] = new ProgramBulkDTO.ItemResult(i, id, ProgramBulkDTO.Status.DELETED);
+                }
+            }
+
+            if (!deletable.isEmpty()) {
+                weeklyPlanEntryRepository.deleteAllByProgramIdIn(deletable);
+                programRepository.deleteAllByIdIn(deletable);
+                deletable.forEach(id -> eventPublisher.publishEvent(ProgramChangedEvent.deleted(id)));
+            }
+        }
+        return ProgramBulkDTO.Result.of(List.of(results));
+    }
+
+    private void applyChanges(Program program, ProgramRequestDTO request) {
+        Program updatedData = programMapper.toEntity(request);
+        program.setTitle(updatedData.getTitle());
+        program.setDescription(updatedData.getDescription());
+        program.setLevels(updatedData.getLevels());
+        program.setGoals(updatedData.getGoals());
+        program.setEquipment(updatedData.getEquipment());
+        program.setProgramLength(updatedData.getProgramLength());
+        program.setTimePerWorkout(updatedData.getTimePerWorkout());
+        program.setTotalExercises(updatedData.getTotalExercises());
+    }
+
+    // Lazy createdBy proxy'sinden id okumak users sorgusu tetiklemez
+    private Long ownerIdOf(Program program) {
+        return program.getCreatedBy() == null ? null : program.getCreatedBy().getId();
+    }
+
+    private List<String> validate(Object request) {
+        if (request == null) {
+            return List.of("Item must not be null");
+        }
+        Set<? extends ConstraintViolation<?>> violations = validator.validate(request);
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void checkSize(int size) {
+        if (size == 0) {
+            throw new IllegalArgumentException("At least one item must be specified");
+        }
+        if (size > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " items can be processed in one request");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.config.CacheConfig;
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Program değiştiğinde sadece o programın cache girdilerini siler (katalog yeniden yüklendiyse hepsini)
+ * Commit sonrasında çalışır; böylece eş zamanlı bir okuma cache'i eski veriyle tekrar dolduramaz
+ */
+@Component
+@RequiredArgsConstructor
+public class ProgramCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProgramChanged(ProgramChangedEvent event) {
+        if (event.isReload()) {
+            clear(CacheConfig.PROGRAMS_CACHE);
+            clear(CacheConfig.PROGRAM_VERSIONS_CACHE);
+            clear(CacheConfig.WEEKLY_PLANS_CACHE);
+            return;
+        }
+        evict(CacheConfig.PROGRAMS_CACHE, event.getProgramId());
+        evict(CacheConfig.PROGRAM_VERSIONS_CACHE, event.getProgramId());
+        evict(CacheConfig.WEEKLY_PLANS_CACHE, event.getProgramId());
+    }
+
+    private void evict(String cacheName, Long programId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(programId);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.dto.ProgramDetailDTO;
+import com.fitness.programtracker.dto.ProgramResponseDTO;
+import com.fitness.programtracker.dto.SimilarProgramDTO;
+import com.fitness.programtracker.dto.WeeklyPlanDTO;
+import com.fitness.programtracker.entity.User;
+import com.fitness.programtracker.repository.CreatorSummaryRow;
+import com.fitness.programtracker.repository.ProgramRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Program detay sayfası (GET /api/programs/{id}/full)
+ * - Program, sahip özeti ve haftalık plan ayrı thread'lerde aynı anda yüklenir; benzer programlar
+ *   bellekten olduğu için istek thread'inde hesaplanır. Toplam süre ≈ en yavaş parça
+ * - Alt sorgular kendi sınırlı havuzunda çalışır (kuyruk dolarsa istek thread'i kendisi çalıştırır)
+ * - Tüm parçalar tek bir süre sınırını paylaşır: program zamanında gelmezse istek başarısız olur,
+ *   diğer parçalar gelmezse null bırakılıp warnings'e yazılır
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProgramDetailService {
+
+    private final ProgramService programService;
+    private final WeeklyPlanService weeklyPlanService;
+    private final ProgramRepository programRepository;
+
+    @Value("${app.program-detail.timeout-ms:2000}")
+    private long timeoutMillis;
+
+    // Havuz boyutu DB bağlantı havuzundan küçük tutulmalı
+    @Value("${app.program-detail.threads:4}")
+    private int threads;
+
+    @Value("${app.program-detail.queue-size:100}")
+    private int queueSize;
+
+    @Value("${app.program-detail.similar-count:5}")
+    private int similarCount;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void startExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "program-detail-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @throws RuntimeException program bulunamazsa
+     * @throws IllegalStateException program süre sınırı içinde yüklenemezse
+     */
+    public ProgramDetailDTO getProgramDetail(Long id) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        CompletableFuture<ProgramResponseDTO> program =
+                CompletableFuture.supplyAsync(() -> programService.getProgramById(id), executor);
+        CompletableFuture<Optional<CreatorSummaryRow>> creator =
+                CompletableFuture.supplyAsync(() -> programRepository.findCreatorSummaryByProgramId(id), executor);
+        CompletableFuture<WeeklyPlanDTO> weeklyPlan =
+                CompletableFuture.supplyAsync(() -> weeklyPlanService.getWeeklyPlan(id), executor);
+
+        ProgramDetailDTO detail = new ProgramDetailDTO();
+        detail.setSimilar(similarPrograms(id, detail));
+        detail.setProgram(required(program, deadline, creator, weeklyPlan));
+
+        Optional<CreatorSummaryRow> creatorRow = optional(creator, "creator", deadline, detail);
+        if (creatorRow != null && creatorRow.isPresent()) {
+            CreatorSummaryRow row = creatorRow.get();
+            detail.setCreator(new ProgramDetailDTO.Creator(row.getId(), row.getUsername(),
+                    User.fullName(row.getFirstName(), row.getLastName(), row.getUsername()), row.getProgramCount()));
+        }
+        detail.setWeeklyPlan(optional(weeklyPlan, "weeklyPlan", deadline, detail));
+        return detail;
+    }
+
+    private List<SimilarProgramDTO> similarPrograms(Long id, ProgramDetailDTO detail) {
+        try {
+            return programService.getSimilarPrograms(id, similarCount);
+        } catch (RuntimeException e) {
+            // Index kapalı / kuruluyor veya program index'e henüz girmemiş
+            detail.getWarnings().add("similar: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Program olmadan sayfa anlamsız: hata veya zaman aşımı isteği bitirir, diğer parçalar iptal edilir
+    private ProgramResponseDTO required(CompletableFuture<ProgramResponseDTO> program, long deadline,
+                                        CompletableFuture<?>... others) {
+        try {
+            return program.get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            program.cancel(true);
+            cancelAll(others);
+            throw new IllegalStateException("Program detail timed out");
+        } catch (ExecutionException e) {
+            cancelAll(others);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Program could not be loaded", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll(others);
+            throw new IllegalStateException("Program detail interrupted");
+        }
+    }
+
+    private <T> T optional(CompletableFuture<T> part, String name, long deadline, ProgramDetailDTO detail) {
+        try {
+            return part.get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            part.cancel(true);
+            detail.getWarnings().add(name + ": timed out");
+        } catch (ExecutionException e) {
+            log.warn("Program detail part '{}' failed: {}", name, e.getCause().getMessage());
+            detail.getWarnings().add(name + ": failed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            detail.getWarnings().add(name + ": interrupted");
+        }
+        return null;
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private static void cancelAll(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
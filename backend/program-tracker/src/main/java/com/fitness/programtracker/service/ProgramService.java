@@ -1,21 +1,50 @@
 package com.fitness.programtracker.service;
 
+import com.fitness.programtracker.config.CacheConfig;
+import com.fitness.programtracker.dto.CursorPageDTO;
+import com.fitness.programtracker.dto.ProgramFacetsDTO;
+import com.fitness.programtracker.dto.ProgramField;
+import com.fitness.programtracker.dto.ProgramLookupDTO;
 import com.fitness.programtracker.dto.ProgramRequestDTO;
 import com.fitness.programtracker.dto.ProgramResponseDTO;
+import com.fitness.programtracker.dto.ProgramSearchCriteria;
+import com.fitness.programtracker.dto.ProgramSuggestionDTO;
+import com.fitness.programtracker.dto.SimilarProgramDTO;
 import com.fitness.programtracker.entity.Program;
 import com.fitness.programtracker.entity.User;
+import com.fitness.programtracker.event.ProgramChangedEvent;
 import com.fitness.programtracker.mapper.ProgramMapper;
+import com.fitness.programtracker.pagination.ProgramCursor;
 import com.fitness.programtracker.repository.ProgramRepository;
+import com.fitness.programtracker.repository.ProgramTextSearchRepository;
 import com.fitness.programtracker.repository.UserRepository;
+import com.fitness.programtracker.search.IndexGeneration;
+import com.fitness.programtracker.search.IndexUnavailableException;
+import com.fitness.programtracker.search.ProgramCatalogIndex;
+import com.fitness.programtracker.search.SimilarProgramsIndex;
+import com.fitness.programtracker.search.TitleSuggestIndex;
 import com.fitness.programtracker.specification.ProgramSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /*
@@ -66,50 +95,329 @@ public class ProgramService {
     private final ProgramRepository programRepository;
     private final ProgramMapper programMapper;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    // Opsiyonel bellek içi katalog index'i (app.catalog-index.enabled)
+    private final Optional<ProgramCatalogIndex> catalogIndex;
+    // Önceden hesaplanmış benzer program listeleri (app.similar-programs.enabled)
+    private final Optional<SimilarProgramsIndex> similarProgramsIndex;
+    // Başlık autocomplete index'i
+    private final TitleSuggestIndex titleSuggestIndex;
+
+    // Listeleme sorgularında program ile birlikte yüklenecek ilişkiler
+    private static final List<String> CREATOR_FETCH_PLAN = List.of("createdBy");
+
+    // Sayfa boyutu sınırları - tüm tabloyu tek seferde yüklememek için
+    @Value("${app.programs.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.programs.page.max-size:200}")
+    private int maxPageSize;
 
     /**
-     * Tüm programları getirir
+     * Programları id sırasına göre sayfa sayfa getirir (keyset pagination)
+     * @param cursor önceki sayfanın nextCursor değeri, ilk sayfa için null
+     * @param size istenen sayfa boyutu, max-size ile sınırlanır
      */
-    public List<ProgramResponseDTO> getAllPrograms() {
-        return programRepository.findAll().stream()
-                .map(programMapper::toDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<ProgramResponseDTO> getAllPrograms(String cursor, Integer size) {
+        return findPage(ProgramSpecifications.all(), ProgramCursor.decode(cursor), resolvePageSize(size));
+    }
+
+    /**
+     * getAllPrograms'ın sparse fieldset karşılığı (?fields=title,levels veya ?fields=summary)
+     * Sadece istenen alanların kolonları okunur; description ve users join'i istenmedikçe sorguya girmez
+     * @throws IllegalArgumentException bilinmeyen alan adı varsa
+     */
+    public CursorPageDTO<Map<String, Object>> getAllPrograms(String cursor, Integer size, String fields) {
+        return findFieldsPage(ProgramSpecifications.all(), ProgramCursor.decode(cursor), resolvePageSize(size),
+                ProgramField.parse(fields));
     }
 
     /**
-     * ID'ye göre program getirir
+     * Tüm kataloğu id sırasıyla chunk'lar halinde gezer (katalog snapshot üretimi için)
+     * Transaction açılmaz: her chunk kendi kısa sorgusunda yüklenir, persistence context büyümez
+     * @param chunkSize chunk başına program sayısı (max-size sınırı uygulanmaz)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachCatalogChunk(int chunkSize, Consumer<List<ProgramResponseDTO>> consumer) {
+        Long afterId = null;
+        do {
+            CursorPageDTO<ProgramResponseDTO> page = findPage(ProgramSpecifications.all(), afterId, chunkSize);
+            consumer.accept(page.getItems());
+            afterId = ProgramCursor.decode(page.getNextCursor());
+        } while (afterId != null);
+    }
+
+    /**
+     * ID'ye göre program getirir - sonuç "programs" cache'inde tutulur
      * @throws RuntimeException program bulunamazsa
      */
+    @Cacheable(cacheNames = CacheConfig.PROGRAMS_CACHE, key = "#id")
     public ProgramResponseDTO getProgramById(Long id) {
-        Program program = programRepository.findById(id)
+        Program program = programRepository.findWithCreatorById(id)
                 .orElseThrow(() -> new RuntimeException("Program not found with id: " + id));
         return programMapper.toDTO(program);
     }
 
+    /**
+     * Birden fazla programı id listesiyle getirir (favoriler, karşılaştırma ekranları)
+     * - Tüm programlar creator'larıyla birlikte tek sorguda yüklenir
+     * - Sonuç istenen sırayla döner, bulunamayan id'ler not-found olarak işaretlenir
+     * @throws IllegalArgumentException id sayısı max-size'ı aşarsa
+     */
+    public List<ProgramLookupDTO> getProgramsByIds(List<Long> ids) {
+        if (ids.size() > maxPageSize) {
+            throw new IllegalArgumentException("At most " + maxPageSize + " ids can be requested at once");
+        }
+        Map<Long, ProgramResponseDTO> byId = programRepository.findAllWithCreatorByIdIn(new LinkedHashSet<>(ids)).stream()
+                .map(programMapper::toDTO)
+                .collect(Collectors.toMap(ProgramResponseDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(id -> byId.containsKey(id) ? ProgramLookupDTO.found(byId.get(id)) : ProgramLookupDTO.notFound(id))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Programın son düzenleme zamanı (ETag / Last-Modified için)
+     * Sadece tek kolon okunur ve "programVersions" cache'inde tutulur; program yoksa boş döner
+     */
+    @Cacheable(cacheNames = CacheConfig.PROGRAM_VERSIONS_CACHE, key = "#id")
+    public Optional<LocalDateTime> getProgramLastModified(Long id) {
+        return programRepository.findLastModifiedById(id);
+    }
+
     /**
      * Dinamik filtreleme ile program arama
-     * Specification pattern kullanarak esnek arama sağlar
+     * - Katalog index'i açık ve hazırsa eşleşen id'ler bitmap index'ten alınır, DB'den sadece o sayfa yüklenir
+     * - Aksi halde Specification pattern ile DB üzerinde filtrelenir
      */
-    public List<ProgramResponseDTO> searchPrograms(String equipment, String level, 
-                                      String goal, Double maxDuration) {
-        Specification<Program> spec = Specification.where(null);
+    public CursorPageDTO<ProgramResponseDTO> searchPrograms(ProgramSearchCriteria criteria,
+                                                           String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        if (criteria.hasText()) {
+            return searchByText(criteria, cursor, pageSize, ids -> findAllWithCreatorInOrder(ids).stream()
+                    .map(programMapper::toDTO)
+                    .collect(Collectors.toList()));
+        }
+        Long afterId = ProgramCursor.decode(cursor);
 
-        if (equipment != null) {
-            spec = spec.and(ProgramSpecifications.hasEquipment(equipment));
+        Optional<ProgramCatalogIndex> index = catalogIndex.filter(ProgramCatalogIndex::isReady);
+        if (index.isPresent()) {
+            List<Long> ids = index.get().search(criteria, afterId, pageSize + 1);
+            return toPage(findAllWithCreatorInOrder(ids), pageSize);
         }
-        if (level != null) {
-            spec = spec.and(ProgramSpecifications.hasLevel(level));
+
+        return findPage(toSpecification(criteria), afterId, pageSize);
+    }
+
+    /**
+     * searchPrograms'ın sparse fieldset karşılığı - aynı arama yolları, sayfadaki satırlar sadece istenen alanlarla okunur
+     * @throws IllegalArgumentException bilinmeyen alan adı varsa
+     */
+    public CursorPageDTO<Map<String, Object>> searchPrograms(ProgramSearchCriteria criteria, String cursor,
+                                                            Integer size, String fields) {
+        Set<ProgramField> selected = ProgramField.parse(fields);
+        int pageSize = resolvePageSize(size);
+        if (criteria.hasText()) {
+            return searchByText(criteria, cursor, pageSize, ids -> findFieldsInOrder(ids, selected));
         }
-        if (goal != null) {
-            spec = spec.and(ProgramSpecifications.hasGoal(goal));
+        Long afterId = ProgramCursor.decode(cursor);
+
+        Optional<ProgramCatalogIndex> index = catalogIndex.filter(ProgramCatalogIndex::isReady);
+        if (index.isPresent()) {
+            List<Long> ids = index.get().search(criteria, afterId, pageSize + 1);
+            return toFieldsPage(findFieldsInOrder(ids, selected), pageSize);
         }
-        if (maxDuration != null) {
-            spec = spec.and(ProgramSpecifications.maxDuration(maxDuration));
+
+        return findFieldsPage(toSpecification(criteria), afterId, pageSize, selected);
+    }
+
+    /**
+     * searchPrograms ile aynı filtreler için facet sayımları (level / goal / equipment)
+     * - Katalog index'i hazırsa ve metin sorgusu yoksa bitmap cardinality ile bellekte hesaplanır
+     * - Aksi halde tek aggregate SQL sorgusu; Program entity'leri yüklenmez
+     */
+    public ProgramFacetsDTO getFacets(ProgramSearchCriteria criteria) {
+        if (!criteria.hasText()) {
+            Optional<ProgramCatalogIndex> index = catalogIndex.filter(ProgramCatalogIndex::isReady);
+            if (index.isPresent()) {
+                return index.get().facets(criteria);
+            }
         }
+        return programRepository.countFacets(criteria);
+    }
 
-        return programRepository.findAll(spec).stream()
+    /**
+     * Programa en benzer k program - komşu listeleri bellekte hazır, DB'ye gidilmez
+     * @param k istenen komşu sayısı (null = max-k)
+     * @throws IllegalArgumentException k 1..max-k aralığında değilse
+     * @throws IndexUnavailableException index kapalıysa veya henüz kurulmadıysa
+     */
+    public List<SimilarProgramDTO> getSimilarPrograms(Long id, Integer k) {
+        SimilarProgramsIndex index = similarProgramsIndex
+                .orElseThrow(() -> new IndexUnavailableException("Similar programs are disabled"));
+        int limit = k == null ? index.getMaxK() : k;
+        if (limit < 1 || limit > index.getMaxK()) {
+            throw new IllegalArgumentException("k must be between 1 and " + index.getMaxK());
+        }
+        return index.findSimilar(id, limit)
+                .orElseThrow(() -> new RuntimeException("Program not found with id: " + id));
+    }
+
+    // Benzer programlar cevabını üreten index'in hali (ETag için) - index kapalıysa NONE
+    public IndexGeneration getSimilarProgramsGeneration() {
+        return similarProgramsIndex.map(SimilarProgramsIndex::getGeneration).orElse(IndexGeneration.NONE);
+    }
+
+    public IndexGeneration getTitleSuggestGeneration() {
+        return titleSuggestIndex.getGeneration();
+    }
+
+    /**
+     * Yazılan prefix için başlık önerileri (typeahead) - bellek içi prefix ağacından, DB'ye gidilmez
+     * @param limit öneri sayısı (null = max-results)
+     * @throws IllegalArgumentException limit 1..max-results aralığında değilse
+     */
+    public List<ProgramSuggestionDTO> suggestTitles(String prefix, Integer limit) {
+        int maxResults = titleSuggestIndex.getMaxResults();
+        int resolved = limit == null ? maxResults : limit;
+        if (resolved < 1 || resolved > maxResults) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxResults);
+        }
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return titleSuggestIndex.suggest(prefix.stripLeading(), resolved);
+    }
+
+    /**
+     * Full-text arama: alaka skoruna göre sıralı (rank DESC, id) keyset sayfalama
+     * Eşleşen id'ler tsvector/trigram index'lerinden, sayfadaki programlar loader ile tek sorguda yüklenir
+     */
+    private <T> CursorPageDTO<T> searchByText(ProgramSearchCriteria criteria, String cursor, int pageSize,
+                                              Function<List<Long>, List<T>> loader) {
+        ProgramCursor.Ranked after = ProgramCursor.decodeRanked(cursor);
+        List<ProgramTextSearchRepository.RankedId> ranked = programRepository.searchByText(criteria,
+                after == null ? null : after.getRank(),
+                after == null ? null : after.getId(),
+                pageSize + 1);
+
+        boolean hasMore = ranked.size() > pageSize;
+        List<ProgramTextSearchRepository.RankedId> pageIds = hasMore ? ranked.subList(0, pageSize) : ranked;
+        List<Long> ids = pageIds.stream()
+                .map(ProgramTextSearchRepository.RankedId::getId)
+                .collect(Collectors.toList());
+
+        List<T> items = loader.apply(ids);
+        String nextCursor = null;
+        if (hasMore) {
+            ProgramTextSearchRepository.RankedId last = pageIds.get(pageIds.size() - 1);
+            nextCursor = ProgramCursor.encodeRanked(last.getRank(), last.getId());
+        }
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    private Specification<Program> toSpecification(ProgramSearchCriteria criteria) {
+        Specification<Program> spec = ProgramSpecifications.all();
+
+        if (criteria.getEquipment() != null) {
+            spec = spec.and(ProgramSpecifications.hasEquipment(criteria.getEquipment()));
+        }
+        if (criteria.getLevel() != null) {
+            spec = spec.and(ProgramSpecifications.hasLevel(criteria.getLevel()));
+        }
+        if (criteria.getGoal() != null) {
+            spec = spec.and(ProgramSpecifications.hasGoal(criteria.getGoal()));
+        }
+        if (criteria.getMaxDuration() != null) {
+            spec = spec.and(ProgramSpecifications.maxDuration(criteria.getMaxDuration()));
+        }
+        if (criteria.getMaxLength() != null) {
+            spec = spec.and(ProgramSpecifications.maxProgramLength(criteria.getMaxLength()));
+        }
+        return spec;
+    }
+
+    /**
+     * Specification'a uyan programlardan bir sayfa getirir
+     * - OFFSET yerine "id > afterId" ile seek yapılır, derin sayfalar da aynı hızda kalır
+     * - pageSize + 1 satır çekilir, fazladan satır varsa bir sonraki sayfa var demektir
+     * - createdBy aynı sorguda join edilir; mapper satır başına ayrı users sorgusu atmaz (N+1 yok)
+     */
+    private CursorPageDTO<ProgramResponseDTO> findPage(Specification<Program> spec, Long afterId, int pageSize) {
+        if (afterId != null) {
+            spec = spec.and(ProgramSpecifications.idGreaterThan(afterId));
+        }
+
+        List<Program> rows = programRepository.findBy(spec, query -> query
+                .sortBy(Sort.by(Sort.Direction.ASC, "id"))
+                .project(CREATOR_FETCH_PLAN)
+                .limit(pageSize + 1)
+                .all());
+        return toPage(rows, pageSize);
+    }
+
+    // id sırasıyla gelen (pageSize + 1) satırı sayfaya çevir
+    private CursorPageDTO<ProgramResponseDTO> toPage(List<Program> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Program> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore
+                ? ProgramCursor.encode(pageRows.get(pageRows.size() - 1).getId())
+                : null;
+
+        List<ProgramResponseDTO> items = pageRows.stream()
                 .map(programMapper::toDTO)
                 .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    /**
+     * findPage'in sparse fieldset karşılığı - aynı keyset koşulu, entity yerine alan map'leri
+     */
+    private CursorPageDTO<Map<String, Object>> findFieldsPage(Specification<Program> spec, Long afterId, int pageSize,
+                                                              Set<ProgramField> fields) {
+        if (afterId != null) {
+            spec = spec.and(ProgramSpecifications.idGreaterThan(afterId));
+        }
+        return toFieldsPage(programRepository.findFields(spec, fields, pageSize + 1), pageSize);
+    }
+
+    private CursorPageDTO<Map<String, Object>> toFieldsPage(List<Map<String, Object>> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Map<String, Object>> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore
+                ? ProgramCursor.encode((Long) pageRows.get(pageRows.size() - 1).get(ProgramField.ID.getName()))
+                : null;
+        return new CursorPageDTO<>(pageRows, nextCursor);
+    }
+
+    // id listesinin istenen alanlarını tek sorguda oku, istenen sırayı koru
+    private List<Map<String, Object>> findFieldsInOrder(List<Long> ids, Set<ProgramField> fields) {
+        Map<Long, Map<String, Object>> byId = programRepository.findFieldsByIdIn(ids, fields).stream()
+                .collect(Collectors.toMap(row -> (Long) row.get(ProgramField.ID.getName()), Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // id listesini tek sorguda (creator dahil) yükle, istenen sırayı koru
+    private List<Program> findAllWithCreatorInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Program> byId = programRepository.findAllWithCreatorByIdIn(ids).stream()
+                .collect(Collectors.toMap(Program::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
     }
 
     /**
@@ -129,64 +437,59 @@ public class ProgramService {
         
         // Kaydet ve döndür
         Program savedProgram = programRepository.save(program);
+        eventPublisher.publishEvent(ProgramChangedEvent.created(savedProgram.getId()));
         return programMapper.toDTO(savedProgram);
     }
 
     /**
      * Mevcut programı günceller - SADECE SAHİBİ VEYA ADMIN 🔒
+     * Sahiplik kontrolü UPDATE'in WHERE koşulunda: başarılı istek tek ifade (program önceden okunmaz)
      * @throws RuntimeException program bulunamazsa veya yetki yoksa
      */
     @Transactional
     public ProgramResponseDTO updateProgram(Long id, ProgramRequestDTO requestDTO) {
         User currentUser = getCurrentUser();
         
-        Program existingProgram = programRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Program not found with id: " + id));
-        
-        // OWNERSHIP KONTROLÜ 🔒
-        if (!canModifyProgram(existingProgram, currentUser)) {
-            throw new RuntimeException("You don't have permission to modify this program. Only the owner or admin can edit programs.");
-        }
-        
-        // Entity güncellemesi için mapper kullan
         Program updatedData = programMapper.toEntity(requestDTO);
-        existingProgram.setTitle(updatedData.getTitle());
-        existingProgram.setDescription(updatedData.getDescription());
-        existingProgram.setLevel(updatedData.getLevel());
-        existingProgram.setGoal(updatedData.getGoal());
-        existingProgram.setEquipment(updatedData.getEquipment());
-        existingProgram.setProgramLength(updatedData.getProgramLength());
-        existingProgram.setTimePerWorkout(updatedData.getTimePerWorkout());
-        existingProgram.setTotalExercises(updatedData.getTotalExercises());
-
-        Program updatedProgram = programRepository.save(existingProgram);
+        Program updatedProgram = programRepository.updateIfPermitted(id, updatedData, LocalDateTime.now(),
+                        currentUser.getId(), currentUser.getRole() == User.Role.ADMIN)
+                .orElseThrow(() -> writeRejected(id, currentUser,
+                        "You don't have permission to modify this program. Only the owner or admin can edit programs."));
+        
+        eventPublisher.publishEvent(ProgramChangedEvent.updated(id));
         return programMapper.toDTO(updatedProgram);
     }
 
     /**
-     * Programı siler - SADECE SAHİBİ VEYA ADMIN 🔒
+     * Programı (haftalık planıyla birlikte) siler - SADECE SAHİBİ VEYA ADMIN 🔒
+     * Sahiplik kontrolü DELETE'in WHERE koşulunda: başarılı istek tek ifade
      * @throws RuntimeException program bulunamazsa veya yetki yoksa
      */
     @Transactional
     public void deleteProgram(Long id) {
         User currentUser = getCurrentUser();
         
-        Program program = programRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Program not found with id: " + id));
-        
-        // OWNERSHIP KONTROLÜ 🔒
-        if (!canModifyProgram(program, currentUser)) {
-            throw new RuntimeException("You don't have permission to delete this program. Only the owner or admin can delete programs.");
+        if (!programRepository.deleteIfPermitted(id, currentUser.getId(), currentUser.getRole() == User.Role.ADMIN)) {
+            throw writeRejected(id, currentUser,
+                    "You don't have permission to delete this program. Only the owner or admin can delete programs.");
         }
-        
-        programRepository.delete(program);
+        eventPublisher.publishEvent(ProgramChangedEvent.deleted(id));
+    }
+
+    // Koşullu yazma satır bulamadı: program yoksa (veya yetki varken arada silindiyse) "not found",
+    // varsa yetki hatası (sadece hata yolunda ek sorgu)
+    private RuntimeException writeRejected(Long id, User user, String permissionMessage) {
+        return programRepository.findOwnerById(id)
+                .filter(owner -> !canModify(owner.getOwnerId(), user))
+                .map(owner -> new RuntimeException(permissionMessage))
+                .orElseGet(() -> new RuntimeException("Program not found with id: " + id));
     }
     
     /**
-     * Current authenticated user'ı al
+     * Current authenticated user'ı al (ProgramBulkService de kullanır)
      * @throws RuntimeException authentication yoksa
      */
-    private User getCurrentUser() {
+    User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
         if (authentication == null || !authentication.isAuthenticated() || 
@@ -194,6 +497,11 @@ public class ProgramService {
             throw new RuntimeException("User not authenticated");
         }
         
+        // JWT filter'ı principal'ı zaten kurdu (stateless modda claim'lerden): tekrar sorgulanmaz
+        if (authentication.getPrincipal() instanceof UserDetailsServiceImpl.UserPrincipal principal) {
+            return principal.getUser();
+        }
+        
         // Principal'dan email al (UserDetailsService'te email'i username olarak kullanıyoruz)
         String email = authentication.getName();
         
@@ -202,25 +510,15 @@ public class ProgramService {
     }
     
     /**
-     * User'ın program'ı modify edip edemeyeceğini kontrol et
+     * User'ın program'ı modify edip edemeyeceğini kontrol et (ProgramBulkService ve WeeklyPlanService de kullanır;
+     * koşullu UPDATE / DELETE'lerin "(:admin OR user_id = :userId)" koşulu aynı kuralın SQL hali)
      * Kurallar:
      * 1. Program sahibi ✅
      * 2. Admin kullanıcısı ✅  
      * 3. Public program (sahipsiz) - sadece admin ✅
      */
-    private boolean canModifyProgram(Program program, User user) {
-        // Admin her şeyi yapabilir
-        if (user.getRole() == User.Role.ADMIN) {
-            return true;
-        }
-        
-        // Program sahibi yapabilir
-        if (program.isOwnedBy(user)) {
-            return true;
-        }
-        
-        // Diğer durumlar: yasak
-        return false;
+    static boolean canModify(Long ownerId, User user) {
+        return user.getRole() == User.Role.ADMIN || user.getId().equals(ownerId);
     }
     
     /**
@@ -0,0 +1,64 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.repository.UserAuthStateRow;
+import com.fitness.programtracker.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Stateless JWT doğrulaması için kullanıcı başına auth durumu (auth_version + doğrulanmış mı)
+ * - Token'daki "ver" claim'i buradaki versiyonla aynı ve kullanıcı aktifse token geçerlidir
+ * - Rol / doğrulama değiştiren servis User.revokeTokens() ile users.auth_version'ı artırır ve evictAfterCommit
+ *   çağırır; girdi commit olunca silinir. Başka bir instance'taki değişiklik en geç ttl sonra görülür
+ * - Cache'te olmayan kullanıcı için PK ile tek kolonluk sorgu; silinmiş kullanıcı cache'lenmez
+ */
+@Component
+@RequiredArgsConstructor
+public class UserAuthStateCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.security.auth-state.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${app.security.auth-state.max-size:10000}")
+    private long maxSize;
+
+    private LoadingCache<Long, UserAuthStateRow> states;
+
+    @PostConstruct
+    void createCache() {
+        states = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build(userId -> userRepository.findAuthStateById(userId).orElse(null));
+    }
+
+    // Token'ın taşıdığı versiyon kullanıcının güncel versiyonu mu ve kullanıcı hâlâ aktif mi
+    public boolean isCurrent(Long userId, int version) {
+        UserAuthStateRow state = states.get(userId);
+        return state != null && Boolean.TRUE.equals(state.getVerified()) && state.getAuthVersion() == version;
+    }
+
+    // Transaction içindeyse commit sonrası siler: eş zamanlı bir istek eski durumu tekrar cache'leyemez
+    public void evictAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    states.invalidate(userId);
+                }
+            });
+        } else {
+            states.invalidate(userId);
+        }
+    }
+}
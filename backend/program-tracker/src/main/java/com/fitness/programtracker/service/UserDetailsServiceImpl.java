@@ -3,6 +3,7 @@ package com.fitness.programtracker.service;
 import com.fitness.programtracker.entity.User;
 import com.fitness.programtracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,12 +13,14 @@ import org.springframework.stereotype.Service;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
     
     private final UserRepository userRepository;
+    private final UserAuthStateCache authStateCache;
 
     @Override
     public UserDetails loadUserByUsername(String emailOrUsername) throws UsernameNotFoundException {
@@ -34,6 +37,33 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         
         return new UserPrincipal(user);
     }
+
+    /**
+     * Stateless JWT: principal imzalı claim'lerden kurulur, users tablosu okunmaz
+     * - Token'daki auth versiyonu UserAuthStateCache'teki ile aynı olmalı (rol değişikliği / devre dışı bırakma)
+     * - Eski formatta (claim'leri eksik) token için boş döner, çağıran DB'den yükler
+     * @throws BadCredentialsException token iptal edilmişse
+     */
+    public Optional<UserPrincipal> loadUserFromToken(VerifiedToken token) {
+        if (!token.hasUserClaims()) {
+            return Optional.empty();
+        }
+        if (!authStateCache.isCurrent(token.getUserId(), token.getAuthVersion())) {
+            throw new BadCredentialsException("Token has been revoked");
+        }
+
+        // Sadece claim'lerden dolu, persistence context'e bağlı olmayan kullanıcı (şifre yok)
+        User user = new User();
+        user.setId(token.getUserId());
+        user.setEmail(token.getSubject());
+        user.setUsername(token.getUsername());
+        user.setFirstName(token.getFirstName());
+        user.setLastName(token.getLastName());
+        user.setRole(User.Role.valueOf(token.getRole()));
+        user.setIsVerified(true);
+        user.setAuthVersion(token.getAuthVersion());
+        return Optional.of(new UserPrincipal(user));
+    }
     
     // Spring Security UserDetails implementasyonu
     public static class UserPrincipal implements UserDetails {
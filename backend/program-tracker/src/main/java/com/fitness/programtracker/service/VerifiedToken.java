@@ -0,0 +1,50 @@
+package com.fitness.programtracker.service;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * İmzası ve süresi doğrulanmış JWT'nin değişmez claim'leri (JwtService.validate)
+ * Claims map'i değiştirilebilir olduğu için cache'lenmez; sadece kullanılan alanlar kopyalanır
+ * Eski formattaki token'larda stateless claim'ler (userId, ver, ...) null'dır
+ */
+@Getter
+@ToString
+public final class VerifiedToken {
+
+    private final String subject;
+    private final Instant expiresAt;
+    private final Long userId;
+    private final String role;
+    private final String username;
+    private final String firstName;
+    private final String lastName;
+    private final Integer authVersion;
+
+    private VerifiedToken(Claims claims) {
+        this.subject = claims.getSubject();
+        this.expiresAt = claims.getExpiration() == null ? null : claims.getExpiration().toInstant();
+        this.userId = claims.get(JwtService.CLAIM_USER_ID, Long.class);
+        this.role = claims.get(JwtService.CLAIM_ROLE, String.class);
+        this.username = claims.get(JwtService.CLAIM_USERNAME, String.class);
+        this.firstName = claims.get(JwtService.CLAIM_FIRST_NAME, String.class);
+        this.lastName = claims.get(JwtService.CLAIM_LAST_NAME, String.class);
+        this.authVersion = claims.get(JwtService.CLAIM_AUTH_VERSION, Integer.class);
+    }
+
+    static VerifiedToken of(Claims claims) {
+        return new VerifiedToken(claims);
+    }
+
+    // Principal claim'lerden kurulabilir mi (generateTokenForUser ile üretilmiş token)
+    public boolean hasUserClaims() {
+        return userId != null && authVersion != null && role != null && username != null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
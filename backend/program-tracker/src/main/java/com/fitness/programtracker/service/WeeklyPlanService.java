@@ -1,32 +1,132 @@
 package com.fitness.programtracker.service;
 
+import com.fitness.programtracker.config.CacheConfig;
 import com.fitness.programtracker.dto.WeeklyPlanDTO;
+import com.fitness.programtracker.dto.WeeklyPlanRequestDTO;
 import com.fitness.programtracker.entity.Program;
+import com.fitness.programtracker.entity.User;
 import com.fitness.programtracker.entity.WeeklyPlanEntry;
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import com.fitness.programtracker.repository.ProgramOwnerRow;
 import com.fitness.programtracker.repository.ProgramRepository;
 import com.fitness.programtracker.repository.WeeklyPlanEntryRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class WeeklyPlanService {
 
     private final WeeklyPlanEntryRepository weeklyPlanEntryRepository;
     private final ProgramRepository programRepository;
+    private final ProgramService programService;
+    private final PlanContentStore planContentStore;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // Sonuç "weeklyPlans" cache'inde tutulur, program değişince ProgramCacheInvalidator siler
+    // Metinler PlanContentStore'dan çözülür (ortak metinler LRU'dan, diğerleri tek sorguda)
+    @Cacheable(cacheNames = CacheConfig.WEEKLY_PLANS_CACHE, key = "#programId")
     public WeeklyPlanDTO getWeeklyPlan(Long programId) {
-        List<WeeklyPlanEntry> entries = weeklyPlanEntryRepository.findByProgram_IdOrderByIdAsc(programId);
+        List<WeeklyPlanEntry> entries = weeklyPlanEntryRepository.findByProgram_IdOrderByPositionAscIdAsc(programId);
+        Map<String, String> texts = planContentStore.resolve(
+                entries.stream().map(WeeklyPlanEntry::getContentHash).collect(Collectors.toList()));
         WeeklyPlanDTO dto = new WeeklyPlanDTO();
         dto.setProgramId(programId);
         dto.setEntries(entries.stream()
-                .map(e -> new WeeklyPlanDTO.Entry(e.getDayOfWeek(), e.getContent()))
+                .map(e -> new WeeklyPlanDTO.Entry(e.getDayOfWeek(),
+                        e.getContentHash() == null ? e.getContent() : texts.get(e.getContentHash())))
                 .collect(Collectors.toList()));
         return dto;
     }
-}
 
+    /**
+     * Programın haftalık planını gönderilen listeyle değiştirir - SADECE SAHİBİ VEYA ADMIN 🔒
+     * - Kayıtlı satırlarla sıra sıra (gün + metin hash'i) karşılaştırılır: aynı olanlara dokunulmaz,
+     *   farklı olanlar yerinde güncellenir, fazlası eklenir / silinir (sıra position kolonunda)
+     * - Program satırı diff'ten önce kilitlenir: aynı plana eş zamanlı iki PUT aynı kayıtlı satırları görüp
+     *   ikisi birden ekleme yapamaz, ikincisi birincinin commit'ini bekler
+     * - Metinler PlanContentStore'a yazılır, satırlar sadece hash'i tutar
+     * - Tek transaction; UPDATE'ler ve INSERT'ler birer JDBC batch, silme tek DELETE
+     * - Bir şey değiştiyse programın last_edit'i ilerletilir (ETag'ler değişir) ve UPDATED event'i yayınlanır
+     * @throws RuntimeException program bulunamazsa veya yetki yoksa
+     */
+    @Transactional
+    public WeeklyPlanDTO replaceWeeklyPlan(Long programId, WeeklyPlanRequestDTO request) {
+        User currentUser = programService.getCurrentUser();
+        ProgramOwnerRow owner = programRepository.findOwnerByIdForUpdate(programId)
+                .orElseThrow(() -> new RuntimeException("Program not found with id: " + programId));
+
+        // OWNERSHIP KONTROLÜ 🔒
+        if (!ProgramService.canModify(owner.getOwnerId(), currentUser)) {
+            throw new RuntimeException("You don't have permission to modify this program. Only the owner or admin can edit programs.");
+        }
+
+        List<WeeklyPlanRequestDTO.Entry> submitted = request.getEntries();
+        Map<String, String> hashes = planContentStore.store(
+                submitted.stream().map(WeeklyPlanRequestDTO.Entry::getContent).collect(Collectors.toList()));
+        List<WeeklyPlanEntry> stored = weeklyPlanEntryRepository.findByProgram_IdOrderByPositionAscIdAsc(programId);
+        int common = Math.min(stored.size(), submitted.size());
+
+        int updated = 0;
+        for (int i = 0; i < common; i++) {
+            WeeklyPlanEntry entry = stored.get(i);
+            WeeklyPlanRequestDTO.Entry next = submitted.get(i);
+            String hash = hashOf(next, hashes);
+            // Eski (hash'siz) satır metni aynı olsa da yazılır: böylece blob'a taşınmış olur
+            boolean sameContent = entry.getContent() == null && Objects.equals(entry.getContentHash(), hash);
+            if (!entry.getDayOfWeek().equals(next.getDayOfWeek()) || !sameContent
+                    || !Objects.equals(entry.getPosition(), i)) {
+                entry.setDayOfWeek(next.getDayOfWeek());   // dirty checking -> batch UPDATE
+                entry.setPosition(i);
+                entry.setContentHash(hash);
+                entry.setContent(null);
+                updated++;
+            }
+        }
 
+        List<WeeklyPlanEntry> inserted = new ArrayList<>(submitted.size() - common);
+        if (submitted.size() > common) {
+            Program program = programRepository.getReferenceById(programId);   // proxy, SELECT yok
+            for (int i = common; i < submitted.size(); i++) {
+                WeeklyPlanRequestDTO.Entry next = submitted.get(i);
+                inserted.add(new WeeklyPlanEntry(null, program, i, next.getDayOfWeek(), hashOf(next, hashes), null));
+            }
+            weeklyPlanEntryRepository.saveAll(inserted);   // id sequence bloğundan, INSERT flush'ta
+        }
+
+        List<WeeklyPlanEntry> removed = stored.subList(common, stored.size());
+        if (!removed.isEmpty()) {
+            weeklyPlanEntryRepository.deleteAllInBatch(new ArrayList<>(removed));
+        }
+
+        if (updated + inserted.size() + removed.size() > 0) {
+            programRepository.touch(programId, LocalDateTime.now());
+            eventPublisher.publishEvent(ProgramChangedEvent.updated(programId));
+        }
+        log.debug("Weekly plan of program {} replaced: {} updated, {} inserted, {} deleted",
+                programId, updated, inserted.size(), removed.size());
+
+        WeeklyPlanDTO dto = new WeeklyPlanDTO();
+        dto.setProgramId(programId);
+        dto.setEntries(submitted.stream()
+                .map(e -> new WeeklyPlanDTO.Entry(e.getDayOfWeek(), e.getContent()))
+                .collect(Collectors.toList()));
+        return dto;
+    }
+
+    private static String hashOf(WeeklyPlanRequestDTO.Entry entry, Map<String, String> hashes) {
+        return entry.getContent() == null ? null : hashes.get(entry.getContent());
+    }
+}
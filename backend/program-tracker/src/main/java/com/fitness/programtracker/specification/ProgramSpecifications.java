@@ -1,6 +1,7 @@
 package com.fitness.programtracker.specification;
 
 import com.fitness.programtracker.entity.Program;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
 /**
@@ -16,6 +17,7 @@ import org.springframework.data.jpa.domain.Specification;
  * - Program seviyesine göre filtreleme (hasLevel)
  * - Program hedefine göre filtreleme (hasGoal)
  * - Maksimum antrenman süresine göre filtreleme (maxDuration)
+ * - Maksimum program uzunluğuna göre filtreleme (maxProgramLength)
  * 
  * Kullanım Örneği:
  * ProgramSpecifications.hasEquipment("Full Gym")
@@ -23,6 +25,11 @@ import org.springframework.data.jpa.domain.Specification;
  *     .and(ProgramSpecifications.maxDuration(60.0))
  */
 public class ProgramSpecifications {
+
+    // Filtresiz başlangıç - diğer koşullar .and(...) ile eklenir (deprecated Specification.where(null) yerine)
+    public static Specification<Program> all() {
+        return (root, query, cb) -> null;
+    }
     
     public static Specification<Program> hasEquipment(String equipment) {
         return (root, query, cb) -> {
@@ -38,11 +45,8 @@ public class ProgramSpecifications {
             if (level == null) {
                 return null;
             }
-            // Case-insensitive arama: "{Beginner,Intermediate,Advanced}" içinde "intermediate"
-            return cb.like(
-                cb.lower(root.get("level")), 
-                "%" + level.toLowerCase() + "%"
-            );
+            // Dizi containment: level_tags @> ARRAY['Intermediate'] - GIN index kullanır
+            return ((HibernateCriteriaBuilder) cb).collectionContains(root.get("levels"), level);
         };
     }
     
@@ -51,11 +55,8 @@ public class ProgramSpecifications {
             if (goal == null) {
                 return null;
             }
-            // Case-insensitive arama: "{Bodybuilding,Powerlifting}" içinde "bodybuilding"
-            return cb.like(
-                cb.lower(root.get("goal")), 
-                "%" + goal.toLowerCase() + "%"
-            );
+            // Dizi containment: goal_tags @> ARRAY['Bodybuilding'] - GIN index kullanır
+            return ((HibernateCriteriaBuilder) cb).collectionContains(root.get("goals"), goal);
         };
     }
     
@@ -67,4 +68,23 @@ public class ProgramSpecifications {
             return cb.lessThanOrEqualTo(root.get("timePerWorkout"), maxDuration);
         };
     }
+    
+    public static Specification<Program> maxProgramLength(Double maxLength) {
+        return (root, query, cb) -> {
+            if (maxLength == null) {
+                return null;
+            }
+            return cb.lessThanOrEqualTo(root.get("programLength"), maxLength);
+        };
+    }
+    
+    // Keyset pagination: son görülen id'den sonrakileri getir
+    public static Specification<Program> idGreaterThan(Long afterId) {
+        return (root, query, cb) -> {
+            if (afterId == null) {
+                return null;
+            }
+            return cb.greaterThan(root.get("id"), afterId);
+        };
+    }
 }
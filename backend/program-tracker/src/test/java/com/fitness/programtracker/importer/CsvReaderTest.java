@@ -0,0 +1,47 @@
+package com.fitness.programtracker.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsWithNewlinesCommasAndEscapedQuotes() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "\uFEFFtitle,description,level\r\n" +
+                "Upper Lower,\"Day 1 - Push\r\nDay 2 - \"\"Pull\"\", legs\",['Beginner']\n" +
+                "Empty,,\n"));
+
+        assertThat(reader.readRecord()).containsExactly("title", "description", "level");
+        assertThat(reader.readRecord()).containsExactly("Upper Lower", "Day 1 - Push\r\nDay 2 - \"Pull\", legs", "['Beginner']");
+        assertThat(reader.readRecord()).containsExactly("Empty", "", "");
+        assertThat(reader.readRecord()).isNull();
+        assertThat(reader.getRecordNumber()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        CsvReader reader = new CsvReader(new StringReader("a,\"never closed\nb,c\n"));
+
+        assertThatThrownBy(reader::readRecord)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("record 1");
+    }
+
+    @Test
+    void parsesPythonStyleTagLists() {
+        assertThat(ProgramCsvRecord.parseTags("['Muscle & Sculpting', 'Bodyweight Fitness']"))
+                .containsExactly("Muscle & Sculpting", "Bodyweight Fitness");
+        assertThat(ProgramCsvRecord.parseTags("[\"Men's Physique\", 'A, B']")).containsExactly("Men's Physique", "A, B");
+        assertThat(ProgramCsvRecord.parseTags("{Beginner,Advanced}")).containsExactly("Beginner", "Advanced");
+        assertThat(ProgramCsvRecord.parseTags("[]")).isEqualTo(List.of());
+        assertThat(ProgramCsvRecord.parseTags("['muscle &  sculpting', 'ADVANCED']"))
+                .containsExactly("Muscle & Sculpting", "Advanced");
+    }
+}
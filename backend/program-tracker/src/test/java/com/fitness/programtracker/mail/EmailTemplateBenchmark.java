@@ -0,0 +1,82 @@
+package com.fitness.programtracker.mail;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Verification email'i render maliyeti (JMH) - çalıştırma: JwtValidationBenchmark'taki komut, sınıf adı bu
+ * - legacyStringFormat: eski yol, aynı şablondan üretilmiş format string'i ile her seferinde String.format
+ * - compiledTemplate: EmailTemplateEngine.render (konu + gövde, HTML escape dahil)
+ * Allocation karşılaştırması için: -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{\\s*(\\w+)\\s*}}");
+
+    private final Map<String, String> model = Map.of(
+            "appName", "Fitness Program Hub",
+            "username", "alice",
+            "supportEmail", "support@example.com",
+            "verificationUrl", "http://localhost:4200/auth/verify?token=fnRcfVh3UcfxFiZIs3I-CzUx241ianCo7x1TJEiFY2g",
+            "expiryHours", "24");
+
+    private EmailTemplateEngine engine;
+    private String legacyFormat;
+    private Object[] legacyArgs;
+
+    @Setup
+    public void setUp() throws Exception {
+        engine = new EmailTemplateEngine();
+        ReflectionTestUtils.setField(engine, "defaultLanguage", "tr");
+        engine.load();
+
+        String source = new ClassPathResource("email-templates/verification_tr.html")
+                .getContentAsString(StandardCharsets.UTF_8);
+        String body = source.substring(source.indexOf('\n') + 1).replace("%", "%%");
+        List<Object> args = new ArrayList<>();
+        Matcher matcher = VARIABLE.matcher(body);
+        StringBuilder format = new StringBuilder();
+        while (matcher.find()) {
+            args.add(model.get(matcher.group(1)));
+            matcher.appendReplacement(format, "%s");
+        }
+        matcher.appendTail(format);
+        legacyFormat = format.toString();
+        legacyArgs = args.toArray();
+    }
+
+    @Benchmark
+    public Object legacyStringFormat() {
+        return String.format(legacyFormat, legacyArgs);
+    }
+
+    @Benchmark
+    public Object compiledTemplate() {
+        return engine.render(EmailTemplateEngine.VERIFICATION, Locale.forLanguageTag("tr"), model);
+    }
+}
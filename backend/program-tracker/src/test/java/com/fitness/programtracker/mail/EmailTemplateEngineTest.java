@@ -0,0 +1,82 @@
+package com.fitness.programtracker.mail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateEngineTest {
+
+    private EmailTemplateEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        engine = new EmailTemplateEngine();
+        ReflectionTestUtils.setField(engine, "defaultLanguage", "tr");
+        engine.load();
+    }
+
+    @Test
+    void escapesValuesInBodyButNotInSubject() {
+        Map<String, String> model = verificationModel("<script>alert('x')</script>");
+        model.put("appName", "Fit & Strong");
+
+        RenderedEmail email = engine.render(EmailTemplateEngine.VERIFICATION, Locale.ENGLISH, model);
+
+        assertThat(email.getSubject()).isEqualTo("🏋️ Verify your email address - Fit & Strong");
+        assertThat(email.getBody())
+                .contains("Hi &lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;!")
+                .contains("<strong>Fit &amp; Strong</strong>")
+                .contains("href=\"http://localhost:4200/auth/verify?token=abc&amp;x=&quot;1&quot;\"")
+                .doesNotContain("<script>")
+                .doesNotContain("{{");
+    }
+
+    @Test
+    void fallsBackToDefaultLanguage() {
+        assertThat(engine.render(EmailTemplateEngine.VERIFICATION, Locale.GERMAN, verificationModel("alice")).getSubject())
+                .startsWith("🏋️ Email Adresinizi Doğrulayın");
+        assertThat(engine.render(EmailTemplateEngine.VERIFICATION, null, verificationModel("alice")).getBody())
+                .contains("<html lang=\"tr\">");
+    }
+
+    @Test
+    void rejectsMissingVariablesAndUnknownTemplates() {
+        Map<String, String> model = verificationModel("alice");
+        model.remove("verificationUrl");
+
+        assertThatThrownBy(() -> engine.render(EmailTemplateEngine.VERIFICATION, Locale.ENGLISH, model))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("verificationUrl");
+        assertThatThrownBy(() -> engine.render("newsletter", Locale.ENGLISH, model))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void compilesLiteralsAndRawVariables() {
+        CompiledTemplate template = CompiledTemplate.compile("<ul>{{{items}}}</ul><p>{{ note }}</p>");
+        StringBuilder out = new StringBuilder();
+
+        template.renderTo(out, Map.of("items", "<li>A</li>", "note", "a<b"), true);
+
+        assertThat(out.toString()).isEqualTo("<ul><li>A</li></ul><p>a&lt;b</p>");
+        assertThatThrownBy(() -> CompiledTemplate.compile("Hello {{name"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, String> verificationModel(String username) {
+        Map<String, String> model = new HashMap<>();
+        model.put("appName", "Fitness Program Hub");
+        model.put("username", username);
+        model.put("supportEmail", "support@example.com");
+        model.put("verificationUrl", "http://localhost:4200/auth/verify?token=abc&x=\"1\"");
+        model.put("expiryHours", "24");
+        return model;
+    }
+}
@@ -0,0 +1,94 @@
+package com.fitness.programtracker.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+    private static final RateLimitPolicy POLICY = RateLimitPolicy.of("email-EMAIL_VERIFICATION", 3, Duration.ofHours(1));
+    private static final long T0 = 1_000 * HOUR;   // pencere başı
+
+    @Test
+    void allowsLimitPerWindowAndKeepsKeysAndPoliciesApart() {
+        SlidingWindowRateLimiter limiter = limiter(1024, 4, "");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(POLICY, "alice@example.com", T0 + i)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(POLICY, "alice@example.com", T0 + 10)).isFalse();
+        assertThat(limiter.tryAcquire(POLICY, "bob@example.com", T0 + 10)).isTrue();
+        assertThat(limiter.tryAcquire(RateLimitPolicy.of("email-PASSWORD_RESET", 3, Duration.ofHours(1)),
+                "alice@example.com", T0 + 10)).isTrue();
+    }
+
+    @Test
+    void previousWindowWeighsLessAsItSlidesOut() {
+        SlidingWindowRateLimiter limiter = limiter(1024, 4, "");
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(POLICY, "alice@example.com", T0 + HOUR - 10);
+        }
+
+        // Yeni pencerenin başında önceki 3 istek hâlâ tam sayılır
+        assertThat(limiter.tryAcquire(POLICY, "alice@example.com", T0 + HOUR + 1)).isFalse();
+        // Pencerenin yarısında önceki pencere ⌈1.5⌉ = 2 sayılır: bir istek daha, sonra dolu
+        assertThat(limiter.tryAcquire(POLICY, "alice@example.com", T0 + HOUR + HOUR / 2)).isTrue();
+        assertThat(limiter.tryAcquire(POLICY, "alice@example.com", T0 + HOUR + HOUR / 2)).isFalse();
+        // İki pencere sonra her şey unutulmuş
+        assertThat(limiter.tryAcquire(POLICY, "alice@example.com", T0 + 3 * HOUR)).isTrue();
+    }
+
+    @Test
+    void staysWithinFixedCapacityAndNeverEvictsLiveKeys() {
+        SlidingWindowRateLimiter limiter = limiter(64, 4, "");
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(POLICY, "alice@example.com", T0);
+        }
+
+        // Tablo dolunca yeni key'ler reddedilir, alice'in sayacı silinmez
+        int accepted = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (limiter.tryAcquire(POLICY, "user" + i + "@example.com", T0)) {
+                accepted++;
+            }
+        }
+        assertThat(accepted).isLessThan(64);
+        assertThat(limiter.tryAcquire(POLICY, "alice@example.com", T0 + 10)).isFalse();
+        long[] keys = (long[]) ReflectionTestUtils.getField(
+                ((Object[]) ReflectionTestUtils.getField(limiter, "stripes"))[0], "keys");
+        assertThat(keys).hasSize(16);
+
+        // İki pencere sonra süresi geçmiş slotlar yeni key'lere verilir
+        assertThat(limiter.tryAcquire(POLICY, "late@example.com", T0 + 2 * HOUR)).isTrue();
+    }
+
+    @Test
+    void restoresStateSavedOnShutdown(@TempDir Path dir) {
+        String stateFile = dir.resolve("rate-limit.bin").toString();
+        long now = System.currentTimeMillis();
+        SlidingWindowRateLimiter before = limiter(1024, 4, stateFile);
+        for (int i = 0; i < 3; i++) {
+            before.tryAcquire(POLICY, "alice@example.com", now);
+        }
+        before.shutdown();
+
+        SlidingWindowRateLimiter after = limiter(1024, 4, stateFile);
+        assertThat(after.tryAcquire(POLICY, "alice@example.com", now)).isFalse();
+        assertThat(after.tryAcquire(POLICY, "bob@example.com", now)).isTrue();
+    }
+
+    private static SlidingWindowRateLimiter limiter(int capacity, int stripes, String stateFile) {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter();
+        ReflectionTestUtils.setField(limiter, "capacity", capacity);
+        ReflectionTestUtils.setField(limiter, "stripeCount", stripes);
+        ReflectionTestUtils.setField(limiter, "stateFile", stateFile);
+        limiter.init();
+        return limiter;
+    }
+}
@@ -0,0 +1,85 @@
+package com.fitness.programtracker.search;
+
+import com.fitness.programtracker.dto.ProgramFacetsDTO;
+import com.fitness.programtracker.dto.ProgramSearchCriteria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class CatalogBitmapIndexTest {
+
+    private CatalogBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogBitmapIndex();
+        index.upsert(1, List.of("Beginner"), List.of("Bodybuilding"), "Full Gym", 45.0, 8.0);
+        index.upsert(2, List.of("Intermediate", "Advanced"), List.of("Powerlifting"), "Full Gym", 90.0, 12.0);
+        index.upsert(3, List.of("Beginner", "Intermediate"), List.of("Bodybuilding", "Powerlifting"), "At Home", 30.0, 4.0);
+        index.sort();
+    }
+
+    @Test
+    void combinesTagAndRangeFilters() {
+        assertThat(index.search(criteria(null, "Intermediate", null, null), null, 10)).containsExactly(2L, 3L);
+        assertThat(index.search(criteria("Full Gym", null, "Bodybuilding", null), null, 10)).containsExactly(1L);
+        assertThat(index.search(criteria(null, null, "Powerlifting", 60.0), null, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void pagesByIdAfterCursor() {
+        assertThat(index.search(criteria(null, null, null, null), null, 2)).containsExactly(1L, 2L);
+        assertThat(index.search(criteria(null, null, null, null), 2L, 2)).containsExactly(3L);
+    }
+
+    @Test
+    void updateAndRemoveReplaceOldPostings() {
+        index.upsert(1, List.of("Advanced"), List.of("Athletics"), "Garage Gym", 120.0, 6.0);
+        index.remove(3);
+        index.sort();
+
+        assertThat(index.search(criteria(null, "Beginner", null, null), null, 10)).isEmpty();
+        assertThat(index.search(criteria(null, "Advanced", null, 200.0), null, 10)).containsExactly(1L, 2L);
+        assertThat(index.search(criteria(null, null, null, 60.0), null, 10)).isEmpty();
+    }
+
+    @Test
+    void countsFacetValuesWithinFilter() {
+        ProgramFacetsDTO all = index.facets(criteria(null, null, null, null));
+        assertThat(all.getTotal()).isEqualTo(3);
+        assertThat(all.getLevels()).containsExactly(
+                entry("Beginner", 2L), entry("Intermediate", 2L), entry("Advanced", 1L));
+        assertThat(all.getEquipment()).containsExactly(entry("Full Gym", 2L), entry("At Home", 1L));
+
+        ProgramFacetsDTO powerlifting = index.facets(criteria(null, null, "Powerlifting", null));
+        assertThat(powerlifting.getTotal()).isEqualTo(2);
+        assertThat(powerlifting.getLevels()).containsExactly(
+                entry("Intermediate", 2L), entry("Advanced", 1L), entry("Beginner", 1L));
+        assertThat(powerlifting.getGoals()).containsExactly(entry("Powerlifting", 2L), entry("Bodybuilding", 1L));
+
+        index.remove(2);
+        assertThat(index.facets(criteria(null, null, null, null)).getLevels()).doesNotContainKey("Advanced");
+    }
+
+    @Test
+    void mergesOutOfOrderInsertsIntoIdOrder() {
+        index.upsert(10, List.of("Beginner"), List.of(), null, 20.0, null);
+        index.upsert(5, List.of("Beginner"), List.of(), null, 20.0, null);
+        index.upsert(7, List.of("Advanced"), List.of(), null, 20.0, null);
+        index.sort();
+
+        assertThat(index.unorderedCount()).isEqualTo(2);
+        assertThat(index.search(criteria(null, null, null, null), null, 10)).containsExactly(1L, 2L, 3L, 5L, 7L, 10L);
+        assertThat(index.search(criteria(null, null, null, null), 2L, 3)).containsExactly(3L, 5L, 7L);
+        assertThat(index.search(criteria(null, "Beginner", null, 40.0), null, 10)).containsExactly(3L, 5L, 10L);
+        assertThat(index.search(criteria(null, "Beginner", null, 40.0), 5L, 10)).containsExactly(10L);
+    }
+
+    private ProgramSearchCriteria criteria(String equipment, String level, String goal, Double maxDuration) {
+        return new ProgramSearchCriteria(equipment, level, goal, maxDuration, null);
+    }
+}
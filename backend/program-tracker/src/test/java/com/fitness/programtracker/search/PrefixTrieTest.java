@@ -0,0 +1,58 @@
+package com.fitness.programtracker.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixTrieTest {
+
+    private static final List<String> TITLES = List.of(
+            "Push Pull Legs", "Cbum PPL", "Powerbuilding 5x5", "Push-Up Challenge", "Upper/Lower Split");
+
+    private final PrefixTrie trie = build(2);
+
+    @Test
+    void matchesWordStartsIgnoringCase() {
+        assertThat(titles("push")).containsExactly("Push Pull Legs", "Push-Up Challenge");
+        assertThat(titles("PPL")).containsExactly("Cbum PPL");
+        assertThat(titles("up")).containsExactly("Push-Up Challenge", "Upper/Lower Split");
+        assertThat(titles("lower")).containsExactly("Upper/Lower Split");
+        assertThat(titles("cbum p")).containsExactly("Cbum PPL");
+    }
+
+    @Test
+    void keepsOnlyBestRankedEntriesPerPrefix() {
+        // "p" altında 4 başlık var, düğüm başına 2 saklanır - ekleme sırası = sıralama
+        assertThat(titles("p")).containsExactly("Push Pull Legs", "Cbum PPL");
+        assertThat(titles("pow")).containsExactly("Powerbuilding 5x5");
+    }
+
+    @Test
+    void returnsNoNodeForUnknownOrEmptyPrefix() {
+        assertThat(trie.find("squat")).isNegative();
+        assertThat(trie.find("ull")).isNegative();
+        assertThat(trie.find("")).isNegative();
+    }
+
+    private List<String> titles(String prefix) {
+        int node = trie.find(prefix);
+        List<String> result = new ArrayList<>();
+        if (node >= 0) {
+            for (int i = trie.topStart(node); i < trie.topEnd(node); i++) {
+                result.add(TITLES.get(trie.topEntry(i)));
+            }
+        }
+        return result;
+    }
+
+    private static PrefixTrie build(int maxPerNode) {
+        PrefixTrie.Builder builder = PrefixTrie.builder(maxPerNode);
+        for (int entry = 0; entry < TITLES.size(); entry++) {
+            builder.add(entry, TITLES.get(entry));
+        }
+        return builder.build();
+    }
+}
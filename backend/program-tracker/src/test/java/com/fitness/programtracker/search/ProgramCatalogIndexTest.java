@@ -0,0 +1,98 @@
+package com.fitness.programtracker.search;
+
+import com.fitness.programtracker.dto.ProgramSearchCriteria;
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import com.fitness.programtracker.repository.ProgramCatalogRow;
+import com.fitness.programtracker.repository.ProgramRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Katalog index'inin artımlı güncellemeleri ve kurulum sırasında gelen değişiklikler
+ */
+class ProgramCatalogIndexTest {
+
+    private static final ProgramSearchCriteria ALL = new ProgramSearchCriteria(null, null, null, null, null);
+
+    private final ProgramRepository programRepository = mock(ProgramRepository.class);
+    private final ProgramCatalogIndex index = new ProgramCatalogIndex(programRepository);
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void appliesOutOfOrderCreateWithoutRebuilding() {
+        when(programRepository.findCatalogRowsAfter(anyLong(), any(Limit.class))).thenReturn(List.of(row(1), row(2), row(100)));
+        index.rebuild();
+        when(programRepository.findCatalogRowById(50L)).thenReturn(Optional.of(row(50)));
+
+        index.onProgramChanged(ProgramChangedEvent.created(50L));
+
+        assertThat(index.search(ALL, null, 10)).containsExactly(1L, 2L, 50L, 100L);
+        assertThat(index.search(ALL, 2L, 2)).containsExactly(50L, 100L);
+        verify(programRepository, times(1)).findCatalogRowsAfter(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void appliesChangesCommittedDuringRebuildToNewIndex() {
+        when(programRepository.findCatalogRowById(3L)).thenReturn(Optional.of(row(3)));
+        when(programRepository.findCatalogRowsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            index.onProgramChanged(ProgramChangedEvent.created(3L));   // kurulum sürerken başka bir commit
+            return List.of(row(1), row(2));
+        });
+
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search(ALL, null, 10)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void drainsQueuedChangesWhenRebuildFails() {
+        when(programRepository.findCatalogRowsAfter(anyLong(), any(Limit.class))).thenReturn(List.of(row(1)));
+        index.rebuild();
+        when(programRepository.findCatalogRowById(2L)).thenReturn(Optional.of(row(2)));
+        when(programRepository.findCatalogRowsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            index.onProgramChanged(ProgramChangedEvent.created(2L));
+            throw new QueryTimeoutException("timeout");
+        });
+
+        assertThatThrownBy(index::rebuild).isInstanceOf(QueryTimeoutException.class);
+
+        // Eski index hizmete devam eder, kuyruktaki değişiklik kaybolmaz; sonraki değişiklikler doğrudan uygulanır
+        when(programRepository.findCatalogRowById(4L)).thenReturn(Optional.of(row(4)));
+        index.onProgramChanged(ProgramChangedEvent.created(4L));
+        assertThat(index.search(ALL, null, 10)).containsExactly(1L, 2L, 4L);
+    }
+
+    private static ProgramCatalogRow row(long id) {
+        return new ProgramCatalogRow() {
+            public Long getId() { return id; }
+            public String getTitle() { return "Program " + id; }
+            public List<String> getLevels() { return List.of("beginner"); }
+            public List<String> getGoals() { return List.of("bodybuilding"); }
+            public String getEquipment() { return "Full Gym"; }
+            public Double getProgramLength() { return 8.0; }
+            public Double getTimePerWorkout() { return 60.0; }
+            public Integer getTotalExercises() { return 30; }
+            public LocalDateTime getUpdatedAt() { return null; }
+        };
+    }
+}
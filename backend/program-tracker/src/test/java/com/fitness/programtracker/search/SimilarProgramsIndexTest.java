@@ -0,0 +1,114 @@
+package com.fitness.programtracker.search;
+
+import com.fitness.programtracker.dto.SimilarProgramDTO;
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import com.fitness.programtracker.repository.ProgramCatalogRow;
+import com.fitness.programtracker.repository.ProgramRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benzer programlar index'inin arka plan kurulumu, artımlı güncellemeleri ve katalog sınırı
+ */
+class SimilarProgramsIndexTest {
+
+    private final ProgramRepository programRepository = mock(ProgramRepository.class);
+    private final SimilarProgramsIndex index = new SimilarProgramsIndex(programRepository);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "maxK", 5);
+        ReflectionTestUtils.setField(index, "maxPrograms", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void buildsInBackgroundAndAppliesChangesCommittedDuringBuild() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(programRepository.findCatalogRowsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(row(1), row(2));
+        });
+        when(programRepository.findCatalogRowById(3L)).thenReturn(Optional.of(row(3)));
+
+        index.onApplicationReady();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        // Kurulum sürerken istek thread'i beklemez, uç nokta 503 döner
+        assertThatThrownBy(() -> index.findSimilar(1L, 5)).isInstanceOf(IndexUnavailableException.class);
+        index.onProgramChanged(ProgramChangedEvent.created(3L));
+        release.countDown();
+
+        awaitTrue(() -> index.isReady() && neighbourIds(1L).contains(3L));
+        assertThat(neighbourIds(1L)).containsExactlyInAnyOrder(2L, 3L);
+        // Kurulum + uygulanan değişiklik: ETag'ler iki kez değişmiş olur
+        assertThat(index.getGeneration().getNumber()).isEqualTo(2);
+        verify(programRepository, times(1)).findCatalogRowsAfter(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void staysUnavailableWhenCatalogExceedsLimit() {
+        when(programRepository.findCatalogRowsAfter(anyLong(), any(Limit.class)))
+                .thenReturn(List.of(row(1), row(2), row(3), row(4)));
+
+        index.onApplicationReady();
+        index.onProgramChanged(ProgramChangedEvent.created(5L));
+
+        // Hazır olmayan index'e değişiklik uygulanmaz, sonraki kurulum hepsini okur
+        awaitTrue(() -> !(Boolean) ReflectionTestUtils.getField(index, "drainQueued"));
+        assertThat(index.isReady()).isFalse();
+        assertThatThrownBy(() -> index.findSimilar(1L, 5)).isInstanceOf(IndexUnavailableException.class);
+        verify(programRepository, never()).findCatalogRowById(anyLong());
+    }
+
+    private List<Long> neighbourIds(long programId) {
+        return index.findSimilar(programId, 5).orElseThrow().stream().map(SimilarProgramDTO::getId).toList();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static ProgramCatalogRow row(long id) {
+        return new ProgramCatalogRow() {
+            public Long getId() { return id; }
+            public String getTitle() { return "Program " + id; }
+            public List<String> getLevels() { return List.of("Beginner"); }
+            public List<String> getGoals() { return List.of("Bodybuilding"); }
+            public String getEquipment() { return "Full Gym"; }
+            public Double getProgramLength() { return 8.0; }
+            public Double getTimePerWorkout() { return 60.0; }
+            public Integer getTotalExercises() { return 30; }
+            public LocalDateTime getUpdatedAt() { return null; }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.fitness.programtracker.search;
+
+import com.fitness.programtracker.dto.SimilarProgramDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimilarityIndexTest {
+
+    private static final List<String> LEVELS = List.of("Beginner", "Intermediate", "Advanced");
+    private static final List<String> GOALS = List.of("Bodybuilding", "Powerlifting", "Athletics", "Muscle & Sculpting");
+    private static final List<String> EQUIPMENT = List.of("Full Gym", "At Home", "Garage Gym");
+
+    @Test
+    void ranksSharedTagsAndCloseNumbersFirst() {
+        SimilarityIndex index = new SimilarityIndex(3);
+        index.put(1, "A", List.of("Beginner"), List.of("Bodybuilding"), "Full Gym", 8.0, 45.0, 100);
+        index.put(2, "B", List.of("Beginner"), List.of("Bodybuilding"), "Full Gym", 9.0, 50.0, 110);
+        index.put(3, "C", List.of("Beginner"), List.of("Powerlifting"), "Full Gym", 8.0, 45.0, 100);
+        index.put(4, "D", List.of("Advanced"), List.of("Athletics"), "At Home", 16.0, 120.0, 900);
+        index.computeAll();
+
+        List<SimilarProgramDTO> similar = index.neighbours(1, 3);
+        assertThat(similar).extracting(SimilarProgramDTO::getId).containsExactly(2L, 3L, 4L);
+        assertThat(similar.get(0).getScore()).isGreaterThan(similar.get(1).getScore());
+        assertThat(index.neighbours(1, 1)).extracting(SimilarProgramDTO::getTitle).containsExactly("B");
+        assertThat(index.neighbours(99, 3)).isNull();
+    }
+
+    @Test
+    void incrementalUpdatesMatchFullRecompute() {
+        Random random = new Random(42);
+        Map<Long, Object[]> programs = new HashMap<>();
+        // Sabit uç değerler - sayısal aralıklar artımlı güncellemelerde değişmesin
+        programs.put(1L, new Object[]{List.of("Beginner"), List.of("Athletics"), "At Home", 1.0, 10.0, 5});
+        programs.put(2L, new Object[]{List.of("Advanced"), List.of("Bodybuilding"), "Full Gym", 18.0, 180.0, 2000});
+        for (long id = 3; id <= 300; id++) {
+            programs.put(id, randomProgram(random));
+        }
+
+        SimilarityIndex incremental = new SimilarityIndex(5);
+        programs.forEach((id, values) -> put(incremental, id, values));
+        incremental.computeAll();
+
+        long nextId = 301;
+        for (int step = 0; step < 200; step++) {
+            int action = random.nextInt(3);
+            if (action == 0) {
+                long id = nextId++;
+                programs.put(id, randomProgram(random));
+                upsert(incremental, id, programs.get(id));
+            } else {
+                List<Long> candidates = new ArrayList<>(programs.keySet());
+                candidates.removeIf(id -> id <= 2);
+                long id = candidates.get(random.nextInt(candidates.size()));
+                if (action == 1) {
+                    programs.put(id, randomProgram(random));
+                    upsert(incremental, id, programs.get(id));
+                } else {
+                    programs.remove(id);
+                    incremental.remove(id);
+                }
+            }
+        }
+
+        SimilarityIndex full = new SimilarityIndex(5);
+        programs.forEach((id, values) -> put(full, id, values));
+        full.computeAll();
+
+        assertThat(incremental.liveCount()).isEqualTo(programs.size());
+        for (Long id : programs.keySet()) {
+            assertThat(incremental.neighbours(id, 5)).as("neighbours of %d", id).isEqualTo(full.neighbours(id, 5));
+        }
+    }
+
+    private static Object[] randomProgram(Random random) {
+        return new Object[]{
+                List.of(LEVELS.get(random.nextInt(LEVELS.size()))),
+                random.nextBoolean()
+                        ? List.of(GOALS.get(random.nextInt(GOALS.size())))
+                        : List.of(GOALS.get(random.nextInt(GOALS.size())), GOALS.get(random.nextInt(GOALS.size()))),
+                EQUIPMENT.get(random.nextInt(EQUIPMENT.size())),
+                1.0 + random.nextInt(18),
+                10.0 + random.nextInt(171),
+                5 + random.nextInt(1996)};
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void put(SimilarityIndex index, long id, Object[] v) {
+        index.put(id, "P" + id, (List<String>) v[0], (List<String>) v[1], (String) v[2],
+                (Double) v[3], (Double) v[4], (Integer) v[5]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void upsert(SimilarityIndex index, long id, Object[] v) {
+        index.upsert(id, "P" + id, (List<String>) v[0], (List<String>) v[1], (String) v[2],
+                (Double) v[3], (Double) v[4], (Integer) v[5]);
+    }
+}
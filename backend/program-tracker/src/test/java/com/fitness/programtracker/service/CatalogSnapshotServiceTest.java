@@ -0,0 +1,82 @@
+package com.fitness.programtracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Yerini yeni snapshot'a bırakan dosyalar gönderimi süren cevaplar için retire-delay boyunca diskte kalır
+ */
+class CatalogSnapshotServiceTest {
+
+    private final CatalogVersionService catalogVersionService = mock(CatalogVersionService.class);
+    private CatalogSnapshotService snapshotService;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        when(catalogVersionService.lastModified()).thenReturn(Instant.now());
+        snapshotService = new CatalogSnapshotService(mock(ProgramService.class), catalogVersionService, new ObjectMapper());
+        ReflectionTestUtils.setField(snapshotService, "configuredDirectory", directory.toString());
+        ReflectionTestUtils.setField(snapshotService, "chunkSize", 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshotService.shutdown();
+    }
+
+    @Test
+    void keepsRetiredFilesUntilDelayPasses() {
+        ReflectionTestUtils.setField(snapshotService, "retireDelay", Duration.ofSeconds(1));
+        CatalogSnapshot first = snapshotAt("v1");
+        CatalogSnapshot second = snapshotAt("v2");
+
+        assertThat(second.getVersion()).isEqualTo("v2");
+        assertThat(first.getJsonFile()).exists();
+        assertThat(first.getGzipFile()).exists();
+
+        awaitTrue(() -> !Files.exists(first.getJsonFile()) && !Files.exists(first.getGzipFile()));
+        assertThat(second.getJsonFile()).exists();
+    }
+
+    @Test
+    void rapidPublishesDoNotDeleteFilesStillBeingSent() {
+        ReflectionTestUtils.setField(snapshotService, "retireDelay", Duration.ofMinutes(10));
+        CatalogSnapshot first = snapshotAt("v1");
+        snapshotAt("v2");
+        snapshotAt("v3");
+
+        assertThat(first.getJsonFile()).exists();
+        assertThat(first.getGzipFile()).exists();
+    }
+
+    private CatalogSnapshot snapshotAt(String version) {
+        when(catalogVersionService.currentVersion()).thenReturn(version);
+        return snapshotService.getSnapshot();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.entity.EmailOutbox;
+import com.fitness.programtracker.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outbox gönderimi - süreç içi SMTP sunucusuna (GreenMail) karşı
+ * Dispatcher kendi transaction'larını açtığı için test transaction'ı kapalı
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void deliversPendingMessagesAndMarksThemSent() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            outboxRepository.save(EmailOutbox.of("user" + i + "@example.com", "Subject " + i, "<p>Merhaba " + i + "</p>"));
+        }
+
+        assertThat(dispatcher(greenMail.getSmtp().getPort(), 3).dispatch()).isEqualTo(5);
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(5);
+        assertThat(received[0].getFrom()[0].toString()).contains("noreply@example.com");
+        assertThat(outboxRepository.findAll()).allSatisfy(message -> {
+            assertThat(message.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+            assertThat(message.getAttempts()).isEqualTo(1);
+            assertThat(message.getSentAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void retriesWithBackoffAndGivesUpAfterMaxAttempts() {
+        EmailOutbox message = outboxRepository.save(EmailOutbox.of("user@example.com", "Subject", "<p>Body</p>"));
+        EmailOutboxDispatcher unreachable = dispatcher(1, 2);   // bağlantı reddedilir
+
+        assertThat(unreachable.dispatch()).isZero();
+        EmailOutbox retried = outboxRepository.findById(message.getId()).orElseThrow();
+        assertThat(retried.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(20));
+        assertThat(retried.getLastError()).isNotBlank();
+
+        // Bekleme süresi dolmadan tekrar alınmaz
+        assertThat(unreachable.dispatch()).isZero();
+        assertThat(outboxRepository.findById(message.getId()).orElseThrow().getAttempts()).isEqualTo(1);
+
+        retried.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.save(retried);
+        unreachable.dispatch();
+        assertThat(outboxRepository.findById(message.getId()).orElseThrow().getStatus())
+                .isEqualTo(EmailOutbox.Status.FAILED);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    private EmailOutboxDispatcher dispatcher(int port, int maxAttempts) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+
+        EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(outboxRepository, mailSender, transactionManager);
+        ReflectionTestUtils.setField(dispatcher, "fromEmail", "noreply@example.com");
+        ReflectionTestUtils.setField(dispatcher, "appName", "Fitness Program Hub");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(dispatcher, "concurrency", 2);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(dispatcher, "backoffBaseSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxSeconds", 3600L);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 300L);
+        dispatcher.start();
+        return dispatcher;
+    }
+}
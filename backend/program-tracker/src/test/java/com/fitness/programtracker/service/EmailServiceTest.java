@@ -0,0 +1,118 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.entity.EmailOutbox;
+import com.fitness.programtracker.entity.EmailVerification;
+import com.fitness.programtracker.entity.User;
+import com.fitness.programtracker.mail.EmailTemplateEngine;
+import com.fitness.programtracker.ratelimit.SlidingWindowRateLimiter;
+import com.fitness.programtracker.repository.EmailOutboxRepository;
+import com.fitness.programtracker.repository.EmailVerificationRepository;
+import com.fitness.programtracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verification / password reset email'leri: şablondan outbox'a yazım ve adres aranmadan önce uygulanan limit
+ * (kayıtlı olmayan adres için de aynı sayım ve aynı hata)
+ */
+class EmailServiceTest {
+
+    private final EmailVerificationRepository verificationRepository = mock(EmailVerificationRepository.class);
+    private final EmailOutboxRepository outboxRepository = mock(EmailOutboxRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SlidingWindowRateLimiter rateLimiter = new SlidingWindowRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "capacity", 1024);
+        ReflectionTestUtils.setField(rateLimiter, "stripeCount", 4);
+        ReflectionTestUtils.setField(rateLimiter, "stateFile", "");
+        ReflectionTestUtils.invokeMethod(rateLimiter, "init");
+
+        EmailTemplateEngine templateEngine = new EmailTemplateEngine();
+        ReflectionTestUtils.setField(templateEngine, "defaultLanguage", "tr");
+        ReflectionTestUtils.invokeMethod(templateEngine, "load");
+
+        emailService = new EmailService(verificationRepository, outboxRepository, userRepository,
+                templateEngine, rateLimiter, mock(UserAuthStateCache.class));
+        ReflectionTestUtils.setField(emailService, "frontendUrl", "http://localhost:4200");
+        ReflectionTestUtils.setField(emailService, "appName", "Fitness Program Hub");
+        ReflectionTestUtils.setField(emailService, "fromEmail", "support@example.com");
+        ReflectionTestUtils.setField(emailService, "rateLimitMaxAttempts", 3);
+        ReflectionTestUtils.setField(emailService, "rateLimitWindow", Duration.ofHours(1));
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+    }
+
+    @AfterEach
+    void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void resendCountsUnknownAddressesBeforeLookup() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> emailService.resendVerificationEmail("Nobody@example.com"))
+                    .hasMessage("No pending verification found for this email");
+        }
+
+        assertThatThrownBy(() -> emailService.resendVerificationEmail("nobody@example.com"))
+                .hasMessageStartingWith("Too many verification email requests");
+        verify(verificationRepository, times(3)).findByEmailAndTokenTypeAndVerifiedAtIsNull(
+                anyString(), eq(EmailVerification.TokenType.EMAIL_VERIFICATION));
+    }
+
+    @Test
+    void passwordResetQueuesRenderedTemplateWithNewToken() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(user));
+
+        emailService.sendPasswordResetEmail("alice@example.com");
+
+        ArgumentCaptor<EmailVerification> token = ArgumentCaptor.forClass(EmailVerification.class);
+        verify(verificationRepository).save(token.capture());
+        assertThat(token.getValue().getTokenType()).isEqualTo(EmailVerification.TokenType.PASSWORD_RESET);
+        ArgumentCaptor<EmailOutbox> message = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(outboxRepository).save(message.capture());
+        assertThat(message.getValue().getRecipient()).isEqualTo("alice@example.com");
+        assertThat(message.getValue().getSubject()).isEqualTo("🔑 Reset your password - Fitness Program Hub");
+        assertThat(message.getValue().getBody())
+                .contains("http://localhost:4200/auth/reset-password?token=" + token.getValue().getToken())
+                .doesNotContain("{{");
+    }
+
+    @Test
+    void passwordResetLimitDoesNotRevealWhetherAddressIsRegistered() {
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        for (int i = 0; i < 3; i++) {
+            emailService.sendPasswordResetEmail("nobody@example.com");
+        }
+
+        assertThatThrownBy(() -> emailService.sendPasswordResetEmail("nobody@example.com"))
+                .hasMessageStartingWith("Too many password reset email requests");
+        verify(userRepository, times(3)).findByEmail(anyString());
+        verify(outboxRepository, never()).save(any());
+    }
+}
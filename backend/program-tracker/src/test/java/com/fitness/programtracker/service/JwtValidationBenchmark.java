@@ -0,0 +1,89 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * İstek başına JWT doğrulama maliyeti (JMH) - surefire çalıştırmaz, elle çalıştırılır:
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main JwtValidationBenchmark
+ *
+ * - legacyFilterPath: eski filtre akışı (her çağrıda anahtar + parser kurulur, token 3 kez parse edilir)
+ * - singleParse: hazır parser ile tek parse (cache ıskası)
+ * - cachedValidate: validate() cache isabeti
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "benchmark-secret-key-that-is-long-enough-for-hs256".getBytes());
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", 10_000L);
+        jwtService.init();
+
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("bench@example.com");
+        user.setUsername("bench");
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        user.setRole(User.Role.USER);
+        token = jwtService.generateTokenForUser(user);
+        jwtService.validate(token);
+    }
+
+    @Benchmark
+    public Object legacyFilterPath() {
+        String username = legacyClaims(token).getSubject();            // filtre: extractUsername
+        boolean sameUser = username.equals(legacyClaims(token).getSubject());   // isTokenValid
+        Date expiration = legacyClaims(token).getExpiration();         // isTokenExpired
+        return sameUser && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public Object singleParse() {
+        return VerifiedToken.of(jwtService.extractAllClaims(token));
+    }
+
+    @Benchmark
+    public Object cachedValidate() {
+        return jwtService.validate(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+}
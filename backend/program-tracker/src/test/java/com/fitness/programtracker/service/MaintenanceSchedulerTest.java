@@ -0,0 +1,167 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.entity.EmailVerification;
+import com.fitness.programtracker.entity.Program;
+import com.fitness.programtracker.entity.User;
+import com.fitness.programtracker.repository.EmailVerificationRepository;
+import com.fitness.programtracker.repository.ProgramRepository;
+import com.fitness.programtracker.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parça parça temizlik işleri ve metrikleri
+ * Her parça kendi transaction'ında çalıştığı için test transaction'ı kapalı
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MaintenanceSchedulerTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private EmailVerificationRepository verificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MaintenanceScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new MaintenanceScheduler(new NamedParameterJdbcTemplate(jdbcTemplate), transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "pauseMillis", 0L);
+        ReflectionTestUtils.setField(scheduler, "expiredTokensEnabled", true);
+        ReflectionTestUtils.setField(scheduler, "expiredTokensRetention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(scheduler, "expiredTokensChunkSize", 2);
+        ReflectionTestUtils.setField(scheduler, "unverifiedUsersEnabled", true);
+        ReflectionTestUtils.setField(scheduler, "unverifiedUsersMaxAge", Duration.ofDays(7));
+        ReflectionTestUtils.setField(scheduler, "unverifiedUsersChunkSize", 2);
+        ReflectionTestUtils.setField(scheduler, "emailOutboxEnabled", false);
+        ReflectionTestUtils.setField(scheduler, "emailOutboxRetention", Duration.ofDays(30));
+        ReflectionTestUtils.setField(scheduler, "emailOutboxChunkSize", 2);
+        scheduler.init();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        verificationRepository.deleteAll();
+        programRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void deletesExpiredTokensInChunksAndRecordsMetrics() {
+        User user = createUser("alice", true, 0);
+        for (int i = 0; i < 5; i++) {
+            createVerification(user, LocalDateTime.now().minusDays(10 + i));
+        }
+        EmailVerification recentlyExpired = createVerification(user, LocalDateTime.now().minusDays(1));
+        EmailVerification active = createVerification(user, LocalDateTime.now().plusHours(1));
+
+        assertThat(scheduler.purge(MaintenanceScheduler.EXPIRED_TOKENS)).isEqualTo(5);
+
+        assertThat(verificationRepository.findAll()).extracting(EmailVerification::getId)
+                .containsExactlyInAnyOrder(recentlyExpired.getId(), active.getId());
+        assertThat(meterRegistry.get("maintenance.purge.deleted").tag("job", "expired-tokens").counter().count())
+                .isEqualTo(5.0);
+        // 2 + 2 + 1 - son parça eksik kaldığı için boş bir sorgu daha yapılmaz
+        assertThat(meterRegistry.get("maintenance.purge.chunk").tag("job", "expired-tokens").timer().count())
+                .isEqualTo(3);
+        assertThat(scheduler.purge(MaintenanceScheduler.EXPIRED_TOKENS)).isZero();
+    }
+
+    @Test
+    void deletesOnlyAbandonedRegistrations() {
+        User abandoned = createUser("abandoned", false, 30);
+        createVerification(abandoned, LocalDateTime.now().minusDays(29));
+        User abandonedToo = createUser("abandoned2", false, 8);
+        User recent = createUser("recent", false, 1);
+        User verified = createUser("verified", true, 30);
+        User withProgram = createUser("owner", false, 30);
+        createProgram(withProgram);
+
+        assertThat(scheduler.purge(MaintenanceScheduler.UNVERIFIED_USERS)).isEqualTo(2);
+
+        assertThat(userRepository.findAll()).extracting(User::getUsername)
+                .containsExactlyInAnyOrder(recent.getUsername(), verified.getUsername(), withProgram.getUsername());
+        assertThat(userRepository.existsById(abandonedToo.getId())).isFalse();
+        assertThat(verificationRepository.count()).isZero();
+    }
+
+    @Test
+    void runAllSkipsDisabledJobs() {
+        User user = createUser("bob", false, 30);
+        createVerification(user, LocalDateTime.now().minusDays(20));
+        ReflectionTestUtils.setField(scheduler, "unverifiedUsersEnabled", false);
+        scheduler.init();
+
+        scheduler.runAll();
+
+        assertThat(userRepository.existsById(user.getId())).isTrue();
+        assertThat(verificationRepository.count()).isZero();
+    }
+
+    private User createUser(String username, boolean verified, int ageDays) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret-password");
+        user.setIsVerified(verified);
+        user = userRepository.save(user);
+        jdbcTemplate.update("UPDATE users SET created_at = ? WHERE id = ?",
+                LocalDateTime.now().minusDays(ageDays), user.getId());
+        return user;
+    }
+
+    private EmailVerification createVerification(User user, LocalDateTime expiresAt) {
+        EmailVerification verification = new EmailVerification();
+        verification.setUser(user);
+        verification.setToken(UUID.randomUUID().toString());
+        verification.setTokenType(EmailVerification.TokenType.EMAIL_VERIFICATION);
+        verification.setEmail(user.getEmail());
+        verification.setExpiresAt(expiresAt);
+        return verificationRepository.save(verification);
+    }
+
+    private void createProgram(User owner) {
+        Program program = new Program();
+        program.setTitle("Owned Program");
+        program.setDescription("Test program description");
+        program.setLevels(List.of("Beginner"));
+        program.setGoals(List.of("Bodybuilding"));
+        program.setEquipment("Full Gym");
+        program.setProgramLength(8.0);
+        program.setTimePerWorkout(60.0);
+        program.setTotalExercises(30);
+        program.setCreatedBy(owner);
+        programRepository.save(program);
+    }
+}
@@ -0,0 +1,33 @@
+package com.fitness.programtracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanContentCodecTest {
+
+    @Test
+    void compressesRepetitiveTextAndRoundTrips() {
+        String content = "Bench press 4x8, incline dumbbell press 3x10, cable fly 3x12. ".repeat(20) + "Ağır gün";
+
+        PlanContentCodec.Encoded encoded = PlanContentCodec.encode(content);
+
+        assertThat(encoded.isCompressed()).isTrue();
+        assertThat(encoded.getData().length).isLessThan(encoded.getRawLength() / 4);
+        assertThat(PlanContentCodec.decode(encoded.getData(), true, encoded.getRawLength())).isEqualTo(content);
+    }
+
+    @Test
+    void keepsShortTextUncompressed() {
+        PlanContentCodec.Encoded encoded = PlanContentCodec.encode("Rest day");
+
+        assertThat(encoded.isCompressed()).isFalse();
+        assertThat(PlanContentCodec.decode(encoded.getData(), false, encoded.getRawLength())).isEqualTo("Rest day");
+    }
+
+    @Test
+    void hashIsSha256Hex() {
+        assertThat(PlanContentCodec.hash(""))
+                .isEqualTo("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+    }
+}
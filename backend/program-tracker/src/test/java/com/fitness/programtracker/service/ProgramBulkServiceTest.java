@@ -0,0 +1,247 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.dto.ProgramBulkDTO;
+import com.fitness.programtracker.dto.ProgramRequestDTO;
+import com.fitness.programtracker.entity.Program;
+import com.fitness.programtracker.entity.User;
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import com.fitness.programtracker.mapper.ProgramMapper;
+import com.fitness.programtracker.repository.ProgramRepository;
+import com.fitness.programtracker.repository.UserRepository;
+import com.fitness.programtracker.repository.WeeklyPlanEntryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Toplu program işlemleri (H2 üzerinde) - öğe başına doğrulama, küme halinde sahiplik kontrolü,
+ * chunk başına flush + clear ve öğe başına event
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProgramBulkServiceTest {
+
+    private static final Long MISSING_ID = 999_999L;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WeeklyPlanEntryRepository weeklyPlanEntryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<ProgramChangedEvent> events = new ArrayList<>();
+    private ProgramBulkService bulkService;
+    private Statistics statistics;
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        ProgramService programService = new ProgramService(programRepository, new ProgramMapper(), userRepository,
+                event -> { }, Optional.empty(), Optional.empty(), null);
+        bulkService = new ProgramBulkService(programRepository, weeklyPlanEntryRepository, new ProgramMapper(),
+                programService, Validation.buildDefaultValidatorFactory().getValidator(),
+                event -> events.add((ProgramChangedEvent) event), entityManager);
+        ReflectionTestUtils.setField(bulkService, "maxItems", 1000);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = createUser("owner", User.Role.USER);
+        other = createUser("other", User.Role.USER);
+        authenticateAs("owner");
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createReportsInvalidItemsAndPublishesOneEventPerCreatedProgram() {
+        ProgramRequestDTO invalid = request("No");   // başlık en az 3 karakter
+
+        ProgramBulkDTO.Result result = bulkService.createPrograms(
+                Arrays.asList(request("First program"), invalid, null, request("Second program")));
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getItems()).extracting(ProgramBulkDTO.ItemResult::getStatus).containsExactly(
+                ProgramBulkDTO.Status.CREATED, ProgramBulkDTO.Status.INVALID,
+                ProgramBulkDTO.Status.INVALID, ProgramBulkDTO.Status.CREATED);
+        assertThat(result.getItems().get(1).getErrors()).singleElement().asString().startsWith("title:");
+        assertThat(result.getItems().get(2).getErrors()).containsExactly("Item must not be null");
+
+        List<Long> createdIds = List.of(result.getItems().get(0).getId(), result.getItems().get(3).getId());
+        assertThat(events).extracting(ProgramChangedEvent::getType).containsOnly(ProgramChangedEvent.ChangeType.CREATED);
+        assertThat(events).extracting(ProgramChangedEvent::getProgramId).containsExactlyElementsOf(createdIds);
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(programRepository.findAllById(createdIds))
+                .allSatisfy(program -> assertThat(program.getCreatedBy().getId()).isEqualTo(owner.getId()));
+    }
+
+    @Test
+    void createFlushesAndClearsEveryChunk() {
+        List<ProgramRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            requests.add(request("Program " + i));
+        }
+        statistics.clear();
+
+        ProgramBulkDTO.Result result = bulkService.createPrograms(requests);
+
+        // 500. öğede bir flush + clear, kalan tek öğe commit'te yazılır
+        assertThat(statistics.getFlushCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(500);
+        assertThat(result.getSucceeded()).isEqualTo(501);
+        assertThat(events).hasSize(501);
+        entityManager.flush();
+        assertThat(programRepository.count()).isEqualTo(501);
+    }
+
+    @Test
+    void updateChecksOwnershipPerItem() {
+        Program own = createProgram(owner, "Own program");
+        Program foreign = createProgram(other, "Foreign program");
+
+        ProgramBulkDTO.Result result = bulkService.updatePrograms(List.of(
+                updateItem(own.getId(), "Own program renamed"),
+                updateItem(foreign.getId(), "Foreign program renamed"),
+                updateItem(MISSING_ID, "Missing program"),
+                updateItem(own.getId(), "No")));
+
+        assertThat(result.getItems()).extracting(ProgramBulkDTO.ItemResult::getStatus).containsExactly(
+                ProgramBulkDTO.Status.UPDATED, ProgramBulkDTO.Status.FORBIDDEN,
+                ProgramBulkDTO.Status.NOT_FOUND, ProgramBulkDTO.Status.INVALID);
+        assertThat(events).extracting(ProgramChangedEvent::getProgramId).containsExactly(own.getId());
+        assertThat(programRepository.findById(own.getId()).orElseThrow().getTitle()).isEqualTo("Own program renamed");
+        assertThat(programRepository.findById(foreign.getId()).orElseThrow().getTitle()).isEqualTo("Foreign program");
+    }
+
+    @Test
+    void adminMayUpdateAnyProgram() {
+        Program foreign = createProgram(other, "Foreign program");
+        Program unowned = createProgram(null, "Legacy program");
+        createUser("admin", User.Role.ADMIN);
+        authenticateAs("admin");
+
+        ProgramBulkDTO.Result result = bulkService.updatePrograms(List.of(
+                updateItem(foreign.getId(), "Moderated program"),
+                updateItem(unowned.getId(), "Moderated legacy")));
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(programRepository.findById(unowned.getId()).orElseThrow().getTitle()).isEqualTo("Moderated legacy");
+    }
+
+    @Test
+    void deleteRemovesOnlyPermittedPrograms() {
+        Program own = createProgram(owner, "Own program");
+        Program foreign = createProgram(other, "Foreign program");
+        Program unowned = createProgram(null, "Legacy program");
+        entityManager.flush();
+        entityManager.clear();
+
+        ProgramBulkDTO.Result result = bulkService.deletePrograms(
+                Arrays.asList(own.getId(), foreign.getId(), unowned.getId(), MISSING_ID, null));
+
+        assertThat(result.getItems()).extracting(ProgramBulkDTO.ItemResult::getStatus).containsExactly(
+                ProgramBulkDTO.Status.DELETED, ProgramBulkDTO.Status.FORBIDDEN, ProgramBulkDTO.Status.FORBIDDEN,
+                ProgramBulkDTO.Status.NOT_FOUND, ProgramBulkDTO.Status.INVALID);
+        assertThat(events).extracting(ProgramChangedEvent::getType).containsExactly(ProgramChangedEvent.ChangeType.DELETED);
+        assertThat(events).extracting(ProgramChangedEvent::getProgramId).containsExactly(own.getId());
+        assertThat(programRepository.existsById(own.getId())).isFalse();
+        assertThat(programRepository.existsById(foreign.getId())).isTrue();
+        assertThat(programRepository.existsById(unowned.getId())).isTrue();
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedRequests() {
+        assertThatThrownBy(() -> bulkService.deletePrograms(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bulkService.deletePrograms(Collections.nCopies(1001, 1L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1000");
+    }
+
+    private static ProgramRequestDTO request(String title) {
+        return fill(new ProgramRequestDTO(), title);
+    }
+
+    private static ProgramBulkDTO.UpdateItem updateItem(Long id, String title) {
+        ProgramBulkDTO.UpdateItem item = fill(new ProgramBulkDTO.UpdateItem(), title);
+        item.setId(id);
+        return item;
+    }
+
+    private static <T extends ProgramRequestDTO> T fill(T request, String title) {
+        request.setTitle(title);
+        request.setDescription("Test program description");
+        request.setLevels(List.of("Beginner"));
+        request.setGoals(List.of("Bodybuilding"));
+        request.setEquipment("Full Gym");
+        request.setProgramLength(8.0);
+        request.setTimePerWorkout(60.0);
+        request.setTotalExercises(30);
+        return request;
+    }
+
+    private void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username + "@example.com", null, List.of()));
+    }
+
+    private User createUser(String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret-password");
+        user.setIsVerified(true);
+        user.setRole(role);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Program createProgram(User createdBy, String title) {
+        Program program = new Program();
+        program.setTitle(title);
+        program.setDescription("Test program description");
+        program.setLevels(List.of("Beginner"));
+        program.setGoals(List.of("Bodybuilding"));
+        program.setEquipment("Full Gym");
+        program.setProgramLength(8.0);
+        program.setTimePerWorkout(60.0);
+        program.setTotalExercises(30);
+        program.setCreatedBy(createdBy);
+        entityManager.persist(program);
+        return program;
+    }
+}
@@ -0,0 +1,191 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.dto.CursorPageDTO;
+import com.fitness.programtracker.dto.ProgramLookupDTO;
+import com.fitness.programtracker.dto.ProgramResponseDTO;
+import com.fitness.programtracker.dto.ProgramSearchCriteria;
+import com.fitness.programtracker.entity.Program;
+import com.fitness.programtracker.entity.User;
+import com.fitness.programtracker.mapper.ProgramMapper;
+import com.fitness.programtracker.repository.ProgramRepository;
+import com.fitness.programtracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ProgramService sorgu davranışı testleri (H2 üzerinde)
+ * Hibernate statistics ile istek başına çalışan SQL sayısını ölçer
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProgramServiceTest {
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ProgramService programService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        programService = new ProgramService(programRepository, new ProgramMapper(), userRepository,
+                event -> { }, Optional.empty(), Optional.empty(), null);
+        ReflectionTestUtils.setField(programService, "defaultPageSize", 50);
+        ReflectionTestUtils.setField(programService, "maxPageSize", 200);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listingIssuesSingleStatementRegardlessOfCreatorCount() {
+        createProgramsWithDistinctOwners(3);
+        long smallListing = countStatements(() -> programService.getAllPrograms(null, 200));
+
+        createProgramsWithDistinctOwners(30);
+        long largeListing = countStatements(() -> programService.getAllPrograms(null, 200));
+
+        assertThat(smallListing).isEqualTo(1);
+        assertThat(largeListing).isEqualTo(smallListing);
+    }
+
+    @Test
+    void searchIssuesSingleStatementAndMapsCreator() {
+        createProgramsWithDistinctOwners(20);
+
+        AtomicReference<CursorPageDTO<ProgramResponseDTO>> page = new AtomicReference<>();
+        long statements = countStatements(() -> page.set(programService.searchPrograms(
+                new ProgramSearchCriteria("Full Gym", null, null, null, null), null, 200)));
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(page.get().getItems()).hasSize(20)
+                .allSatisfy(dto -> assertThat(dto.getCreatedByUsername()).startsWith("owner"));
+    }
+
+    @Test
+    void levelAndGoalFiltersUseArrayContainment() {
+        createProgramsWithDistinctOwners(2);
+
+        assertThat(programService.searchPrograms(
+                new ProgramSearchCriteria(null, "Beginner", "Bodybuilding", null, null), null, 10).getItems())
+                .hasSize(2)
+                .allSatisfy(dto -> assertThat(dto.getLevels()).containsExactly("Beginner"));
+        assertThat(programService.searchPrograms(
+                new ProgramSearchCriteria(null, "Advanced", null, null, null), null, 10).getItems())
+                .isEmpty();
+        // Etiketler tek yazıma çevrilir: filtre büyük/küçük harf duyarsız
+        assertThat(programService.searchPrograms(
+                new ProgramSearchCriteria(null, "beginner", " BODYBUILDING ", null, null), null, 10).getItems())
+                .hasSize(2);
+    }
+
+    @Test
+    void cursorWalksAllPagesWithoutGapsOrDuplicates() {
+        createProgramsWithDistinctOwners(7);
+
+        CursorPageDTO<ProgramResponseDTO> first = programService.getAllPrograms(null, 3);
+        CursorPageDTO<ProgramResponseDTO> second = programService.getAllPrograms(first.getNextCursor(), 3);
+        CursorPageDTO<ProgramResponseDTO> third = programService.getAllPrograms(second.getNextCursor(), 3);
+
+        assertThat(first.getItems()).hasSize(3);
+        assertThat(second.getItems()).hasSize(3);
+        assertThat(third.getItems()).hasSize(1);
+        assertThat(third.getNextCursor()).isNull();
+        assertThat(second.getItems().get(0).getId()).isGreaterThan(first.getItems().get(2).getId());
+    }
+
+    @Test
+    void batchLookupKeepsRequestOrderAndMarksMissingIds() {
+        createProgramsWithDistinctOwners(3);
+        List<Long> ids = programRepository.findAll().stream().map(Program::getId).sorted().toList();
+        List<Long> requested = List.of(ids.get(2), -1L, ids.get(0), ids.get(2));
+
+        AtomicReference<List<ProgramLookupDTO>> result = new AtomicReference<>();
+        long statements = countStatements(() -> result.set(programService.getProgramsByIds(requested)));
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(result.get()).extracting(ProgramLookupDTO::getId).containsExactlyElementsOf(requested);
+        assertThat(result.get()).extracting(ProgramLookupDTO::isFound).containsExactly(true, false, true, true);
+        assertThat(result.get().get(0).getProgram().getCreatedByUsername()).startsWith("owner");
+    }
+
+    @Test
+    void sparseFieldsetReturnsOnlyRequestedFields() {
+        createProgramsWithDistinctOwners(3);
+
+        AtomicReference<CursorPageDTO<Map<String, Object>>> page = new AtomicReference<>();
+        long statements = countStatements(() -> page.set(programService.getAllPrograms(null, 2, "title,levels")));
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(page.get().getItems()).hasSize(2)
+                .allSatisfy(row -> assertThat(row).containsOnlyKeys("id", "title", "levels"));
+        assertThat(page.get().getItems().get(0).get("levels")).isEqualTo(List.of("Beginner"));
+        assertThat(page.get().getNextCursor()).isNotNull();
+
+        Map<String, Object> owned = programService.searchPrograms(
+                new ProgramSearchCriteria("Full Gym", null, null, null, null), null, 1,
+                "createdByUsername,public,creatorDisplayName").getItems().get(0);
+        assertThat(owned).containsOnlyKeys("id", "createdByUsername", "public", "creatorDisplayName");
+        assertThat(owned.get("createdByUsername")).isEqualTo(owned.get("creatorDisplayName"));
+        assertThat(owned.get("public")).isEqualTo(false);
+
+        assertThatThrownBy(() -> programService.getAllPrograms(null, 2, "title,password"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createProgramsWithDistinctOwners(int count) {
+        long offset = userRepository.count();
+        for (int i = 0; i < count; i++) {
+            User owner = new User();
+            owner.setUsername("owner" + (offset + i));
+            owner.setEmail("owner" + (offset + i) + "@example.com");
+            owner.setPassword("secret-password");
+            owner.setIsVerified(true);
+            entityManager.persist(owner);
+
+            Program program = new Program();
+            program.setTitle("Program " + (offset + i));
+            program.setDescription("Test program description");
+            program.setLevels(List.of("Beginner"));
+            program.setGoals(List.of("Bodybuilding"));
+            program.setEquipment("Full Gym");
+            program.setProgramLength(8.0);
+            program.setTimePerWorkout(60.0);
+            program.setTotalExercises(30);
+            program.setCreatedBy(owner);
+            entityManager.persist(program);
+        }
+    }
+}
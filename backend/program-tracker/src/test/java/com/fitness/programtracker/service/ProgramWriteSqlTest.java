@@ -0,0 +1,219 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.dto.ProgramRequestDTO;
+import com.fitness.programtracker.dto.ProgramResponseDTO;
+import com.fitness.programtracker.entity.Program;
+import com.fitness.programtracker.entity.User;
+import com.fitness.programtracker.entity.WeeklyPlanEntry;
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import com.fitness.programtracker.mapper.ProgramMapper;
+import com.fitness.programtracker.repository.ProgramRepository;
+import com.fitness.programtracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * ProgramService'in tek ifadelik koşullu yazmaları (ProgramWriteRepositoryImpl'deki PostgreSQL data-modifying
+ * CTE'leri) gerçek PostgreSQL üzerinde - H2 bu SQL'i çalıştıramaz. Docker yoksa atlanır
+ * Çağıran JWT filter'ının kurduğu UserPrincipal'dan alınır: users tablosu sorgulanmaz
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ProgramWriteSqlTest {
+
+    private static final Long MISSING_ID = 999_999L;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final List<ProgramChangedEvent> events = new ArrayList<>();
+    private ProgramService programService;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        programService = new ProgramService(programRepository, new ProgramMapper(), userRepository,
+                event -> events.add((ProgramChangedEvent) event), Optional.empty(), Optional.empty(), null);
+        owner = createUser("writer", User.Role.USER);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ownerUpdatesOwnProgramInOneStatement() {
+        Program program = createProgram(owner);
+        authenticateAs(owner);
+
+        ProgramResponseDTO updated = programService.updateProgram(program.getId(), request("Renamed program"));
+
+        assertThat(updated.getId()).isEqualTo(program.getId());
+        assertThat(updated.getTitle()).isEqualTo("Renamed program");
+        assertThat(updated.getLevels()).containsExactly("Intermediate");
+        assertThat(updated.getCreatedByUsername()).isEqualTo("writer");
+        assertThat(updated.getUpdatedAt()).isNotNull();
+        assertThat(titleOf(program.getId())).isEqualTo("Renamed program");
+        assertThat(events).extracting(ProgramChangedEvent::getType).containsExactly(ProgramChangedEvent.ChangeType.UPDATED);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void ownerDeletesOwnProgramWithItsWeeklyPlan() {
+        Program program = createProgram(owner);
+        createPlanEntry(program);
+        authenticateAs(owner);
+
+        programService.deleteProgram(program.getId());
+
+        assertThat(countRows("fitness_programs", program.getId(), "id")).isZero();
+        assertThat(countRows("weekly_plan_entries", program.getId(), "program_id")).isZero();
+        assertThat(events).extracting(ProgramChangedEvent::getType).containsExactly(ProgramChangedEvent.ChangeType.DELETED);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void adminMayUpdateAndDeleteForeignAndUnownedPrograms() {
+        Program foreign = createProgram(owner);
+        Program unowned = createProgram(null);
+        authenticateAs(createUser("moderator", User.Role.ADMIN));
+
+        assertThat(programService.updateProgram(foreign.getId(), request("Moderated program")).getCreatedByUsername())
+                .isEqualTo("writer");
+        assertThat(programService.updateProgram(unowned.getId(), request("Moderated legacy")).getCreatedByUsername())
+                .isNull();
+        programService.deleteProgram(foreign.getId());
+
+        assertThat(titleOf(unowned.getId())).isEqualTo("Moderated legacy");
+        assertThat(countRows("fitness_programs", foreign.getId(), "id")).isZero();
+        assertThat(events).hasSize(3);
+    }
+
+    @Test
+    void nonOwnerGetsPermissionErrorAndRowIsUnchanged() {
+        Program foreign = createProgram(owner);
+        Program unowned = createProgram(null);
+        authenticateAs(createUser("intruder", User.Role.USER));
+
+        assertThatThrownBy(() -> programService.updateProgram(foreign.getId(), request("Hijacked program")))
+                .hasMessageStartingWith("You don't have permission to modify this program");
+        assertThatThrownBy(() -> programService.deleteProgram(foreign.getId()))
+                .hasMessageStartingWith("You don't have permission to delete this program");
+        assertThatThrownBy(() -> programService.deleteProgram(unowned.getId()))
+                .hasMessageStartingWith("You don't have permission to delete this program");
+
+        assertThat(titleOf(foreign.getId())).isEqualTo("Owned program");
+        assertThat(countRows("fitness_programs", unowned.getId(), "id")).isOne();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void missingProgramIsReportedAsNotFound() {
+        authenticateAs(createUser("moderator", User.Role.ADMIN));
+
+        assertThatThrownBy(() -> programService.updateProgram(MISSING_ID, request("Missing program")))
+                .hasMessage("Program not found with id: " + MISSING_ID);
+        assertThatThrownBy(() -> programService.deleteProgram(MISSING_ID))
+                .hasMessage("Program not found with id: " + MISSING_ID);
+        assertThat(events).isEmpty();
+    }
+
+    private String titleOf(Long id) {
+        return jdbcTemplate.queryForObject("SELECT title FROM fitness_programs WHERE id = ?", String.class, id);
+    }
+
+    private int countRows(String table, Long id, String column) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", Integer.class, id);
+    }
+
+    private static ProgramRequestDTO request(String title) {
+        ProgramRequestDTO request = new ProgramRequestDTO();
+        request.setTitle(title);
+        request.setDescription("Test program description");
+        request.setLevels(List.of("Intermediate"));
+        request.setGoals(List.of("Powerlifting"));
+        request.setEquipment("Full Gym");
+        request.setProgramLength(10.0);
+        request.setTimePerWorkout(75.0);
+        request.setTotalExercises(40);
+        return request;
+    }
+
+    // JWT filter'ı gibi: principal User'ı taşır
+    private void authenticateAs(User user) {
+        UserDetailsServiceImpl.UserPrincipal principal = new UserDetailsServiceImpl.UserPrincipal(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private User createUser(String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret-password");
+        user.setIsVerified(true);
+        user.setRole(role);
+        entityManager.persist(user);
+        return user;
+    }
+
+    // Native SQL aynı transaction'da çalışır: satırlar önceden yazılır, persistence context boşaltılır
+    private Program createProgram(User createdBy) {
+        Program program = new Program();
+        program.setTitle("Owned program");
+        program.setDescription("Test program description");
+        program.setLevels(List.of("Beginner"));
+        program.setGoals(List.of("Bodybuilding"));
+        program.setEquipment("Full Gym");
+        program.setProgramLength(8.0);
+        program.setTimePerWorkout(60.0);
+        program.setTotalExercises(30);
+        program.setCreatedBy(createdBy);
+        entityManager.persist(program);
+        entityManager.flush();
+        return program;
+    }
+
+    private void createPlanEntry(Program program) {
+        WeeklyPlanEntry entry = new WeeklyPlanEntry();
+        entry.setProgram(program);
+        entry.setDayOfWeek("Monday");
+        entry.setContentHash("hash");
+        entityManager.persist(entry);
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,128 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.entity.User;
+import com.fitness.programtracker.repository.UserAuthStateRow;
+import com.fitness.programtracker.repository.UserRepository;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stateless JWT: principal claim'lerden kurulur, iptal kontrolü auth versiyonu cache'inden
+ */
+class StatelessJwtTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private JwtService jwtService;
+    private UserDetailsServiceImpl userDetailsService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", Base64.getEncoder().encodeToString(
+                "test-secret-key-that-is-long-enough-for-hs256".getBytes()));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", 100L);
+        jwtService.init();
+
+        UserAuthStateCache authStateCache = new UserAuthStateCache(userRepository);
+        ReflectionTestUtils.setField(authStateCache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(authStateCache, "maxSize", 100L);
+        authStateCache.createCache();
+        userDetailsService = new UserDetailsServiceImpl(userRepository, authStateCache);
+
+        user = new User();
+        user.setId(7L);
+        user.setEmail("alice@example.com");
+        user.setUsername("alice");
+        user.setFirstName("Alice");
+        user.setRole(User.Role.ADMIN);
+        user.setIsVerified(true);
+    }
+
+    @Test
+    void buildsPrincipalFromClaimsWithOneCachedStateLookup() {
+        when(userRepository.findAuthStateById(7L)).thenReturn(Optional.of(state(user.getAuthVersion(), true)));
+        VerifiedToken token = jwtService.validate(jwtService.generateTokenForUser(user));
+
+        UserDetailsServiceImpl.UserPrincipal principal = userDetailsService.loadUserFromToken(token).orElseThrow();
+        userDetailsService.loadUserFromToken(token);
+
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("alice@example.com");
+        assertThat(principal.getDisplayUsername()).isEqualTo("alice");
+        assertThat(principal.getFullName()).isEqualTo("Alice");
+        assertThat(principal.isAdmin()).isTrue();
+        verify(userRepository, times(1)).findAuthStateById(7L);
+    }
+
+    @Test
+    void rejectsTokenIssuedBeforeRoleChangeOrDeactivation() {
+        VerifiedToken token = jwtService.validate(jwtService.generateTokenForUser(user));
+        int issuedVersion = user.getAuthVersion();
+
+        user.setRole(User.Role.USER);
+        user.revokeTokens();
+        assertThat(user.getAuthVersion()).isGreaterThan(issuedVersion);
+        when(userRepository.findAuthStateById(7L)).thenReturn(Optional.of(state(user.getAuthVersion(), true)));
+        assertThatThrownBy(() -> userDetailsService.loadUserFromToken(token)).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void rejectsTokenOfUnverifiedUser() {
+        when(userRepository.findAuthStateById(7L)).thenReturn(Optional.of(state(user.getAuthVersion(), false)));
+        VerifiedToken token = jwtService.validate(jwtService.generateTokenForUser(user));
+
+        assertThatThrownBy(() -> userDetailsService.loadUserFromToken(token)).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void leavesLegacyTokensToDatabaseLookup() {
+        VerifiedToken token = jwtService.validate(
+                jwtService.generateTokenWithRole(new UserDetailsServiceImpl.UserPrincipal(user), 7L, "ADMIN"));
+
+        assertThat(userDetailsService.loadUserFromToken(token)).isEmpty();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void validatesTokenOnceAndRejectsTamperedTokens() {
+        String token = jwtService.generateTokenForUser(user);
+
+        VerifiedToken first = jwtService.validate(token);
+        assertThat(jwtService.validate(token)).isSameAs(first);
+        assertThat(first.getUserId()).isEqualTo(7L);
+        assertThat(first.getRole()).isEqualTo("ADMIN");
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThatThrownBy(() -> jwtService.validate(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    private static UserAuthStateRow state(int authVersion, boolean verified) {
+        return new UserAuthStateRow() {
+            @Override
+            public int getAuthVersion() {
+                return authVersion;
+            }
+
+            @Override
+            public Boolean getVerified() {
+                return verified;
+            }
+        };
+    }
+}
@@ -0,0 +1,232 @@
+package com.fitness.programtracker.service;
+
+import com.fitness.programtracker.dto.WeeklyPlanRequestDTO;
+import com.fitness.programtracker.entity.Program;
+import com.fitness.programtracker.entity.User;
+import com.fitness.programtracker.entity.WeeklyPlanEntry;
+import com.fitness.programtracker.event.ProgramChangedEvent;
+import com.fitness.programtracker.mapper.ProgramMapper;
+import com.fitness.programtracker.repository.PlanContentBlobRepository;
+import com.fitness.programtracker.repository.ProgramRepository;
+import com.fitness.programtracker.repository.UserRepository;
+import com.fitness.programtracker.repository.WeeklyPlanEntryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Haftalık plan yazma testleri (H2 üzerinde) - diff ve statement sayısı
+ * Blob eklemesi ON CONFLICT kullandığı için H2 PostgreSQL modunda çalışır;
+ * JdbcTemplate ile yapılan blob INSERT'leri Hibernate statistics'e sayılmaz
+ */
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:weekly-plans;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class WeeklyPlanServiceTest {
+
+    private static final List<String> DAYS = List.of("Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun");
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WeeklyPlanEntryRepository weeklyPlanEntryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlanContentBlobRepository planContentBlobRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<ProgramChangedEvent> events = new ArrayList<>();
+    private WeeklyPlanService weeklyPlanService;
+    private Statistics statistics;
+    private Program program;
+
+    @BeforeEach
+    void setUp() {
+        ProgramService programService = new ProgramService(programRepository, new ProgramMapper(), userRepository,
+                event -> { }, Optional.empty(), Optional.empty(), null);
+        PlanContentStore planContentStore = new PlanContentStore(planContentBlobRepository, new JdbcTemplate(dataSource));
+        ReflectionTestUtils.setField(planContentStore, "cacheSize", 100L);
+        planContentStore.createCache();
+        weeklyPlanService = new WeeklyPlanService(weeklyPlanEntryRepository, programRepository, programService,
+                planContentStore, event -> events.add((ProgramChangedEvent) event));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        program = createProgram(createUser("owner"));
+        authenticateAs("owner");
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void writesOnlyChangedRowsInBatches() {
+        weeklyPlanService.replaceWeeklyPlan(program.getId(), plan("Rest", "Rest"));
+        List<Long> idsBefore = storedIds();
+
+        long statements = countStatements(() -> weeklyPlanService.replaceWeeklyPlan(program.getId(), plan("Push", "Pull")));
+
+        // user + sahip + mevcut blob'lar + mevcut satırlar + batch UPDATE + last_edit UPDATE
+        assertThat(statements).isEqualTo(6);
+        assertThat(storedIds()).isEqualTo(idsBefore);
+        assertThat(weeklyPlanService.getWeeklyPlan(program.getId()).getEntries())
+                .extracting(e -> e.getContent()).containsExactly("Push", "Pull", "Push", "Pull", "Push", "Pull", "Push");
+    }
+
+    @Test
+    void appendsAndTrimsPlanKeepingOrder() {
+        weeklyPlanService.replaceWeeklyPlan(program.getId(), plan("A"));
+
+        WeeklyPlanRequestDTO shorter = new WeeklyPlanRequestDTO();
+        shorter.setEntries(List.of(new WeeklyPlanRequestDTO.Entry("Mon", "A"), new WeeklyPlanRequestDTO.Entry("Wed", "B")));
+        long statements = countStatements(() -> weeklyPlanService.replaceWeeklyPlan(program.getId(), shorter));
+
+        // user + sahip + mevcut blob'lar + mevcut satırlar + batch UPDATE + tek DELETE + last_edit UPDATE
+        assertThat(statements).isEqualTo(7);
+        assertThat(weeklyPlanService.getWeeklyPlan(program.getId()).getEntries())
+                .extracting(e -> e.getDayOfWeek() + ":" + e.getContent()).containsExactly("Mon:A", "Wed:B");
+    }
+
+    @Test
+    void unchangedPlanDoesNotTouchProgram() {
+        weeklyPlanService.replaceWeeklyPlan(program.getId(), plan("Same"));
+        events.clear();
+
+        long statements = countStatements(() -> weeklyPlanService.replaceWeeklyPlan(program.getId(), plan("Same")));
+
+        assertThat(statements).isEqualTo(4);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void ordersByPositionNotId() {
+        weeklyPlanService.replaceWeeklyPlan(program.getId(), plan("A", "B"));
+        // Başka bir instance'ın sequence bloğundan gelmiş gibi: son güne en küçük id
+        WeeklyPlanEntry last = weeklyPlanEntryRepository.findByProgram_IdOrderByPositionAscIdAsc(program.getId()).get(6);
+        entityManager.remove(last);
+        entityManager.flush();
+        new JdbcTemplate(dataSource).update(
+                "INSERT INTO weekly_plan_entries (id, program_id, position, day_of_week, content_hash) VALUES (-1, ?, 6, ?, ?)",
+                program.getId(), last.getDayOfWeek(), last.getContentHash());
+        entityManager.clear();
+        events.clear();
+
+        assertThat(weeklyPlanService.getWeeklyPlan(program.getId()).getEntries())
+                .extracting(e -> e.getDayOfWeek() + ":" + e.getContent()).endsWith("Sat:B", "Sun:A");
+        weeklyPlanService.replaceWeeklyPlan(program.getId(), plan("A", "B"));
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void sharesOneBlobPerDistinctText() {
+        weeklyPlanService.replaceWeeklyPlan(program.getId(), plan("Rest day", "Upper body"));
+        Program other = createProgram(userRepository.findByEmail("owner@example.com").orElseThrow());
+        weeklyPlanService.replaceWeeklyPlan(other.getId(), plan("Upper body", "Rest day"));
+
+        assertThat(planContentBlobRepository.count()).isEqualTo(2);
+        assertThat(weeklyPlanService.getWeeklyPlan(other.getId()).getEntries())
+                .extracting(e -> e.getContent()).startsWith("Upper body", "Rest day", "Upper body");
+    }
+
+    @Test
+    void rejectsOtherUsers() {
+        createUser("intruder");
+        authenticateAs("intruder");
+
+        assertThatThrownBy(() -> weeklyPlanService.replaceWeeklyPlan(program.getId(), plan("Mine")))
+                .hasMessageContaining("permission");
+        assertThat(storedIds()).isEmpty();
+    }
+
+    private List<Long> storedIds() {
+        entityManager.flush();
+        return weeklyPlanEntryRepository.findByProgram_IdOrderByPositionAscIdAsc(program.getId()).stream()
+                .map(WeeklyPlanEntry::getId).toList();
+    }
+
+    private static WeeklyPlanRequestDTO plan(String... contents) {
+        List<WeeklyPlanRequestDTO.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < DAYS.size(); i++) {
+            entries.add(new WeeklyPlanRequestDTO.Entry(DAYS.get(i), contents[i % contents.length]));
+        }
+        WeeklyPlanRequestDTO request = new WeeklyPlanRequestDTO();
+        request.setEntries(entries);
+        return request;
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username + "@example.com", null, List.of()));
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret-password");
+        user.setIsVerified(true);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Program createProgram(User owner) {
+        Program program = new Program();
+        program.setTitle("Weekly Program");
+        program.setDescription("Test program description");
+        program.setLevels(List.of("Beginner"));
+        program.setGoals(List.of("Bodybuilding"));
+        program.setEquipment("Full Gym");
+        program.setProgramLength(8.0);
+        program.setTimePerWorkout(60.0);
+        program.setTotalExercises(30);
+        program.setCreatedBy(owner);
+        entityManager.persist(program);
+        return program;
+    }
+}
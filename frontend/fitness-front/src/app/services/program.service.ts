@@ -1,6 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { EMPTY, Observable } from 'rxjs';
+import { expand, map, reduce } from 'rxjs/operators';
 import { Program, ProgramSearchParams, CreateProgramRequest } from '../models/program.model';
 
 // Service = Veri getirme işlemlerinin yapıldığı yer
@@ -12,6 +13,9 @@ export class ProgramService {
   // Backend URL'si (daha sonra environment'a taşınacak)
   private readonly API_URL = 'http://localhost:8080/api/programs';
 
+  // Liste / arama sayfalı döner: devam cursor'ı X-Next-Cursor header'ında, sayfa başına en fazla 200 program
+  private readonly PAGE_SIZE = 200;
+
   // HttpClient'ı service'e enjekte et
   constructor(private http: HttpClient) { 
     console.log('🏗️ ProgramService oluşturuldu');
@@ -20,7 +24,7 @@ export class ProgramService {
   // Tüm programları getir - Artık typed!
   getAllPrograms(): Observable<Program[]> {
     console.log('📡 API çağrısı yapılıyor:', this.API_URL);
-    return this.http.get<Program[]>(this.API_URL);
+    return this.getAllPages(this.API_URL, new HttpParams());
   }
 
   // ID'ye göre program getir
@@ -49,7 +53,27 @@ export class ProgramService {
 
     const url = `${this.API_URL}/search`;
     console.log('🔍 Search API çağrısı:', url, 'Params:', params);
-    return this.http.get<Program[]>(url, { params: httpParams });
+    return this.getAllPages(url, httpParams);
+  }
+
+  // X-Next-Cursor header'ı bitene kadar sonraki sayfaları çekip tek listede birleştir
+  private getAllPages(url: string, params: HttpParams): Observable<Program[]> {
+    const fetchPage = (cursor: string | null) => {
+      let pageParams = params.set('size', this.PAGE_SIZE.toString());
+      if (cursor) {
+        pageParams = pageParams.set('cursor', cursor);
+      }
+      return this.http.get<Program[]>(url, { params: pageParams, observe: 'response' });
+    };
+
+    return fetchPage(null).pipe(
+      expand(response => {
+        const next = response.headers.get('X-Next-Cursor');
+        return next ? fetchPage(next) : EMPTY;
+      }),
+      map(response => response.body ?? []),
+      reduce((all, page) => all.concat(page), [] as Program[])
+    );
   }
 
   // Yeni program oluştur - YENİ!